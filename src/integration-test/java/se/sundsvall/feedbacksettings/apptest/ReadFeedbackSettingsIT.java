@@ -1,6 +1,7 @@
 package se.sundsvall.feedbacksettings.apptest;
 
 import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.POST;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.OK;
 
@@ -23,6 +24,7 @@ import se.sundsvall.feedbacksettings.Application;
 })
 class ReadFeedbackSettingsIT extends AbstractAppTest {
 	private static final String PATH = "/settings";
+	private static final String REQUEST_FILE = "request.json";
 	private static final String RESPONSE_FILE = "response.json";
 	private static final String X_FILTER_CATEGORIES = "x-filter-categories";
 	private static final String X_FILTER_MESSAGETYPES = "x-filter-messagetypes";
@@ -207,4 +209,94 @@ class ReadFeedbackSettingsIT extends AbstractAppTest {
 			.withExpectedResponse(RESPONSE_FILE)
 			.sendRequestAndVerifyResponse();
 	}
+
+	@Test
+	void test14_queryRankedByOrganizationIdFilterOnCategoryElectricity() throws Exception { //NOSONAR
+		final var organizationId = "15aee472-46ab-4f03-9605-68bd64ebc84a";
+
+		setupCall()
+			.withServicePath(PATH
+					.concat("?organizationId=").concat(organizationId)
+					.concat("&ranked=true")
+					.concat("&page=2")
+					.concat("&limit=2"))
+			.withHttpMethod(GET)
+			.withHeader(X_FILTER_CATEGORIES, CATEGORY_ELECTRICITY)
+			.withExpectedResponseStatus(OK)
+			.withExpectedResponse(RESPONSE_FILE)
+			.sendRequestAndVerifyResponse();
+	}
+
+	@Test
+	void test15_searchForMultiplePersonsFilterOnCategoryElectricity() throws Exception { //NOSONAR
+		setupCall()
+			.withServicePath(PATH.concat("/search"))
+			.withHttpMethod(POST)
+			.withRequest(REQUEST_FILE)
+			.withExpectedResponseStatus(OK)
+			.withExpectedResponse(RESPONSE_FILE)
+			.sendRequestAndVerifyResponse();
+	}
+
+	@Test
+	void test16_queryWithCursor() throws Exception { //NOSONAR
+		// Cursor received as nextCursor in test12, pointing to the page after setting 9a24743c-5c19-4774-954e-a3ad67a734e3
+		setupCall()
+			.withServicePath(PATH
+					.concat("?cursor=OWEyNDc0M2MtNWMxOS00Nzc0LTk1NGUtYTNhZDY3YTczNGUz")
+					.concat("&limit=3"))
+			.withHttpMethod(GET)
+			.withExpectedResponseStatus(OK)
+			.withExpectedResponse(RESPONSE_FILE)
+			.sendRequestAndVerifyResponse();
+	}
+
+	@Test
+	void test17_queryByOrganizationIdWithoutTotals() throws Exception { //NOSONAR
+		final var organizationId = "15aee472-46ab-4f03-9605-68bd64ebc84a";
+
+		setupCall()
+			.withServicePath(PATH
+					.concat("?organizationId=").concat(organizationId)
+					.concat("&includeTotals=false")
+					.concat("&limit=3"))
+			.withHttpMethod(GET)
+			.withExpectedResponseStatus(OK)
+			.withExpectedResponse(RESPONSE_FILE)
+			.sendRequestAndVerifyResponse();
+	}
+
+	@Test
+	void test18_queryRankedWithFiltersInBody() throws Exception { //NOSONAR
+		// Same query as in test14, with the filter sent in the request body instead of as header
+		setupCall()
+			.withServicePath(PATH
+					.concat("/query")
+					.concat("?ranked=true")
+					.concat("&page=2")
+					.concat("&limit=2"))
+			.withHttpMethod(POST)
+			.withRequest(REQUEST_FILE)
+			.withExpectedResponseStatus(OK)
+			.withExpectedResponse(RESPONSE_FILE)
+			.sendRequestAndVerifyResponse();
+	}
+
+	@Test
+	void test19_queryRankedWithMinMatchingPercentAndTop() throws Exception { //NOSONAR
+		final var organizationId = "15aee472-46ab-4f03-9605-68bd64ebc84a";
+
+		// Three settings match category electricity to 100 percent, of which the top two are returned
+		setupCall()
+			.withServicePath(PATH
+					.concat("?organizationId=").concat(organizationId)
+					.concat("&ranked=true")
+					.concat("&minMatchingPercent=75")
+					.concat("&top=2"))
+			.withHttpMethod(GET)
+			.withHeader(X_FILTER_CATEGORIES, CATEGORY_ELECTRICITY)
+			.withExpectedResponseStatus(OK)
+			.withExpectedResponse(RESPONSE_FILE)
+			.sendRequestAndVerifyResponse();
+	}
 }
@@ -1,10 +1,12 @@
 package se.sundsvall.feedbacksettings;
 
 import org.springframework.boot.SpringApplication;
+import org.springframework.cache.annotation.EnableCaching;
 
 import se.sundsvall.dept44.ServiceApplication;
 
 @ServiceApplication
+@EnableCaching
 public class Application {
 	public static void main(String... args) {
 		SpringApplication.run(Application.class, args);
@@ -1,16 +1,34 @@
 package se.sundsvall.feedbacksettings.api;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.LAST_MODIFIED;
 import static org.springframework.http.HttpHeaders.LOCATION;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_PROBLEM_JSON_VALUE;
 import static org.springframework.http.ResponseEntity.created;
 import static org.springframework.http.ResponseEntity.noContent;
 import static org.springframework.http.ResponseEntity.ok;
+import static org.springframework.http.ResponseEntity.status;
+import static org.zalando.problem.Status.BAD_REQUEST;
+import static se.sundsvall.feedbacksettings.service.mapper.FeedbackSettingsMapper.toFeedbackFilters;
+import static se.sundsvall.feedbacksettings.service.util.EntityTagUtils.matchesWeak;
+import static se.sundsvall.feedbacksettings.service.util.EntityTagUtils.toEntityTag;
+import static se.sundsvall.feedbacksettings.service.util.EntityTagUtils.toLastModified;
+
+import java.time.OffsetDateTime;
+import java.util.List;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
@@ -26,6 +44,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 import org.zalando.problem.Problem;
 import org.zalando.problem.violations.ConstraintViolationProblem;
@@ -33,15 +52,23 @@ import org.zalando.problem.violations.ConstraintViolationProblem;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import se.sundsvall.dept44.common.validators.annotation.ValidUuid;
 import se.sundsvall.feedbacksettings.api.model.CreateFeedbackSettingRequest;
+import se.sundsvall.feedbacksettings.api.model.CreateFeedbackSettingResult;
+import se.sundsvall.feedbacksettings.api.model.FeedbackFilter;
 import se.sundsvall.feedbacksettings.api.model.FeedbackSetting;
+import se.sundsvall.feedbacksettings.api.model.FeedbackSettingsErasureRequest;
+import se.sundsvall.feedbacksettings.api.model.FeedbackSettingsErasureResult;
+import se.sundsvall.feedbacksettings.api.model.FeedbackSettingsQueryRequest;
+import se.sundsvall.feedbacksettings.api.model.FeedbackSettingsSearchRequest;
 import se.sundsvall.feedbacksettings.api.model.SearchResult;
 import se.sundsvall.feedbacksettings.api.model.UpdateFeedbackSettingRequest;
+import se.sundsvall.feedbacksettings.api.model.WeightedFeedbackSetting;
 import se.sundsvall.feedbacksettings.service.FeedbackSettingsService;
 
 @RestController
@@ -64,17 +91,36 @@ public class FeedbackSettingsResource {
 		return created(uriComponentsBuilder.path("/settings/{id}").buildAndExpand(setting.getId()).toUri()).body(setting);
 	}
 
+	@PostMapping(path = "/batch", consumes = APPLICATION_JSON_VALUE, produces = { APPLICATION_JSON_VALUE, APPLICATION_PROBLEM_JSON_VALUE })
+	@Operation(summary = "Create multiple feedback settings", description = """
+		Creates all sent in feedback settings in one transaction. Each feedback setting is validated separately and the response contains one result
+		per sent in feedback setting, in the same order as in the request. A feedback setting that is invalid, or that already exists, is returned with
+		status 400 and a detail describing why it was rejected, without affecting the other feedback settings in the request.
+		""")
+	@ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(mediaType = APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = CreateFeedbackSettingResult.class))))
+	@ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(oneOf = { Problem.class, ConstraintViolationProblem.class })))
+	@ApiResponse(responseCode = "500", description = "Internal Server error", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
+	public ResponseEntity<List<CreateFeedbackSettingResult>> createFeedbackSettings(@NotEmpty @Size(max = 1000) @RequestBody List<@NotNull CreateFeedbackSettingRequest> body) {
+
+		return ok(feedbackSettingsService.createFeedbackSettings(body));
+	}
+
 	@PatchMapping(path = "/{id}", consumes = APPLICATION_JSON_VALUE, produces = { APPLICATION_JSON_VALUE, APPLICATION_PROBLEM_JSON_VALUE })
-	@Operation(summary = "Update feedback setting")
-	@ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(mediaType = APPLICATION_JSON_VALUE, schema = @Schema(implementation = FeedbackSetting.class)))
+	@Operation(summary = "Update feedback setting", description = """
+		Responds with headers ETag and Last-Modified for the updated setting. When header If-Match is sent, the setting is only updated if it has not
+		been modified since the ETag was read, otherwise status 412 is returned. An update without If-Match that is interrupted by a concurrent update
+		of the same setting is rejected with status 409.""")
+	@ApiResponse(responseCode = "200", headers = { @Header(name = ETAG, schema = @Schema(type = "string")), @Header(name = LAST_MODIFIED, schema = @Schema(type = "string")) }, description = "Successful operation", content = @Content(mediaType = APPLICATION_JSON_VALUE, schema = @Schema(implementation = FeedbackSetting.class)))
 	@ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(oneOf = { Problem.class, ConstraintViolationProblem.class })))
 	@ApiResponse(responseCode = "404", description = "Not found", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
+	@ApiResponse(responseCode = "409", description = "Conflict", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
+	@ApiResponse(responseCode = "412", description = "Precondition failed", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
 	@ApiResponse(responseCode = "500", description = "Internal Server error", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
-	public ResponseEntity<FeedbackSetting> updateFeedbackSetting(
+	public ResponseEntity<FeedbackSetting> updateFeedbackSetting(@RequestHeader HttpHeaders headers,
 		@Parameter(name = "id", description = "Feedback setting ID", example = "81471222-5798-11e9-ae24-57fa13b361e1") @ValidUuid @PathVariable(name = "id", required = true) String id,
 		@NotNull @Valid @RequestBody UpdateFeedbackSettingRequest body) {
 
-		return ok(feedbackSettingsService.updateFeedbackSetting(id, body));
+		return okWithValidators(feedbackSettingsService.updateFeedbackSetting(id, body, headers.getIfMatch()));
 	}
 
 	@DeleteMapping(path = "/{id}", produces = APPLICATION_PROBLEM_JSON_VALUE)
@@ -90,16 +136,58 @@ public class FeedbackSettingsResource {
 		return noContent().build();
 	}
 
+	@PostMapping(path = "/erasure", consumes = APPLICATION_JSON_VALUE, produces = { APPLICATION_JSON_VALUE, APPLICATION_PROBLEM_JSON_VALUE })
+	@Operation(summary = "Erase feedback settings for persons", description = """
+		Deletes all feedback settings, including their channels and filters, for all sent in personIds regardless of organization. All settings are
+		deleted in one transaction and the response contains the amount of deleted feedback settings, channels and filters.
+		""")
+	@ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(mediaType = APPLICATION_JSON_VALUE, schema = @Schema(implementation = FeedbackSettingsErasureResult.class)))
+	@ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(oneOf = { Problem.class, ConstraintViolationProblem.class })))
+	@ApiResponse(responseCode = "500", description = "Internal Server error", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
+	public ResponseEntity<FeedbackSettingsErasureResult> eraseFeedbackSettings(@NotNull @Valid @RequestBody FeedbackSettingsErasureRequest body) {
+
+		return ok(feedbackSettingsService.eraseFeedbackSettings(body));
+	}
+
 	@GetMapping(path = "/{id}", produces = { APPLICATION_JSON_VALUE, APPLICATION_PROBLEM_JSON_VALUE })
-	@Operation(summary = "Get feedback setting by ID")
-	@ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(mediaType = APPLICATION_JSON_VALUE, schema = @Schema(implementation = FeedbackSetting.class)))
+	@Operation(summary = "Get feedback setting by ID", description = """
+		Responds with headers ETag and Last-Modified. Conditional requests using header If-None-Match or If-Modified-Since are answered with status 304
+		and no content when the setting has not been modified.""")
+	@ApiResponse(responseCode = "200", headers = { @Header(name = ETAG, schema = @Schema(type = "string")), @Header(name = LAST_MODIFIED, schema = @Schema(type = "string")) }, description = "Successful operation", content = @Content(mediaType = APPLICATION_JSON_VALUE, schema = @Schema(implementation = FeedbackSetting.class)))
+	@ApiResponse(responseCode = "304", headers = { @Header(name = ETAG, schema = @Schema(type = "string")), @Header(name = LAST_MODIFIED, schema = @Schema(type = "string")) }, description = "Not modified")
 	@ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(oneOf = { Problem.class, ConstraintViolationProblem.class })))
 	@ApiResponse(responseCode = "404", description = "Not found", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
 	@ApiResponse(responseCode = "500", description = "Internal Server error", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
-	public ResponseEntity<FeedbackSetting> getFeedbackSettingById(
+	public ResponseEntity<FeedbackSetting> getFeedbackSettingById(@RequestHeader HttpHeaders headers,
 		@Parameter(name = "id", description = "Feedback setting ID", example = "81471222-5798-11e9-ae24-57fa13b361e1") @ValidUuid @PathVariable(name = "id", required = true) String id) {
 
-		return ResponseEntity.ok(feedbackSettingsService.getFeedbackSettingById(id));
+		// Conditional requests are evaluated against the version and last modification timestamp (taken from the cached setting
+		// when present), the setting itself is only read when modified. Unconditional requests read the setting directly.
+		if (isConditional(headers)) {
+			FeedbackSetting current = feedbackSettingsService.getFeedbackSettingVersion(id);
+			OffsetDateTime lastModified = toLastModified(current.getCreated(), current.getModified());
+			String eTag = toEntityTag(id, current.getVersion());
+			if (isNotModified(headers, eTag, lastModified)) {
+				return status(NOT_MODIFIED).eTag(eTag).lastModified(lastModified.toInstant()).build();
+			}
+		}
+
+		// Validators are derived from the returned setting, as a cached setting can be older than the version read above
+		return okWithValidators(feedbackSettingsService.getFeedbackSettingById(id));
+	}
+
+	@GetMapping(path = "/export", produces = { APPLICATION_NDJSON_VALUE, APPLICATION_PROBLEM_JSON_VALUE })
+	@Operation(summary = "Export all feedback settings", description = """
+		Streams all feedback settings as newline delimited JSON, i.e. one feedback setting per line. The settings are read from the database while the
+		response is written, hence the export is not limited by paging.
+		""")
+	@ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(mediaType = APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = FeedbackSetting.class)))
+	@ApiResponse(responseCode = "500", description = "Internal Server error", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
+	public ResponseEntity<StreamingResponseBody> exportFeedbackSettings() {
+
+		return ok()
+			.contentType(APPLICATION_NDJSON)
+			.body(feedbackSettingsService::exportFeedbackSettings);
 	}
 
 	@GetMapping(produces = { APPLICATION_JSON_VALUE, APPLICATION_PROBLEM_JSON_VALUE })
@@ -113,11 +201,29 @@ public class FeedbackSettingsResource {
 		<br><br>
 
 		Filters are sent as header values. The convention of the header name is <code>x-filter-[filterkey]</code>. It is possible to include multiple values
-		for a filter by sending multiple headers with same filter name and different values for each entry, see example below.<br><br>
+		for a filter by sending multiple headers with same filter name and different values for each entry, see example below. Clients with many filters
+		should use <code>POST /settings/query</code> instead, which takes the filters in the request body and is not restricted by header size limits.<br><br>
 
 		<pre>
 		-H 'x-filter-categories: broadband'
-		-H 'x-filter-categories: electricity'</pre>
+		-H 'x-filter-categories: electricity'</pre><br>
+
+		By default the matching percent is calculated for the settings on the requested page only, and the page is sorted by matching percent. If
+		parameter <code>ranked</code> is set to true, all settings matching sent in person- and/or organizationId are ranked by matching percent
+		before paging is applied, meaning that the first page contains the best matching settings overall.<br><br>
+
+		Settings are paged in a stable order. When there are more pages, the metadata of the response contains a <code>nextCursor</code>. Sending
+		it as parameter <code>cursor</code>, together with the same person- and/or organizationId, returns the following page regardless of parameter
+		<code>page</code>, with the same response time no matter how deep into the result the page is. Parameter <code>cursor</code> can not be
+		combined with parameter <code>ranked</code>.<br><br>
+
+		Calculating <code>totalRecords</code> and <code>totalPages</code> costs an extra count query per request. Clients that have no use for the totals
+		can set parameter <code>includeTotals</code> to false, in which case the totals are left out of the metadata and <code>nextCursor</code> tells if
+		there are more pages. Totals are always included when parameter <code>ranked</code> is set to true.<br><br>
+
+		When parameter <code>ranked</code> is set to true, settings with a matching percent below parameter <code>minMatchingPercent</code> are left out
+		of the result, and parameter <code>top</code> limits the result to the given amount of best matching settings over all pages. The totals in the
+		metadata only include the settings that are part of the result.
 		""")
 	@ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(mediaType = APPLICATION_JSON_VALUE, schema = @Schema(implementation = SearchResult.class)))
 	@ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(oneOf = { Problem.class, ConstraintViolationProblem.class })))
@@ -127,8 +233,96 @@ public class FeedbackSettingsResource {
 		@Parameter(name = "personId", description = "Person id", example = "15aee472-46ab-4f03-9605-68bd64ebc71a") @RequestParam(value = "personId", required = false) @ValidUuid(nullable = true) String personId,
 		@Parameter(name = "organizationId", description = "Organization id", example = "15aee472-46ab-4f03-9605-68bd64ebc84a") @RequestParam(value = "organizationId", required = false) @ValidUuid(nullable = true) String organizationId,
 		@Parameter(name = "page", description = "Page number", example = "1") @RequestParam(value = "page", defaultValue = "1") @Min(1) int page,
-		@Parameter(name = "limit", description = "Result size per page", example = "20") @RequestParam(value = "limit", defaultValue = "20") @Min(1) @Max(100) int limit) {
+		@Parameter(name = "limit", description = "Result size per page", example = "20") @RequestParam(value = "limit", defaultValue = "20") @Min(1) @Max(100) int limit,
+		@Parameter(name = "ranked", description = "Rank all matching settings by matching percent before applying paging", example = "false") @RequestParam(value = "ranked", defaultValue = "false") boolean ranked,
+		@Parameter(name = "cursor", description = "Cursor, received as nextCursor in metadata, pointing to the page to read", example = "OWEyNDc0M2MtNWMxOS00Nzc0LTk1NGUtYTNhZDY3YTczNGUz") @RequestParam(value = "cursor", required = false) String cursor,
+		@Parameter(name = "includeTotals", description = "Include totalRecords and totalPages in metadata", example = "true") @RequestParam(value = "includeTotals", defaultValue = "true") boolean includeTotals,
+		@Parameter(name = "minMatchingPercent", description = "Minimum matching percent for a setting to be returned, only applicable when ranked", example = "75") @RequestParam(value = "minMatchingPercent", required = false) @Min(1) @Max(100) Integer minMatchingPercent,
+		@Parameter(name = "top", description = "Maximum amount of best matching settings to return over all pages, only applicable when ranked", example = "10") @RequestParam(value = "top", required = false) @Min(1) Integer top) {
+
+		return ok(query(toFeedbackFilters(headers), personId, organizationId, page, limit, ranked, cursor, includeTotals, minMatchingPercent, top));
+	}
+
+	@PostMapping(path = "/query", consumes = APPLICATION_JSON_VALUE, produces = { APPLICATION_JSON_VALUE, APPLICATION_PROBLEM_JSON_VALUE })
+	@Operation(summary = "Query feedback settings with filters in request body", description = """
+		Query for feedback settings matching sent in person- and/or organizationId, with filters sent in the request body instead of as
+		<code>x-filter-[filterkey]</code> headers. The request is otherwise handled in the same way as <code>GET /settings</code>, i.e. the
+		parameters for paging, ranking, cursor and totals have the same meaning and the matching percent is calculated in the same way.<br><br>
+
+		As the filters are not sent as headers, there is no limit on the amount of filters imposed by header size limits of proxies or servers.
+		""")
+	@ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(mediaType = APPLICATION_JSON_VALUE, schema = @Schema(implementation = SearchResult.class)))
+	@ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(oneOf = { Problem.class, ConstraintViolationProblem.class })))
+	@ApiResponse(responseCode = "500", description = "Internal Server error", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
+	public ResponseEntity<SearchResult> queryFeedbackSettings(
+		@NotNull @Valid @RequestBody FeedbackSettingsQueryRequest body,
+		@Parameter(name = "page", description = "Page number", example = "1") @RequestParam(value = "page", defaultValue = "1") @Min(1) int page,
+		@Parameter(name = "limit", description = "Result size per page", example = "20") @RequestParam(value = "limit", defaultValue = "20") @Min(1) @Max(100) int limit,
+		@Parameter(name = "ranked", description = "Rank all matching settings by matching percent before applying paging", example = "false") @RequestParam(value = "ranked", defaultValue = "false") boolean ranked,
+		@Parameter(name = "cursor", description = "Cursor, received as nextCursor in metadata, pointing to the page to read", example = "OWEyNDc0M2MtNWMxOS00Nzc0LTk1NGUtYTNhZDY3YTczNGUz") @RequestParam(value = "cursor", required = false) String cursor,
+		@Parameter(name = "includeTotals", description = "Include totalRecords and totalPages in metadata", example = "true") @RequestParam(value = "includeTotals", defaultValue = "true") boolean includeTotals,
+		@Parameter(name = "minMatchingPercent", description = "Minimum matching percent for a setting to be returned, only applicable when ranked", example = "75") @RequestParam(value = "minMatchingPercent", required = false) @Min(1) @Max(100) Integer minMatchingPercent,
+		@Parameter(name = "top", description = "Maximum amount of best matching settings to return over all pages, only applicable when ranked", example = "10") @RequestParam(value = "top", required = false) @Min(1) Integer top) {
+
+		return ok(query(body.getFilters(), body.getPersonId(), body.getOrganizationId(), page, limit, ranked, cursor, includeTotals, minMatchingPercent, top));
+	}
+
+	@PostMapping(path = "/search", consumes = APPLICATION_JSON_VALUE, produces = { APPLICATION_JSON_VALUE, APPLICATION_PROBLEM_JSON_VALUE })
+	@Operation(summary = "Search feedback settings for multiple persons", description = """
+		Search for feedback settings for all sent in personIds, optionally limited to settings for representatives of sent in organizationId. Returned
+		feedback settings contains a matching percent, calculated in the same way as when querying feedback settings, based on the filters sent in the
+		request body.<br><br>
+
+		The result is sorted by personId and then by matching percent, with the best matching setting for each person first.
+		""")
+	@ApiResponse(responseCode = "200", description = "Successful operation", content = @Content(mediaType = APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = WeightedFeedbackSetting.class))))
+	@ApiResponse(responseCode = "400", description = "Bad request", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(oneOf = { Problem.class, ConstraintViolationProblem.class })))
+	@ApiResponse(responseCode = "500", description = "Internal Server error", content = @Content(mediaType = APPLICATION_PROBLEM_JSON_VALUE, schema = @Schema(implementation = Problem.class)))
+	public ResponseEntity<List<WeightedFeedbackSetting>> searchFeedbackSettings(@NotNull @Valid @RequestBody FeedbackSettingsSearchRequest body) {
+
+		return ok(feedbackSettingsService.searchFeedbackSettings(body));
+	}
+
+	private SearchResult query(List<FeedbackFilter> searchFilters, String personId, String organizationId, int page, int limit, boolean ranked, String cursor, boolean includeTotals,
+		Integer minMatchingPercent, Integer top) {
+
+		if (ranked) {
+			if (nonNull(cursor)) {
+				throw Problem.valueOf(BAD_REQUEST, "Parameter cursor can not be combined with parameter ranked");
+			}
+			return feedbackSettingsService.getRankedFeedbackSettings(searchFilters, personId, organizationId, page, limit, minMatchingPercent, top);
+		}
+		if (nonNull(minMatchingPercent) || nonNull(top)) {
+			throw Problem.valueOf(BAD_REQUEST, "Parameters minMatchingPercent and top can only be combined with parameter ranked");
+		}
+		if (nonNull(cursor)) {
+			return feedbackSettingsService.getFeedbackSettingsAfterCursor(searchFilters, personId, organizationId, cursor, limit, includeTotals);
+		}
+		if (!includeTotals) {
+			return feedbackSettingsService.getFeedbackSettingsWithoutTotals(searchFilters, personId, organizationId, page, limit);
+		}
+		return feedbackSettingsService.getFeedbackSettings(searchFilters, personId, organizationId, page, limit);
+	}
+
+	private static ResponseEntity<FeedbackSetting> okWithValidators(FeedbackSetting setting) {
+		OffsetDateTime lastModified = toLastModified(setting.getCreated(), setting.getModified());
+		if (isNull(lastModified) || isNull(setting.getVersion())) {
+			return ok(setting);
+		}
+		return ok().eTag(toEntityTag(setting.getId(), setting.getVersion())).lastModified(lastModified.toInstant()).body(setting);
+	}
+
+	private static boolean isConditional(HttpHeaders headers) {
+		return !headers.getIfNoneMatch().isEmpty() || headers.getIfModifiedSince() >= 0;
+	}
 
-		return ok(feedbackSettingsService.getFeedbackSettings(headers, personId, organizationId, page, limit));
+	private static boolean isNotModified(HttpHeaders headers, String eTag, OffsetDateTime lastModified) {
+		// If-None-Match takes precedence over If-Modified-Since (RFC 7232)
+		if (!headers.getIfNoneMatch().isEmpty()) {
+			return matchesWeak(headers.getIfNoneMatch(), eTag);
+		}
+		// Last-Modified is sent with precision in seconds
+		long ifModifiedSince = headers.getIfModifiedSince();
+		return ifModifiedSince >= 0 && lastModified.toEpochSecond() * 1000 <= ifModifiedSince;
 	}
 }
@@ -0,0 +1,109 @@
+package se.sundsvall.feedbacksettings.api.model;
+
+import static io.swagger.v3.oas.annotations.media.Schema.AccessMode.READ_ONLY;
+
+import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Result model for one of the feedback settings in a batch create request")
+@JsonInclude(Include.NON_NULL)
+public class CreateFeedbackSettingResult {
+
+	@Schema(description = "Position (zero based) of the feedback setting in the batch create request", example = "0", accessMode = READ_ONLY)
+	private int index;
+
+	@Schema(description = "Http status for the feedback setting, 201 if created or 400 if rejected", example = "201", accessMode = READ_ONLY)
+	private int status;
+
+	@Schema(implementation = FeedbackSetting.class, description = "The created feedback setting (only present when created)", accessMode = READ_ONLY)
+	private FeedbackSetting feedbackSetting;
+
+	@Schema(description = "Description of why the feedback setting was rejected (only present when rejected)", example = "Settings already exist for personId '15aee472-46ab-4f03-9605-68bd64ebc73f'", accessMode = READ_ONLY)
+	private String detail;
+
+	public static CreateFeedbackSettingResult create() {
+		return new CreateFeedbackSettingResult();
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	public void setIndex(int index) {
+		this.index = index;
+	}
+
+	public CreateFeedbackSettingResult withIndex(int index) {
+		this.index = index;
+		return this;
+	}
+
+	public int getStatus() {
+		return status;
+	}
+
+	public void setStatus(int status) {
+		this.status = status;
+	}
+
+	public CreateFeedbackSettingResult withStatus(int status) {
+		this.status = status;
+		return this;
+	}
+
+	public FeedbackSetting getFeedbackSetting() {
+		return feedbackSetting;
+	}
+
+	public void setFeedbackSetting(FeedbackSetting feedbackSetting) {
+		this.feedbackSetting = feedbackSetting;
+	}
+
+	public CreateFeedbackSettingResult withFeedbackSetting(FeedbackSetting feedbackSetting) {
+		this.feedbackSetting = feedbackSetting;
+		return this;
+	}
+
+	public String getDetail() {
+		return detail;
+	}
+
+	public void setDetail(String detail) {
+		this.detail = detail;
+	}
+
+	public CreateFeedbackSettingResult withDetail(String detail) {
+		this.detail = detail;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(detail, feedbackSetting, index, status);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		CreateFeedbackSettingResult other = (CreateFeedbackSettingResult) obj;
+		return Objects.equals(detail, other.detail) && Objects.equals(feedbackSetting, other.feedbackSetting)
+			&& index == other.index && status == other.status;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("CreateFeedbackSettingResult [index=").append(index).append(", status=").append(status)
+			.append(", feedbackSetting=").append(feedbackSetting).append(", detail=").append(detail).append("]");
+		return builder.toString();
+	}
+}
@@ -3,17 +3,22 @@ package se.sundsvall.feedbacksettings.api.model;
 import java.util.List;
 import java.util.Objects;
 
+import javax.validation.constraints.NotBlank;
+
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Schema;
+import se.sundsvall.feedbacksettings.api.validation.UniqueFilterValues;
 
 @Schema(description = "Feedback filter model")
 public class FeedbackFilter {
 	
 	@Schema(description = "Unique key for the filter", example = "categories")
+	@NotBlank
 	private String key;
 	
 	@ArraySchema(schema = @Schema(description = "List of values for the filter", example = "[\"broadband\", \"electricity\"]", implementation = String.class))
-	private List<String> values;
+	@UniqueFilterValues
+	private List<@NotBlank String> values;
 	
 	public static FeedbackFilter create() {
 		return new FeedbackFilter();
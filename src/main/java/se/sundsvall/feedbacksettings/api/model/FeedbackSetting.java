@@ -36,6 +36,9 @@ public class FeedbackSetting {
 	@Schema(description = "Timestamp for last modification", example = "2022-01-20T10:30:09.469+01:00", accessMode = READ_ONLY)
 	private OffsetDateTime modified;
 
+	@Schema(description = "Version of the feedback setting, incremented each time the setting is updated", example = "1", accessMode = READ_ONLY)
+	private Long version;
+
 	public static FeedbackSetting create() {
 		return new FeedbackSetting();
 	}
@@ -131,9 +134,22 @@ public class FeedbackSetting {
 		return this;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
+	public FeedbackSetting withVersion(Long version) {
+		this.version = version;
+		return this;
+	}
+
 	@Override
 	public int hashCode() {
-		return Objects.hash(channels, created, filters, id, modified, organizationId, personId);
+		return Objects.hash(channels, created, filters, id, modified, organizationId, personId, version);
 	}
 
 	@Override
@@ -148,7 +164,7 @@ public class FeedbackSetting {
 		return Objects.equals(channels, other.channels) && Objects.equals(created, other.created)
 			&& Objects.equals(filters, other.filters) && Objects.equals(id, other.id)
 			&& Objects.equals(modified, other.modified) && Objects.equals(organizationId, other.organizationId)
-			&& Objects.equals(personId, other.personId);
+			&& Objects.equals(personId, other.personId) && Objects.equals(version, other.version);
 	}
 
 	@Override
@@ -157,7 +173,7 @@ public class FeedbackSetting {
 		builder.append("FeedbackSettings [id=").append(id).append(", personId=").append(personId)
 			.append(", organizationId=").append(organizationId).append(", filters=").append(filters)
 			.append(", channels=").append(channels).append(", created=").append(created).append(", modified=")
-			.append(modified).append("]");
+			.append(modified).append(", version=").append(version).append("]");
 		return builder.toString();
 	}
 }
@@ -0,0 +1,61 @@
+package se.sundsvall.feedbacksettings.api.model;
+
+import java.util.List;
+import java.util.Objects;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import se.sundsvall.dept44.common.validators.annotation.ValidUuid;
+
+@Schema(description = "Request model for erasing all feedback settings for one or more persons")
+public class FeedbackSettingsErasureRequest {
+
+	@ArraySchema(schema = @Schema(description = "Unique ids for the persons to erase feedback settings for", example = "15aee472-46ab-4f03-9605-68bd64ebc73f", implementation = String.class), minItems = 1, maxItems = 1000)
+	@NotEmpty
+	@Size(max = 1000)
+	private List<@ValidUuid String> personIds;
+
+	public static FeedbackSettingsErasureRequest create() {
+		return new FeedbackSettingsErasureRequest();
+	}
+
+	public List<String> getPersonIds() {
+		return personIds;
+	}
+
+	public void setPersonIds(List<String> personIds) {
+		this.personIds = personIds;
+	}
+
+	public FeedbackSettingsErasureRequest withPersonIds(List<String> personIds) {
+		this.personIds = personIds;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(personIds);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		FeedbackSettingsErasureRequest other = (FeedbackSettingsErasureRequest) obj;
+		return Objects.equals(personIds, other.personIds);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("FeedbackSettingsErasureRequest [personIds=").append(personIds).append("]");
+		return builder.toString();
+	}
+}
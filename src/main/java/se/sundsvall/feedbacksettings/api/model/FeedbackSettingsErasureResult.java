@@ -0,0 +1,88 @@
+package se.sundsvall.feedbacksettings.api.model;
+
+import static io.swagger.v3.oas.annotations.media.Schema.AccessMode.READ_ONLY;
+
+import java.util.Objects;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Result model for erasure of feedback settings")
+public class FeedbackSettingsErasureResult {
+
+	@Schema(description = "Amount of deleted feedback settings", example = "2", accessMode = READ_ONLY)
+	private int deletedSettings;
+
+	@Schema(description = "Amount of deleted channels", example = "3", accessMode = READ_ONLY)
+	private int deletedChannels;
+
+	@Schema(description = "Amount of deleted filters", example = "4", accessMode = READ_ONLY)
+	private int deletedFilters;
+
+	public static FeedbackSettingsErasureResult create() {
+		return new FeedbackSettingsErasureResult();
+	}
+
+	public int getDeletedSettings() {
+		return deletedSettings;
+	}
+
+	public void setDeletedSettings(int deletedSettings) {
+		this.deletedSettings = deletedSettings;
+	}
+
+	public FeedbackSettingsErasureResult withDeletedSettings(int deletedSettings) {
+		this.deletedSettings = deletedSettings;
+		return this;
+	}
+
+	public int getDeletedChannels() {
+		return deletedChannels;
+	}
+
+	public void setDeletedChannels(int deletedChannels) {
+		this.deletedChannels = deletedChannels;
+	}
+
+	public FeedbackSettingsErasureResult withDeletedChannels(int deletedChannels) {
+		this.deletedChannels = deletedChannels;
+		return this;
+	}
+
+	public int getDeletedFilters() {
+		return deletedFilters;
+	}
+
+	public void setDeletedFilters(int deletedFilters) {
+		this.deletedFilters = deletedFilters;
+	}
+
+	public FeedbackSettingsErasureResult withDeletedFilters(int deletedFilters) {
+		this.deletedFilters = deletedFilters;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(deletedChannels, deletedFilters, deletedSettings);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		FeedbackSettingsErasureResult other = (FeedbackSettingsErasureResult) obj;
+		return deletedChannels == other.deletedChannels && deletedFilters == other.deletedFilters && deletedSettings == other.deletedSettings;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("FeedbackSettingsErasureResult [deletedSettings=").append(deletedSettings).append(", deletedChannels=")
+			.append(deletedChannels).append(", deletedFilters=").append(deletedFilters).append("]");
+		return builder.toString();
+	}
+}
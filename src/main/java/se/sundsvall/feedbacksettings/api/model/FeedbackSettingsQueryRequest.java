@@ -0,0 +1,96 @@
+package se.sundsvall.feedbacksettings.api.model;
+
+import java.util.List;
+import java.util.Objects;
+
+import javax.validation.Valid;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import se.sundsvall.dept44.common.validators.annotation.ValidUuid;
+import se.sundsvall.feedbacksettings.api.validation.UniqueFilterKeys;
+
+@Schema(description = "Request model for querying feedback settings with search filters sent in the request body")
+public class FeedbackSettingsQueryRequest {
+
+	@Schema(description = "Unique id for the person to query feedback settings for", example = "15aee472-46ab-4f03-9605-68bd64ebc71a")
+	@ValidUuid(nullable = true)
+	private String personId;
+
+	@Schema(description = "Unique id for the company to which the feedback settings shall apply if the settings refers to organizational representatives", example = "15aee472-46ab-4f03-9605-68bd64ebc84a")
+	@ValidUuid(nullable = true)
+	private String organizationId;
+
+	@ArraySchema(schema = @Schema(implementation = FeedbackFilter.class))
+	@UniqueFilterKeys
+	private List<@Valid FeedbackFilter> filters;
+
+	public static FeedbackSettingsQueryRequest create() {
+		return new FeedbackSettingsQueryRequest();
+	}
+
+	public String getPersonId() {
+		return personId;
+	}
+
+	public void setPersonId(String personId) {
+		this.personId = personId;
+	}
+
+	public FeedbackSettingsQueryRequest withPersonId(String personId) {
+		this.personId = personId;
+		return this;
+	}
+
+	public String getOrganizationId() {
+		return organizationId;
+	}
+
+	public void setOrganizationId(String organizationId) {
+		this.organizationId = organizationId;
+	}
+
+	public FeedbackSettingsQueryRequest withOrganizationId(String organizationId) {
+		this.organizationId = organizationId;
+		return this;
+	}
+
+	public List<FeedbackFilter> getFilters() {
+		return filters;
+	}
+
+	public void setFilters(List<FeedbackFilter> filters) {
+		this.filters = filters;
+	}
+
+	public FeedbackSettingsQueryRequest withFilters(List<FeedbackFilter> filters) {
+		this.filters = filters;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(filters, organizationId, personId);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		FeedbackSettingsQueryRequest other = (FeedbackSettingsQueryRequest) obj;
+		return Objects.equals(filters, other.filters) && Objects.equals(organizationId, other.organizationId)
+			&& Objects.equals(personId, other.personId);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("FeedbackSettingsQueryRequest [personId=").append(personId).append(", organizationId=")
+			.append(organizationId).append(", filters=").append(filters).append("]");
+		return builder.toString();
+	}
+}
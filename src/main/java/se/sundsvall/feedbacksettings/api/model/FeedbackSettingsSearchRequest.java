@@ -0,0 +1,99 @@
+package se.sundsvall.feedbacksettings.api.model;
+
+import java.util.List;
+import java.util.Objects;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import se.sundsvall.dept44.common.validators.annotation.ValidUuid;
+import se.sundsvall.feedbacksettings.api.validation.UniqueFilterKeys;
+
+@Schema(description = "Request model for searching feedback settings for multiple persons")
+public class FeedbackSettingsSearchRequest {
+
+	@ArraySchema(schema = @Schema(description = "Unique ids for the persons to search feedback settings for", example = "15aee472-46ab-4f03-9605-68bd64ebc73f", implementation = String.class), minItems = 1, maxItems = 1000)
+	@NotEmpty
+	@Size(max = 1000)
+	private List<@ValidUuid String> personIds;
+
+	@Schema(description = "Unique id for the company to which the feedback settings shall apply if the settings refers to organizational representatives", example = "15aee472-46ab-4f03-9605-68bd64ebc84a")
+	@ValidUuid(nullable = true)
+	private String organizationId;
+
+	@ArraySchema(schema = @Schema(implementation = FeedbackFilter.class))
+	@UniqueFilterKeys
+	private List<@Valid FeedbackFilter> filters;
+
+	public static FeedbackSettingsSearchRequest create() {
+		return new FeedbackSettingsSearchRequest();
+	}
+
+	public List<String> getPersonIds() {
+		return personIds;
+	}
+
+	public void setPersonIds(List<String> personIds) {
+		this.personIds = personIds;
+	}
+
+	public FeedbackSettingsSearchRequest withPersonIds(List<String> personIds) {
+		this.personIds = personIds;
+		return this;
+	}
+
+	public String getOrganizationId() {
+		return organizationId;
+	}
+
+	public void setOrganizationId(String organizationId) {
+		this.organizationId = organizationId;
+	}
+
+	public FeedbackSettingsSearchRequest withOrganizationId(String organizationId) {
+		this.organizationId = organizationId;
+		return this;
+	}
+
+	public List<FeedbackFilter> getFilters() {
+		return filters;
+	}
+
+	public void setFilters(List<FeedbackFilter> filters) {
+		this.filters = filters;
+	}
+
+	public FeedbackSettingsSearchRequest withFilters(List<FeedbackFilter> filters) {
+		this.filters = filters;
+		return this;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(filters, organizationId, personIds);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		FeedbackSettingsSearchRequest other = (FeedbackSettingsSearchRequest) obj;
+		return Objects.equals(filters, other.filters) && Objects.equals(organizationId, other.organizationId)
+			&& Objects.equals(personIds, other.personIds);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("FeedbackSettingsSearchRequest [personIds=").append(personIds).append(", organizationId=")
+			.append(organizationId).append(", filters=").append(filters).append("]");
+		return builder.toString();
+	}
+}
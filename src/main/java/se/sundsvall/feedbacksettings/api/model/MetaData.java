@@ -4,6 +4,9 @@ import static io.swagger.v3.oas.annotations.media.Schema.AccessMode.READ_ONLY;
 
 import java.util.Objects;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Schema(description = "Metadata model")
@@ -18,38 +21,44 @@ public class MetaData {
 	@Schema(description = "Displayed objects on current page", example = "13", accessMode = READ_ONLY)
 	private int count;
 
-	@Schema(description = "Total amount of hits based on provided search parameters", example = "98", accessMode = READ_ONLY)
-	private long totalRecords;
+	@Schema(description = "Total amount of hits based on provided search parameters (not present when totals are excluded)", example = "98", accessMode = READ_ONLY)
+	@JsonInclude(Include.NON_NULL)
+	private Long totalRecords;
+
+	@Schema(description = "Total amount of pages based on provided search parameters (not present when totals are excluded)", example = "23", accessMode = READ_ONLY)
+	@JsonInclude(Include.NON_NULL)
+	private Integer totalPages;
 
-	@Schema(description = "Total amount of pages based on provided search parameters", example = "23", accessMode = READ_ONLY)
-	private int totalPages;
+	@Schema(description = "Cursor to send as parameter to get the page following the current page (only present when there are more pages)", example = "OWEyNDc0M2MtNWMxOS00Nzc0LTk1NGUtYTNhZDY3YTczNGUz", accessMode = READ_ONLY)
+	@JsonInclude(Include.NON_NULL)
+	private String nextCursor;
 	
 	public static MetaData create() {
 		return new MetaData();
 	}
 	
-	public long getTotalRecords() {
+	public Long getTotalRecords() {
 		return totalRecords;
 	}
 
-	public void setTotalRecords(long totalRecords) {
+	public void setTotalRecords(Long totalRecords) {
 		this.totalRecords = totalRecords;
 	}
 
-	public MetaData withTotalRecords(long totalRecords) {
+	public MetaData withTotalRecords(Long totalRecords) {
 		this.totalRecords = totalRecords;
 		return this;
 	}
 
-	public int getTotalPages() {
+	public Integer getTotalPages() {
 		return totalPages;
 	}
 
-	public void setTotalPages(int totalPages) {
+	public void setTotalPages(Integer totalPages) {
 		this.totalPages = totalPages;
 	}
 
-	public MetaData withTotalPages(int totalPages) {
+	public MetaData withTotalPages(Integer totalPages) {
 		this.totalPages = totalPages;
 		return this;
 	}
@@ -93,9 +102,22 @@ public class MetaData {
 		return this;
 	}
 
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	public void setNextCursor(String nextCursor) {
+		this.nextCursor = nextCursor;
+	}
+
+	public MetaData withNextCursor(String nextCursor) {
+		this.nextCursor = nextCursor;
+		return this;
+	}
+
 	@Override
 	public int hashCode() {
-		return Objects.hash(count, limit, page, totalPages, totalRecords);
+		return Objects.hash(count, limit, nextCursor, page, totalPages, totalRecords);
 	}
 
 	@Override
@@ -107,15 +129,15 @@ public class MetaData {
 		if (getClass() != obj.getClass())
 			return false;
 		MetaData other = (MetaData) obj;
-		return count == other.count && limit == other.limit && page == other.page && totalPages == other.totalPages
-				&& totalRecords == other.totalRecords;
+		return count == other.count && limit == other.limit && Objects.equals(nextCursor, other.nextCursor) && page == other.page
+				&& Objects.equals(totalPages, other.totalPages) && Objects.equals(totalRecords, other.totalRecords);
 	}
 
 	@Override
 	public String toString() {
 		StringBuilder builder = new StringBuilder();
 		builder.append("MetaData [page=").append(page).append(", limit=").append(limit).append(", count=").append(count)
-				.append(", totalRecords=").append(totalRecords).append(", totalPages=").append(totalPages).append("]");
+				.append(", totalRecords=").append(totalRecords).append(", totalPages=").append(totalPages).append(", nextCursor=").append(nextCursor).append("]");
 		return builder.toString();
 	}
 
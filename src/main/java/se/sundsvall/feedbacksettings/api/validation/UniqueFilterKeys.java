@@ -9,12 +9,13 @@ import java.lang.annotation.Target;
 import javax.validation.Constraint;
 import javax.validation.Payload;
 
+import se.sundsvall.feedbacksettings.api.validation.impl.UniqueFeedbackFilterKeysConstraintValidator;
 import se.sundsvall.feedbacksettings.api.validation.impl.UniqueFilterKeysConstraintValidator;
 
 @Documented
 @Target({ ElementType.FIELD, ElementType.CONSTRUCTOR, ElementType.PARAMETER, ElementType.TYPE_USE })
 @Retention(RetentionPolicy.RUNTIME)
-@Constraint(validatedBy = UniqueFilterKeysConstraintValidator.class)
+@Constraint(validatedBy = { UniqueFilterKeysConstraintValidator.class, UniqueFeedbackFilterKeysConstraintValidator.class })
 public @interface UniqueFilterKeys {
 
 	String message() default "keys in the collection must be unique";
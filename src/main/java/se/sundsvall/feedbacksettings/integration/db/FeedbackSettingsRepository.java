@@ -1,13 +1,263 @@
 package se.sundsvall.feedbacksettings.integration.db;
 
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
 import javax.transaction.Transactional;
 
-import org.springframework.data.repository.PagingAndSortingRepository;
-import org.springframework.data.repository.query.QueryByExampleExecutor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import se.sundsvall.feedbacksettings.integration.db.model.FeedbackSettingEntity;
+import se.sundsvall.feedbacksettings.integration.db.model.FeedbackSettingOwner;
+import se.sundsvall.feedbacksettings.integration.db.model.FeedbackSettingReference;
+import se.sundsvall.feedbacksettings.integration.db.model.FeedbackSettingScore;
+import se.sundsvall.feedbacksettings.integration.db.model.FeedbackSettingVersion;
+import se.sundsvall.feedbacksettings.integration.db.type.UuidBinaryType;
 
 @Transactional
 @CircuitBreaker(name = "feedbackSettingsRepository")
-public interface FeedbackSettingsRepository extends PagingAndSortingRepository<FeedbackSettingEntity, String>, QueryByExampleExecutor<FeedbackSettingEntity> {}
+public interface FeedbackSettingsRepository extends JpaRepository<FeedbackSettingEntity, String> {
+
+	/**
+	 * Streams id and modification timestamp for all settings matching sent in personId and organizationId. A parameter
+	 * with null value is ignored when matching. The stream must be consumed within a surrounding transaction.
+	 *
+	 * @param personId       id of person to match (or null)
+	 * @param organizationId id of organization to match (or null)
+	 * @return stream of references to the matching settings
+	 */
+	@Query("SELECT e.id AS id, e.modified AS modified FROM FeedbackSettingEntity e WHERE (:personId IS NULL OR e.personId = :personId) AND (:organizationId IS NULL OR e.organizationId = :organizationId)")
+	Stream<FeedbackSettingReference> findReferences(@Param("personId") String personId, @Param("organizationId") String organizationId);
+
+	/**
+	 * Common table expressions for scoring all settings matching parameters personId and organizationId against the
+	 * search filters in parameter searchFilters. Table ranked_settings holds the id and the amount of unmatched search
+	 * filters for each setting that has at most maxUnmatchedFilters unmatched search filters.
+	 */
+	String RANKED_SETTINGS = """
+		WITH search_filters AS (
+			SELECT jt.search_key, jt.search_value
+			FROM JSON_TABLE(:searchFilters, '$[*]' COLUMNS (
+				search_key VARCHAR(255) PATH '$.key',
+				NESTED PATH '$.values[*]' COLUMNS (search_value VARCHAR(255) PATH '$'))) AS jt
+		),
+		candidates AS (
+			SELECT s.id
+			FROM feedback_settings s
+			WHERE (:personId IS NULL OR s.person_id = UNHEX(REPLACE(:personId, '-', '')))
+			AND (:organizationId IS NULL OR s.organization_id = UNHEX(REPLACE(:organizationId, '-', '')))
+		),
+		unmatched_filters AS (
+			SELECT f.setting_id, sf.search_key
+			FROM candidates c
+			JOIN feedback_filters f ON f.setting_id = c.id
+			JOIN search_filters sf ON sf.search_key = UPPER(f.`key`)
+			GROUP BY f.setting_id, sf.search_key
+			HAVING COALESCE(MAX(sf.search_value = LOWER(f.value)), 0) = 0
+		),
+		ranked_settings AS (
+			SELECT c.id, COUNT(u.search_key) AS unmatched_filters
+			FROM candidates c
+			LEFT JOIN unmatched_filters u ON u.setting_id = c.id
+			GROUP BY c.id
+			HAVING COUNT(u.search_key) <= :maxUnmatchedFilters
+		)
+		""";
+
+	/**
+	 * Ranks all settings matching sent in personId and organizationId by the amount of search filters they do not match,
+	 * and returns the requested part of the ranking. Scoring is done in the database, by joining the filters of the
+	 * settings with the search filters, so that no filters are transferred. A search filter is unmatched by a setting
+	 * that has filters with the same key, but none with a value matching any of the search filter values. A setting
+	 * without filters for the key of a search filter matches the search filter. A parameter with null value is ignored
+	 * when matching settings. Settings with more unmatched search filters than maxUnmatchedFilters are left out of the
+	 * ranking.
+	 *
+	 * @param personId            id of person to match (or null)
+	 * @param organizationId      id of organization to match (or null)
+	 * @param searchFilters       JSON array of search filters, each with a key in upper case and a list of values in
+	 *                            lower case, i.e. [{"key":"CATEGORIES","values":["broadband","electricity"]}]
+	 * @param maxUnmatchedFilters maximum amount of unmatched search filters for a setting to be ranked
+	 * @param limit               maximum amount of settings to return
+	 * @param offset              amount of top ranked settings to skip
+	 * @return list of scored settings, with the least amount of unmatched search filters first and ties ordered by id
+	 */
+	@Query(value = RANKED_SETTINGS + """
+		SELECT LOWER(INSERT(INSERT(INSERT(INSERT(HEX(r.id), 9, 0, '-'), 14, 0, '-'), 19, 0, '-'), 24, 0, '-')) AS id, r.unmatched_filters AS unmatchedFilters
+		FROM ranked_settings r
+		ORDER BY r.unmatched_filters, r.id
+		LIMIT :limit OFFSET :offset""", nativeQuery = true)
+	List<FeedbackSettingScore> findRanked(@Param("personId") String personId, @Param("organizationId") String organizationId, @Param("searchFilters") String searchFilters,
+		@Param("maxUnmatchedFilters") int maxUnmatchedFilters, @Param("limit") int limit, @Param("offset") long offset);
+
+	/**
+	 * Counts the settings that are ranked by {@link #findRanked(String, String, String, int, int, long)} for the same
+	 * parameters, i.e. settings matching sent in personId and organizationId with at most maxUnmatchedFilters unmatched
+	 * search filters.
+	 *
+	 * @param personId            id of person to match (or null)
+	 * @param organizationId      id of organization to match (or null)
+	 * @param searchFilters       JSON array of search filters, in the same format as for findRanked
+	 * @param maxUnmatchedFilters maximum amount of unmatched search filters for a setting to be counted
+	 * @return amount of ranked settings
+	 */
+	@Query(value = RANKED_SETTINGS + "SELECT COUNT(*) FROM ranked_settings", nativeQuery = true)
+	long countRanked(@Param("personId") String personId, @Param("organizationId") String organizationId, @Param("searchFilters") String searchFilters,
+		@Param("maxUnmatchedFilters") int maxUnmatchedFilters);
+
+	/**
+	 * Finds version and timestamps for creation and last modification of setting matching sent in id, without loading
+	 * the setting and its filters and channels.
+	 *
+	 * @param id id of setting
+	 * @return optional version of the setting, empty if no setting matches sent in id
+	 */
+	@Query("SELECT e.version AS version, e.created AS created, e.modified AS modified FROM FeedbackSettingEntity e WHERE e.id = :id")
+	Optional<FeedbackSettingVersion> findVersionById(@Param("id") String id);
+
+	/**
+	 * Finds owner (combination of personId and organizationId) for all settings belonging to any of sent in persons.
+	 *
+	 * @param personIds ids of persons to find settings for
+	 * @return list of owners of the matching settings
+	 */
+	@Query("SELECT e.personId AS personId, e.organizationId AS organizationId FROM FeedbackSettingEntity e WHERE e.personId IN :personIds")
+	List<FeedbackSettingOwner> findOwners(@Param("personIds") Collection<String> personIds);
+
+	/**
+	 * Finds all settings belonging to any of sent in persons, optionally limited to settings for sent in organization. A
+	 * null value for organizationId is ignored when matching.
+	 *
+	 * @param personIds      ids of persons to find settings for
+	 * @param organizationId id of organization to match (or null)
+	 * @return list of matching settings
+	 */
+	@Query("SELECT e FROM FeedbackSettingEntity e WHERE e.personId IN :personIds AND (:organizationId IS NULL OR e.organizationId = :organizationId)")
+	List<FeedbackSettingEntity> findByPersonIds(@Param("personIds") Collection<String> personIds, @Param("organizationId") String organizationId);
+
+	/**
+	 * Finds a slice of settings matching sent in personId and organizationId. A parameter with null value is ignored when
+	 * matching. In contrast to a page, no count query is executed as one setting more than the page size is fetched to
+	 * determine if there is a following slice.
+	 *
+	 * @param personId       id of person to match (or null)
+	 * @param organizationId id of organization to match (or null)
+	 * @param pageable       pageable holding page, page size and sort order
+	 * @return slice of matching settings
+	 */
+	@Query("SELECT e FROM FeedbackSettingEntity e WHERE (:personId IS NULL OR e.personId = :personId) AND (:organizationId IS NULL OR e.organizationId = :organizationId)")
+	Slice<FeedbackSettingEntity> findSlice(@Param("personId") String personId, @Param("organizationId") String organizationId, Pageable pageable);
+
+	/**
+	 * Finds settings, ordered by id, with an id greater than sent in id (keyset pagination) and matching sent in personId
+	 * and organizationId. A null value for personId or organizationId is ignored when matching. The amount of returned
+	 * settings is limited by the page size of sent in pageable, which should always point to the first page as the
+	 * position is given by afterId.
+	 *
+	 * @param personId       id of person to match (or null)
+	 * @param organizationId id of organization to match (or null)
+	 * @param afterId        id of the last setting on the previous page
+	 * @param pageable       pageable holding the maximum amount of settings to return
+	 * @return list of matching settings following afterId
+	 */
+	@Query("SELECT e FROM FeedbackSettingEntity e WHERE e.id > :afterId AND (:personId IS NULL OR e.personId = :personId) AND (:organizationId IS NULL OR e.organizationId = :organizationId) ORDER BY e.id")
+	List<FeedbackSettingEntity> findAfter(@Param("personId") String personId, @Param("organizationId") String organizationId, @Param("afterId") String afterId, Pageable pageable);
+
+	/**
+	 * Reads a chunk of settings, ordered by id, using keyset pagination. Each chunk is read with a separate statement and
+	 * no result set is kept open between chunks, hence the collections of a chunk can be batch fetched without the driver
+	 * having to buffer any remaining rows.
+	 *
+	 * @param afterId  id of the last setting in the previous chunk (or null to read the first chunk)
+	 * @param pageable pageable holding the maximum amount of settings to return
+	 * @return list of settings following afterId
+	 */
+	@QueryHints(@QueryHint(name = HINT_READONLY, value = "true"))
+	@Query("SELECT e FROM FeedbackSettingEntity e WHERE (:afterId IS NULL OR e.id > :afterId) ORDER BY e.id")
+	List<FeedbackSettingEntity> findChunkAfter(@Param("afterId") String afterId, Pageable pageable);
+
+	/**
+	 * Deletes all filters belonging to sent in setting with one statement, without loading the setting.
+	 *
+	 * @param settingId id of the setting to delete filters for
+	 * @return amount of deleted filters
+	 */
+	@Modifying
+	@Query(value = "DELETE FROM feedback_filters WHERE setting_id = UNHEX(REPLACE(:settingId, '-', ''))", nativeQuery = true)
+	int deleteFiltersBySettingId(@Param("settingId") String settingId);
+
+	/**
+	 * Deletes all channels belonging to sent in setting with one statement, without loading the setting.
+	 *
+	 * @param settingId id of the setting to delete channels for
+	 * @return amount of deleted channels
+	 */
+	@Modifying
+	@Query(value = "DELETE FROM feedback_channels WHERE setting_id = UNHEX(REPLACE(:settingId, '-', ''))", nativeQuery = true)
+	int deleteChannelsBySettingId(@Param("settingId") String settingId);
+
+	/**
+	 * Deletes setting matching sent in id with one statement, without loading the setting. Filters and channels of the
+	 * setting must be deleted before the setting, see {@link #deleteFiltersBySettingId(String)} and
+	 * {@link #deleteChannelsBySettingId(String)}.
+	 *
+	 * @param id id of the setting to delete
+	 * @return amount of deleted settings, i.e. 0 if no setting matches sent in id
+	 */
+	@Modifying
+	@Query("DELETE FROM FeedbackSettingEntity e WHERE e.id = :id")
+	int deleteSettingById(@Param("id") String id);
+
+	/**
+	 * Finds ids of all settings belonging to any of sent in persons.
+	 *
+	 * @param personIds ids of persons to find settings for
+	 * @return list of ids for the matching settings
+	 */
+	@Query("SELECT e.id FROM FeedbackSettingEntity e WHERE e.personId IN :personIds")
+	List<String> findIdsByPersonIds(@Param("personIds") Collection<String> personIds);
+
+	/**
+	 * Deletes all filters belonging to settings of any of sent in persons with one statement.
+	 *
+	 * @param personIds ids, in binary format (see {@link UuidBinaryType#toBytes(String)}), of persons to delete filters for
+	 * @return amount of deleted filters
+	 */
+	@Modifying
+	@Query(value = "DELETE f FROM feedback_filters f JOIN feedback_settings s ON s.id = f.setting_id WHERE s.person_id IN (:personIds)", nativeQuery = true)
+	int deleteFiltersByPersonIds(@Param("personIds") Collection<byte[]> personIds);
+
+	/**
+	 * Deletes all channels belonging to settings of any of sent in persons with one statement.
+	 *
+	 * @param personIds ids, in binary format (see {@link UuidBinaryType#toBytes(String)}), of persons to delete channels for
+	 * @return amount of deleted channels
+	 */
+	@Modifying
+	@Query(value = "DELETE c FROM feedback_channels c JOIN feedback_settings s ON s.id = c.setting_id WHERE s.person_id IN (:personIds)", nativeQuery = true)
+	int deleteChannelsByPersonIds(@Param("personIds") Collection<byte[]> personIds);
+
+	/**
+	 * Deletes all settings belonging to any of sent in persons with one statement. Filters and channels of the settings
+	 * must be deleted before the settings, see {@link #deleteFiltersByPersonIds(Collection)} and
+	 * {@link #deleteChannelsByPersonIds(Collection)}.
+	 *
+	 * @param personIds ids of persons to delete settings for
+	 * @return amount of deleted settings
+	 */
+	@Modifying
+	@Query("DELETE FROM FeedbackSettingEntity e WHERE e.personId IN :personIds")
+	int deleteSettingsByPersonIds(@Param("personIds") Collection<String> personIds);
+}
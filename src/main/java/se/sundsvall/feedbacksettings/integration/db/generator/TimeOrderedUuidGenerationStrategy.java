@@ -0,0 +1,69 @@
+package se.sundsvall.feedbacksettings.integration.db.generator;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.UUIDGenerationStrategy;
+
+/**
+ * Strategy for {@link org.hibernate.id.UUIDGenerator} generating time ordered UUIDs in version 7 layout, i.e. 48 bits
+ * of unix epoch milliseconds followed by version, a 12 bit sequence, variant and 62 random bits. As consecutive ids
+ * are increasing, inserts are appended to the end of the primary key index instead of being scattered over it.
+ *
+ * The sequence is restarted from a random value each millisecond and incremented for ids generated within the same
+ * millisecond, borrowing from the next millisecond when exhausted, which keeps ids generated by one instance strictly
+ * increasing.
+ */
+public class TimeOrderedUuidGenerationStrategy implements UUIDGenerationStrategy {
+
+	private static final long serialVersionUID = 7530467611431394276L;
+
+	public static final String CLASS_NAME = "se.sundsvall.feedbacksettings.integration.db.generator.TimeOrderedUuidGenerationStrategy";
+
+	private static final int VERSION = 7;
+	private static final long VERSION_BITS = (long) VERSION << 12;
+	private static final long VARIANT_BITS = 0x8000000000000000L;
+	private static final long RANDOM_BITS_MASK = 0x3FFFFFFFFFFFFFFFL;
+	private static final int SEQUENCE_MASK = 0xFFF;
+	private static final int SEQUENCE_START_MASK = 0x7FF;
+
+	private final SecureRandom random = new SecureRandom();
+
+	private long lastTimestamp;
+	private int sequence;
+
+	@Override
+	public int getGeneratedVersion() {
+		return VERSION;
+	}
+
+	@Override
+	public UUID generateUUID(SharedSessionContractImplementor session) {
+		return generateUUID();
+	}
+
+	public UUID generateUUID() {
+		long timestampAndSequence = nextTimestampAndSequence();
+		long timestamp = timestampAndSequence >>> 12;
+		long mostSignificantBits = (timestamp << 16) | VERSION_BITS | (timestampAndSequence & SEQUENCE_MASK);
+		long leastSignificantBits = VARIANT_BITS | (random.nextLong() & RANDOM_BITS_MASK);
+
+		return new UUID(mostSignificantBits, leastSignificantBits);
+	}
+
+	private synchronized long nextTimestampAndSequence() {
+		long timestamp = System.currentTimeMillis();
+		if (timestamp > lastTimestamp) {
+			// Start from a random value in the lower half to leave room for ids generated within the same millisecond
+			lastTimestamp = timestamp;
+			sequence = random.nextInt() & SEQUENCE_START_MASK;
+		} else if (++sequence > SEQUENCE_MASK) {
+			// Sequence exhausted (or clock moved backwards), continue on the next millisecond
+			lastTimestamp++;
+			sequence = 0;
+		}
+
+		return (lastTimestamp << 12) | sequence;
+	}
+}
@@ -2,6 +2,7 @@ package se.sundsvall.feedbacksettings.integration.db.model;
 
 import static java.time.OffsetDateTime.now;
 import static java.time.temporal.ChronoUnit.MILLIS;
+import static org.hibernate.id.UUIDGenerator.UUID_GEN_STRATEGY_CLASS;
 
 import java.io.Serializable;
 import java.time.OffsetDateTime;
@@ -18,16 +19,30 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.Index;
 import javax.persistence.JoinColumn;
+import javax.persistence.OrderBy;
 import javax.persistence.PrePersist;
 import javax.persistence.PreUpdate;
 import javax.persistence.Table;
 import javax.persistence.UniqueConstraint;
+import javax.persistence.Version;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.CollectionId;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.annotations.Type;
+import org.hibernate.annotations.TypeDef;
+
+import se.sundsvall.feedbacksettings.integration.db.generator.TimeOrderedUuidGenerationStrategy;
+import se.sundsvall.feedbacksettings.integration.db.type.UuidBinaryType;
 
 @Entity
+@TypeDef(name = UuidBinaryType.NAME, typeClass = UuidBinaryType.class)
+@GenericGenerator(name = FeedbackSettingEntity.TIME_ORDERED_UUID_GENERATOR, strategy = "org.hibernate.id.UUIDGenerator", parameters = {
+	@Parameter(name = UUID_GEN_STRATEGY_CLASS, value = TimeOrderedUuidGenerationStrategy.CLASS_NAME) })
 @Table(name = "feedback_settings", uniqueConstraints = {
-	@UniqueConstraint(name = "feedback_settings_person_id_organization_id_unique_constraint", columnNames = { "person_id", "organization_id" }) }, indexes = {
+	@UniqueConstraint(name = FeedbackSettingEntity.PERSON_ID_ORGANIZATION_ID_UNIQUE_CONSTRAINT, columnNames = { "person_id", "organization_key" }) }, indexes = {
 		@Index(name = "feedback_settings_organization_id_index", columnList = "organization_id"),
 		@Index(name = "feedback_settings_person_id_index", columnList = "person_id")
 	})
@@ -35,25 +50,54 @@ public class FeedbackSettingEntity implements Serializable {
 
 	private static final long serialVersionUID = 4363931508904928891L;
 
+	public static final String PERSON_ID_ORGANIZATION_ID_UNIQUE_CONSTRAINT = "feedback_settings_person_id_organization_id_unique_constraint";
+
+	// Collections are fetched in batches matching max page size, i.e. one query per collection for a page of settings
+	private static final int COLLECTION_BATCH_SIZE = 100;
+
+	// Ids are UUID strings in the entity but stored as 16 bytes, see UuidBinaryType
+	private static final String UUID_COLUMN_DEFINITION = "binary(16)";
+
+	private static final String ORGANIZATION_KEY_COLUMN_DEFINITION = "binary(16) as (coalesce(organization_id, x'00000000000000000000000000000000')) persistent";
+
+	// Generator for setting ids as well as for collection element ids
+	static final String TIME_ORDERED_UUID_GENERATOR = "time_ordered_uuid";
+
 	@Id
-	@GenericGenerator(name = "string_based_uuid", strategy = "org.hibernate.id.UUIDGenerator")
-	@GeneratedValue(generator = "string_based_uuid")
-	@Column(name = "id")
+	@GeneratedValue(generator = TIME_ORDERED_UUID_GENERATOR)
+	@Type(type = UuidBinaryType.NAME)
+	@Column(name = "id", columnDefinition = UUID_COLUMN_DEFINITION)
 	private String id;
 
-	@Column(name = "person_id", nullable = false)
+	@Type(type = UuidBinaryType.NAME)
+	@Column(name = "person_id", nullable = false, columnDefinition = UUID_COLUMN_DEFINITION)
 	private String personId;
 
-	@Column(name = "organization_id")
+	@Type(type = UuidBinaryType.NAME)
+	@Column(name = "organization_id", columnDefinition = UUID_COLUMN_DEFINITION)
 	private String organizationId;
 
+	// Organization id, or zero bytes for settings without organization, generated by the database. Used in the unique
+	// constraint instead of organization id, as null values never violate a unique constraint
+	@Column(name = "organization_key", insertable = false, updatable = false, columnDefinition = ORGANIZATION_KEY_COLUMN_DEFINITION)
+	private byte[] organizationKey;
+
+	// Collection elements have an id of their own (i.e. are mapped as id bags) to let Hibernate insert and delete single
+	// rows when a collection is changed, instead of deleting and re-inserting all rows of the collection. Elements are
+	// ordered by the columns of the unique constraints to keep a stable order
 	@ElementCollection
-	@CollectionTable(name = "feedback_filters", joinColumns = @JoinColumn(name = "setting_id"), foreignKey = @ForeignKey(name = "fk_feedback_filters_feedback_settings"), uniqueConstraints = {
+	@BatchSize(size = COLLECTION_BATCH_SIZE)
+	@CollectionId(columns = @Column(name = "id", nullable = false, columnDefinition = UUID_COLUMN_DEFINITION), type = @Type(type = UuidBinaryType.NAME), generator = TIME_ORDERED_UUID_GENERATOR)
+	@OrderBy("key, value")
+	@CollectionTable(name = "feedback_filters", joinColumns = @JoinColumn(name = "setting_id", columnDefinition = UUID_COLUMN_DEFINITION), foreignKey = @ForeignKey(name = "fk_feedback_filters_feedback_settings"), uniqueConstraints = {
 		@UniqueConstraint(name = "feedback_filters_unique_combinations_constraint", columnNames = { "setting_id", "`key`", "value" }) })
 	private List<FeedbackFilterEmbeddable> feedbackFilters;
 
 	@ElementCollection
-	@CollectionTable(name = "feedback_channels", joinColumns = @JoinColumn(name = "setting_id"), foreignKey = @ForeignKey(name = "fk_feedback_channels_feedback_settings"), uniqueConstraints = {
+	@BatchSize(size = COLLECTION_BATCH_SIZE)
+	@CollectionId(columns = @Column(name = "id", nullable = false, columnDefinition = UUID_COLUMN_DEFINITION), type = @Type(type = UuidBinaryType.NAME), generator = TIME_ORDERED_UUID_GENERATOR)
+	@OrderBy("contactMethod, destination")
+	@CollectionTable(name = "feedback_channels", joinColumns = @JoinColumn(name = "setting_id", columnDefinition = UUID_COLUMN_DEFINITION), foreignKey = @ForeignKey(name = "fk_feedback_channels_feedback_settings"), uniqueConstraints = {
 		@UniqueConstraint(name = "feedback_channels_unique_combinations_constraint", columnNames = { "setting_id", "contact_method", "destination" }) })
 	private List<FeedbackChannelEmbeddable> feedbackChannels;
 
@@ -63,6 +107,13 @@ public class FeedbackSettingEntity implements Serializable {
 	@Column(name = "modified")
 	private OffsetDateTime modified;
 
+	// Incremented on each update and verified by the update statement, making concurrent updates of a setting fail
+	// instead of silently overwriting each other. Defaults to zero for rows inserted by scripts
+	@Version
+	@ColumnDefault("0")
+	@Column(name = "version", nullable = false)
+	private Long version;
+
 	public static FeedbackSettingEntity create() {
 		return new FeedbackSettingEntity();
 	}
@@ -158,6 +209,19 @@ public class FeedbackSettingEntity implements Serializable {
 		return this;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
+	public FeedbackSettingEntity withVersion(Long version) {
+		this.version = version;
+		return this;
+	}
+
 	@PrePersist
 	void prePersist() {
 		created = now(ZoneId.systemDefault()).truncatedTo(MILLIS);
@@ -170,7 +234,7 @@ public class FeedbackSettingEntity implements Serializable {
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(created, feedbackChannels, feedbackFilters, id, modified, organizationId, personId);
+		return Objects.hash(created, feedbackChannels, feedbackFilters, id, modified, organizationId, personId, version);
 	}
 
 	@Override
@@ -185,7 +249,7 @@ public class FeedbackSettingEntity implements Serializable {
 		return Objects.equals(created, other.created) && Objects.equals(feedbackChannels, other.feedbackChannels)
 			&& Objects.equals(feedbackFilters, other.feedbackFilters) && Objects.equals(id, other.id)
 			&& Objects.equals(modified, other.modified) && Objects.equals(organizationId, other.organizationId)
-			&& Objects.equals(personId, other.personId);
+			&& Objects.equals(personId, other.personId) && Objects.equals(version, other.version);
 	}
 
 	@Override
@@ -194,7 +258,7 @@ public class FeedbackSettingEntity implements Serializable {
 		builder.append("FeedbackSettingEntity [id=").append(id).append(", personId=").append(personId)
 			.append(", organizationId=").append(organizationId).append(", feedbackFilters=").append(feedbackFilters)
 			.append(", feedbackChannels=").append(feedbackChannels).append(", created=").append(created)
-			.append(", modified=").append(modified).append("]");
+			.append(", modified=").append(modified).append(", version=").append(version).append("]");
 		return builder.toString();
 	}
 }
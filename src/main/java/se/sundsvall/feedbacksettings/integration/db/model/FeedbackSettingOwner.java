@@ -0,0 +1,11 @@
+package se.sundsvall.feedbacksettings.integration.db.model;
+
+/**
+ * Projection of the personId/organizationId combination that identifies the owner of a feedback setting.
+ */
+public interface FeedbackSettingOwner {
+
+	String getPersonId();
+
+	String getOrganizationId();
+}
@@ -0,0 +1,13 @@
+package se.sundsvall.feedbacksettings.integration.db.model;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Lightweight projection of a feedback setting, containing only the id and the timestamp for last modification.
+ */
+public interface FeedbackSettingReference {
+
+	String getId();
+
+	OffsetDateTime getModified();
+}
@@ -0,0 +1,12 @@
+package se.sundsvall.feedbacksettings.integration.db.model;
+
+/**
+ * Lightweight projection of a ranked feedback setting, containing only the id and the amount of search filters that are
+ * not matched by the filters of the setting.
+ */
+public interface FeedbackSettingScore {
+
+	String getId();
+
+	int getUnmatchedFilters();
+}
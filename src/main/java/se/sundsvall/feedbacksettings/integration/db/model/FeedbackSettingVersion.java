@@ -0,0 +1,16 @@
+package se.sundsvall.feedbacksettings.integration.db.model;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Lightweight projection of a feedback setting, containing only the version and the timestamps for creation and last
+ * modification.
+ */
+public interface FeedbackSettingVersion {
+
+	Long getVersion();
+
+	OffsetDateTime getCreated();
+
+	OffsetDateTime getModified();
+}
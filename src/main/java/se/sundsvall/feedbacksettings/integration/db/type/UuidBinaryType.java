@@ -0,0 +1,104 @@
+package se.sundsvall.feedbacksettings.integration.db.type;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+import org.hibernate.type.AbstractSingleColumnStandardBasicType;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.AbstractTypeDescriptor;
+import org.hibernate.type.descriptor.sql.BinaryTypeDescriptor;
+
+/**
+ * Hibernate type for attributes holding UUIDs as strings in the entity while storing them as 16 bytes in a binary(16)
+ * column. Read values are returned in canonical (lower case) UUID string format.
+ */
+public class UuidBinaryType extends AbstractSingleColumnStandardBasicType<String> {
+
+	private static final long serialVersionUID = -1470329744213528716L;
+
+	public static final String NAME = "uuid-binary-string";
+
+	public UuidBinaryType() {
+		super(BinaryTypeDescriptor.INSTANCE, UuidStringTypeDescriptor.INSTANCE);
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	/**
+	 * Converts sent in UUID string to the 16 bytes stored in the database, for use as parameter value in native queries.
+	 *
+	 * @param uuid UUID in string format
+	 * @return the UUID as 16 bytes
+	 */
+	public static byte[] toBytes(String uuid) {
+		return UuidStringTypeDescriptor.toBytes(uuid);
+	}
+
+	static class UuidStringTypeDescriptor extends AbstractTypeDescriptor<String> {
+
+		private static final long serialVersionUID = 2863217364590211739L;
+
+		static final UuidStringTypeDescriptor INSTANCE = new UuidStringTypeDescriptor();
+
+		private static final int UUID_BYTES = 16;
+
+		UuidStringTypeDescriptor() {
+			super(String.class);
+		}
+
+		@Override
+		public String toString(String value) {
+			return value;
+		}
+
+		@Override
+		public String fromString(String string) {
+			return string;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <X> X unwrap(String value, Class<X> type, WrapperOptions options) {
+			if (value == null) {
+				return null;
+			}
+			if (byte[].class.isAssignableFrom(type)) {
+				return (X) toBytes(value);
+			}
+			if (String.class.isAssignableFrom(type)) {
+				return (X) value;
+			}
+			throw unknownUnwrap(type);
+		}
+
+		@Override
+		public <X> String wrap(X value, WrapperOptions options) {
+			if (value == null) {
+				return null;
+			}
+			if (value instanceof byte[] bytes) {
+				return fromBytes(bytes);
+			}
+			if (value instanceof String string) {
+				return string;
+			}
+			throw unknownWrap(value.getClass());
+		}
+
+		static byte[] toBytes(String value) {
+			UUID uuid = UUID.fromString(value);
+			return ByteBuffer.allocate(UUID_BYTES)
+				.putLong(uuid.getMostSignificantBits())
+				.putLong(uuid.getLeastSignificantBits())
+				.array();
+		}
+
+		static String fromBytes(byte[] bytes) {
+			ByteBuffer buffer = ByteBuffer.wrap(bytes);
+			return new UUID(buffer.getLong(), buffer.getLong()).toString();
+		}
+	}
+}
@@ -2,66 +2,298 @@ package se.sundsvall.feedbacksettings.service;
 
 import static java.lang.String.format;
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toSet;
+import static org.apache.commons.lang3.StringUtils.containsIgnoreCase;
 import static org.zalando.problem.Status.BAD_REQUEST;
+import static org.zalando.problem.Status.CONFLICT;
+import static org.zalando.problem.Status.CREATED;
 import static org.zalando.problem.Status.NOT_FOUND;
+import static org.zalando.problem.Status.PRECONDITION_FAILED;
+import static se.sundsvall.feedbacksettings.integration.db.model.FeedbackSettingEntity.PERSON_ID_ORGANIZATION_ID_UNIQUE_CONSTRAINT;
+import static se.sundsvall.feedbacksettings.service.ServiceConstants.FEEDBACK_SETTINGS_CACHE;
+import static se.sundsvall.feedbacksettings.service.ServiceConstants.SERVICE_TIMER;
 import static se.sundsvall.feedbacksettings.service.ServiceConstants.SETTINGS_ALREADY_EXISTS_FOR_ORGANIZATION_REPRESENTATIVE;
 import static se.sundsvall.feedbacksettings.service.ServiceConstants.SETTINGS_ALREADY_EXISTS_FOR_PERSONID;
+import static se.sundsvall.feedbacksettings.service.ServiceConstants.SETTINGS_MODIFIED_FOR_ID;
 import static se.sundsvall.feedbacksettings.service.ServiceConstants.SETTINGS_NOT_FOUND_FOR_ID;
 import static se.sundsvall.feedbacksettings.service.mapper.FeedbackSettingsMapper.mergeFeedbackSettings;
 import static se.sundsvall.feedbacksettings.service.mapper.FeedbackSettingsMapper.toExample;
-import static se.sundsvall.feedbacksettings.service.mapper.FeedbackSettingsMapper.toFeedbackFilters;
 import static se.sundsvall.feedbacksettings.service.mapper.FeedbackSettingsMapper.toFeedbackSetting;
 import static se.sundsvall.feedbacksettings.service.mapper.FeedbackSettingsMapper.toFeedbackSettingEntity;
+import static se.sundsvall.feedbacksettings.service.mapper.FeedbackSettingsMapper.toWeightedFeedbackSetting;
 import static se.sundsvall.feedbacksettings.service.mapper.FeedbackSettingsMapper.toWeightedFeedbackSettings;
-import static se.sundsvall.feedbacksettings.service.util.CalculationUtils.calculateMatchPercentage;
+import static se.sundsvall.feedbacksettings.service.util.CalculationUtils.toMatchingPercent;
+import static se.sundsvall.feedbacksettings.service.util.CalculationUtils.toMaxUnmatchedFilters;
+import static se.sundsvall.feedbacksettings.service.util.CursorUtils.fromCursor;
+import static se.sundsvall.feedbacksettings.service.util.CursorUtils.toCursor;
+import static se.sundsvall.feedbacksettings.service.util.EntityTagUtils.matchesStrong;
+import static se.sundsvall.feedbacksettings.service.util.EntityTagUtils.toEntityTag;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.http.HttpHeaders;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.zalando.problem.Problem;
 import org.zalando.problem.ThrowableProblem;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.annotation.Timed;
 import se.sundsvall.feedbacksettings.api.model.CreateFeedbackSettingRequest;
+import se.sundsvall.feedbacksettings.api.model.CreateFeedbackSettingResult;
 import se.sundsvall.feedbacksettings.api.model.FeedbackFilter;
 import se.sundsvall.feedbacksettings.api.model.FeedbackSetting;
+import se.sundsvall.feedbacksettings.api.model.FeedbackSettingsErasureRequest;
+import se.sundsvall.feedbacksettings.api.model.FeedbackSettingsErasureResult;
+import se.sundsvall.feedbacksettings.api.model.FeedbackSettingsSearchRequest;
 import se.sundsvall.feedbacksettings.api.model.MetaData;
 import se.sundsvall.feedbacksettings.api.model.SearchResult;
 import se.sundsvall.feedbacksettings.api.model.UpdateFeedbackSettingRequest;
 import se.sundsvall.feedbacksettings.api.model.WeightedFeedbackSetting;
 import se.sundsvall.feedbacksettings.integration.db.FeedbackSettingsRepository;
 import se.sundsvall.feedbacksettings.integration.db.model.FeedbackSettingEntity;
+import se.sundsvall.feedbacksettings.integration.db.model.FeedbackSettingReference;
+import se.sundsvall.feedbacksettings.integration.db.model.FeedbackSettingScore;
+import se.sundsvall.feedbacksettings.integration.db.type.UuidBinaryType;
+import se.sundsvall.feedbacksettings.service.index.FeedbackFilterIndex;
+import se.sundsvall.feedbacksettings.service.metrics.SearchMetrics;
+import se.sundsvall.feedbacksettings.service.util.SearchFilterMatcher;
 
 @Service
 public class FeedbackSettingsService {
-	
+
+	private static final int INDEX_BATCH_SIZE = 500;
+	private static final int PERSON_ID_CHUNK_SIZE = 100;
+	private static final int EXPORT_CHUNK_SIZE = 100;
+	private static final byte[] NEWLINE = { '\n' };
+
+	// Settings are paged in id order, as id is indexed and unique it gives a deterministic position for the cursor
+	private static final Sort ID_ORDER = Sort.by("id");
+
+	// Highest matching percent first, ties are broken by id to give a stable order between requests
+	private static final Comparator<RankedSetting> RANKING_ORDER = Comparator.comparingInt(RankedSetting::matchingPercent).reversed()
+		.thenComparing(RankedSetting::id);
+
     @Autowired
     private FeedbackSettingsRepository feedbackSettingsRepository;
 
-	public FeedbackSetting createFeedbackSetting(CreateFeedbackSettingRequest feedbackSetting) {
-		verifyNonExistingSettings(feedbackSetting.getPersonId(), feedbackSetting.getOrganizationId());
+	@Autowired
+	private FeedbackFilterIndex feedbackFilterIndex;
+
+	@Autowired
+	private Validator validator;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private SearchMetrics searchMetrics;
 
+	/**
+	 * Method for creating a feedback setting. Instead of checking for an existing setting before inserting, the insert is
+	 * flushed directly and a violation of the unique constraint on personId and organizationId is translated to status
+	 * 400, which saves a roundtrip to the database and leaves no window for concurrent requests to create duplicates.
+	 * 
+	 * @param feedbackSetting the feedback setting to create
+	 * @return the created feedback setting
+	 * @throws ThrowableProblem if a setting already exists for sent in combination of personId and organizationId
+	 */
+	@Timed(value = SERVICE_TIMER, histogram = true)
+	public FeedbackSetting createFeedbackSetting(CreateFeedbackSettingRequest feedbackSetting) {
 		FeedbackSettingEntity entity = toFeedbackSettingEntity(feedbackSetting);
-		feedbackSettingsRepository.save(entity);
-		
+		try {
+			feedbackSettingsRepository.saveAndFlush(entity);
+		} catch (DataIntegrityViolationException e) {
+			if (isUniqueOwnerViolation(e)) {
+				throw Problem.valueOf(BAD_REQUEST, toAlreadyExistsMessage(feedbackSetting.getPersonId(), feedbackSetting.getOrganizationId()));
+			}
+			throw e;
+		}
+		feedbackFilterIndex.index(entity);
+
 		return toFeedbackSetting(entity);
 	}
 
-	public FeedbackSetting updateFeedbackSetting(String id, UpdateFeedbackSettingRequest feedbackSetting) {
+	/**
+	 * Method for creating multiple feedback settings in one transaction. Each sent in setting is validated separately and
+	 * existing settings for all persons in the batch are fetched with one query, rejected settings are returned with
+	 * status 400 and a detail describing the reason while the rest of the batch is created. The inserts are sent as JDBC
+	 * batches (see property hibernate.jdbc.batch_size) and flushed directly.
+	 * 
+	 * If a concurrent request creates a setting for any of the owners after the existing settings have been fetched, the
+	 * flush fails on the unique constraint on personId and organizationId and the whole batch is rolled back. The settings
+	 * are then created one by one, in separate transactions, so that only the conflicting settings are rejected with status
+	 * 400 in the same way as when creating a single setting.
+	 * 
+	 * @param feedbackSettings list of feedback settings to create
+	 * @return list with one result per sent in setting, in the same order as the sent in list
+	 */
+	@Timed(value = SERVICE_TIMER, histogram = true)
+	public List<CreateFeedbackSettingResult> createFeedbackSettings(List<CreateFeedbackSettingRequest> feedbackSettings) {
+		Map<Integer, CreateFeedbackSettingResult> results = new TreeMap<>();
+		Map<Integer, CreateFeedbackSettingRequest> validRequests = new LinkedHashMap<>();
+
+		for (int i = 0; i < feedbackSettings.size(); i++) {
+			Set<ConstraintViolation<CreateFeedbackSettingRequest>> violations = validator.validate(feedbackSettings.get(i));
+			if (violations.isEmpty()) {
+				validRequests.put(i, feedbackSettings.get(i));
+			} else {
+				results.put(i, toRejectedResult(i, toDetail(violations)));
+			}
+		}
+
+		// Owners of existing settings, and owners already present in the batch, are rejected
+		Set<String> owners = new HashSet<>();
+		if (!validRequests.isEmpty()) {
+			feedbackSettingsRepository.findOwners(validRequests.values().stream().map(CreateFeedbackSettingRequest::getPersonId).collect(toSet()))
+				.forEach(owner -> owners.add(toOwnerKey(owner.getPersonId(), owner.getOrganizationId())));
+		}
+
+		Map<Integer, FeedbackSettingEntity> entities = new LinkedHashMap<>();
+		validRequests.forEach((index, request) -> {
+			if (owners.add(toOwnerKey(request.getPersonId(), request.getOrganizationId()))) {
+				entities.put(index, toFeedbackSettingEntity(request));
+			} else {
+				results.put(index, toRejectedResult(index, toAlreadyExistsMessage(request.getPersonId(), request.getOrganizationId())));
+			}
+		});
+
+		try {
+			feedbackSettingsRepository.saveAllAndFlush(entities.values());
+			entities.forEach((index, entity) -> results.put(index, toCreatedResult(index, entity)));
+		} catch (DataIntegrityViolationException e) {
+			if (!isUniqueOwnerViolation(e)) {
+				throw e;
+			}
+			entities.keySet().forEach(index -> results.put(index, createOneByOne(index, validRequests.get(index))));
+		}
+
+		return new ArrayList<>(results.values());
+	}
+
+	/**
+	 * Evicts sent in ids from the cache. Within a transaction the eviction is deferred until the transaction has been
+	 * committed, otherwise a concurrent read could cache the setting again as it was before the transaction.
+	 */
+	private void evictFromCache(Collection<String> ids) {
+		ofNullable(cacheManager.getCache(FEEDBACK_SETTINGS_CACHE))
+			.map(TransactionAwareCacheDecorator::new)
+			.ifPresent(cache -> ids.forEach(cache::evict));
+	}
+
+	private CreateFeedbackSettingResult createOneByOne(int index, CreateFeedbackSettingRequest request) {
+		// A new entity is mapped as the entity from the rolled back batch already has been assigned an id
+		FeedbackSettingEntity entity = toFeedbackSettingEntity(request);
+		try {
+			feedbackSettingsRepository.saveAndFlush(entity);
+		} catch (DataIntegrityViolationException e) {
+			if (isUniqueOwnerViolation(e)) {
+				return toRejectedResult(index, toAlreadyExistsMessage(request.getPersonId(), request.getOrganizationId()));
+			}
+			throw e;
+		}
+		return toCreatedResult(index, entity);
+	}
+
+	private CreateFeedbackSettingResult toCreatedResult(int index, FeedbackSettingEntity entity) {
+		feedbackFilterIndex.index(entity);
+		return CreateFeedbackSettingResult.create()
+			.withIndex(index)
+			.withStatus(CREATED.getStatusCode())
+			.withFeedbackSetting(toFeedbackSetting(entity));
+	}
+
+	/**
+	 * Method for updating channels and filters of a feedback setting. Clients often re-send unchanged channels and
+	 * filters, in which case nothing is written, the modified timestamp is kept and the cached setting is left in the
+	 * cache. Otherwise the changes are saved and the setting is evicted from the cache.
+	 * 
+	 * When entity tags are sent in, the setting is only updated if any of them matches the current entity tag of the
+	 * setting. The update statement verifies the version of the setting, hence the update fails if the setting is
+	 * modified by a concurrent request after it has been read, without locking the setting while the request is merged.
+	 * 
+	 * @param id              id of the feedback setting
+	 * @param feedbackSetting the channels and filters to update the setting with
+	 * @param ifMatch         entity tags sent in header If-Match (empty for an unconditional update)
+	 * @return the feedback setting after the update
+	 * @throws ThrowableProblem with status PRECONDITION_FAILED if no entity tag matches or if the setting is modified
+	 *                          concurrently during a conditional update, and with status CONFLICT if the setting is
+	 *                          modified concurrently during an unconditional update
+	 */
+	@Timed(value = SERVICE_TIMER, histogram = true)
+	public FeedbackSetting updateFeedbackSetting(String id, UpdateFeedbackSettingRequest feedbackSetting, List<String> ifMatch) {
 		FeedbackSettingEntity entity = feedbackSettingsRepository.findById(id)
 			.orElseThrow(() -> Problem.valueOf(NOT_FOUND, format(SETTINGS_NOT_FOUND_FOR_ID, id)));
 
-		//Merge and persist incoming changes to existing entity 
-		mergeFeedbackSettings(entity, feedbackSetting);
-		feedbackSettingsRepository.save(entity);
+		boolean conditional = nonNull(ifMatch) && !ifMatch.isEmpty();
+		if (conditional && !matchesStrong(ifMatch, toEntityTag(id, entity.getVersion()))) {
+			throw Problem.valueOf(PRECONDITION_FAILED, format(SETTINGS_MODIFIED_FOR_ID, id));
+		}
+
+		//Merge and persist incoming changes to existing entity (if the request contains any changes)
+		if (mergeFeedbackSettings(entity, feedbackSetting)) {
+			try {
+				entity = feedbackSettingsRepository.save(entity);
+			} catch (OptimisticLockingFailureException e) {
+				throw Problem.valueOf(conditional ? PRECONDITION_FAILED : CONFLICT, format(SETTINGS_MODIFIED_FOR_ID, id));
+			}
+			feedbackFilterIndex.index(entity);
+			evictFromCache(List.of(id));
+		}
 
 		return toFeedbackSetting(entity);
 	}
 
+	/**
+	 * Method for reading a feedback setting by id. Read settings are cached (bounded in size and time to live as
+	 * configured by property spring.cache.caffeine.spec) and evicted from the cache when updated or deleted.
+	 * 
+	 * @param id id of the feedback setting
+	 * @return the feedback setting matching sent in id
+	 */
+	@Cacheable(cacheNames = FEEDBACK_SETTINGS_CACHE, key = "#id")
+	@Timed(value = SERVICE_TIMER, histogram = true)
 	public FeedbackSetting getFeedbackSettingById(String id) {
 		FeedbackSettingEntity entity = feedbackSettingsRepository.findById(id)
 			.orElseThrow(() -> Problem.valueOf(NOT_FOUND, format(SETTINGS_NOT_FOUND_FOR_ID, id)));
@@ -69,17 +301,53 @@ public class FeedbackSettingsService {
 		return toFeedbackSetting(entity);
 	}
 
-	public SearchResult getFeedbackSettings(HttpHeaders headers, String personId, String organizationId, int page, int limit) {
+	/**
+	 * Method for reading version and timestamps for creation and last modification of a feedback setting. The values are
+	 * taken from the cached setting when present, otherwise only the values are read from the database (and returned
+	 * without filters and channels), making the method suitable for answering conditional requests.
+	 *
+	 * @param id id of the feedback setting
+	 * @return the feedback setting matching sent in id, where at least id, version, created and modified are present
+	 */
+	@Timed(value = SERVICE_TIMER, histogram = true)
+	public FeedbackSetting getFeedbackSettingVersion(String id) {
+		return ofNullable(cacheManager.getCache(FEEDBACK_SETTINGS_CACHE))
+			.map(cache -> cache.get(id, FeedbackSetting.class))
+			.or(() -> feedbackSettingsRepository.findVersionById(id)
+				.map(version -> FeedbackSetting.create()
+					.withId(id)
+					.withVersion(version.getVersion())
+					.withCreated(version.getCreated())
+					.withModified(version.getModified())))
+			.orElseThrow(() -> Problem.valueOf(NOT_FOUND, format(SETTINGS_NOT_FOUND_FOR_ID, id)));
+	}
+
+	/**
+	 * Method for reading a page of feedback settings using offset pagination. Settings are paged in id order, and when
+	 * there are more pages the metadata holds a cursor that can be used to fetch the following page by keyset pagination
+	 * in {@link #getFeedbackSettingsAfterCursor(List, String, String, String, int, boolean)}.
+	 * 
+	 * @param searchFilters  search filters to calculate matching percent from (or null)
+	 * @param personId       id of person to match (or null)
+	 * @param organizationId id of organization to match (or null)
+	 * @param page           page to read (one based)
+	 * @param limit          maximum amount of settings on the page
+	 * @return search result with the settings on the page and metadata for the search
+	 */
+	@Transactional(readOnly = true)
+	@Timed(value = SERVICE_TIMER, histogram = true)
+	public SearchResult getFeedbackSettings(List<FeedbackFilter> searchFilters, String personId, String organizationId, int page, int limit) {
 		// Paging in SpringData starts with 0, API paging starts with 1 - hence the subtraction of 1
 		Page<FeedbackSettingEntity> matches =
-			feedbackSettingsRepository.findAll(toExample(personId, organizationId, false), PageRequest.of(page - 1, limit));
+			feedbackSettingsRepository.findAll(toExample(personId, organizationId, false), PageRequest.of(page - 1, limit, ID_ORDER));
 		
 		// If page larger than last page is requested, a empty list is returned otherwise the current page
-		List<WeightedFeedbackSetting> settings = matches.getTotalPages() < page ? Collections.emptyList() : toWeightedFeedbackSettings(matches.getContent());
+		List<WeightedFeedbackSetting> settings = matches.getTotalPages() < page ? Collections.emptyList() : searchMetrics.map(() -> toWeightedFeedbackSettings(matches.getContent()));
 
-		// Convert headers to searchFilters and calculate match percentage for fetched feedback settings 
-		List<FeedbackFilter> searchFilters = toFeedbackFilters(headers);
-		settings.stream().forEach(setting -> calculateMatchPercentage(searchFilters, setting));
+		// Compile searchFilters once and calculate match percentage for fetched feedback settings
+		SearchFilterMatcher searchFilterMatcher = SearchFilterMatcher.compile(searchFilters);
+		searchMetrics.score(() -> settings.forEach(searchFilterMatcher::calculateMatchPercentage));
+		searchMetrics.recordSearch(searchFilters, settings);
 
 		// Return result sorted ascending by matching percent
 		return SearchResult.create()
@@ -88,31 +356,408 @@ public class FeedbackSettingsService {
 				.withTotalPages(matches.getTotalPages())
 				.withTotalRecords(matches.getTotalElements())
 				.withCount(settings.size())
-				.withLimit(limit))
+				.withLimit(limit)
+				.withNextCursor(matches.hasNext() ? toCursor(getLastId(matches.getContent())) : null))
 			.withFeedbackSettings(settings.stream().sorted((o1, o2) -> o2.getMatchingPercent() - o1.getMatchingPercent()).toList());
 	}
-	
+
+	/**
+	 * Method for reading a page of feedback settings using offset pagination without calculating totals. One setting more
+	 * than the limit is fetched to determine if there is a following page, which saves the count query needed for
+	 * totalRecords and totalPages (which are left out of returned metadata).
+	 * 
+	 * @param searchFilters  search filters to calculate matching percent from (or null)
+	 * @param personId       id of person to match (or null)
+	 * @param organizationId id of organization to match (or null)
+	 * @param page           page to read (one based)
+	 * @param limit          maximum amount of settings on the page
+	 * @return search result with the settings on the page and metadata, without totals, for the search
+	 */
+	@Transactional(readOnly = true)
+	@Timed(value = SERVICE_TIMER, histogram = true)
+	public SearchResult getFeedbackSettingsWithoutTotals(List<FeedbackFilter> searchFilters, String personId, String organizationId, int page, int limit) {
+		// Paging in SpringData starts with 0, API paging starts with 1 - hence the subtraction of 1
+		Slice<FeedbackSettingEntity> matches = feedbackSettingsRepository.findSlice(personId, organizationId, PageRequest.of(page - 1, limit, ID_ORDER));
+		List<WeightedFeedbackSetting> settings = toScoredFeedbackSettings(searchFilters, matches.getContent());
+
+		return SearchResult.create()
+			.withMetaData(MetaData.create()
+				.withPage(page)
+				.withCount(settings.size())
+				.withLimit(limit)
+				.withNextCursor(matches.hasNext() ? toCursor(getLastId(matches.getContent())) : null))
+			.withFeedbackSettings(settings);
+	}
+
+	/**
+	 * Method for reading the page of feedback settings following sent in cursor using keyset pagination, i.e. the page
+	 * is located by seeking past the id that the cursor points to instead of skipping rows, giving the same cost
+	 * regardless of how deep into the result the page is. As the position is given by the cursor, page is not set in
+	 * returned metadata.
+	 * 
+	 * @param searchFilters  search filters to calculate matching percent from (or null)
+	 * @param personId       id of person to match (or null)
+	 * @param organizationId id of organization to match (or null)
+	 * @param cursor         cursor received in metadata of the previous page
+	 * @param limit          maximum amount of settings on the page
+	 * @param includeTotals  if totalRecords and totalPages should be calculated (which costs a count query)
+	 * @return search result with the settings on the page and metadata for the search
+	 */
+	@Transactional(readOnly = true)
+	@Timed(value = SERVICE_TIMER, histogram = true)
+	public SearchResult getFeedbackSettingsAfterCursor(List<FeedbackFilter> searchFilters, String personId, String organizationId, String cursor, int limit, boolean includeTotals) {
+		// One setting more than the limit is fetched to determine if there is a page following the current page
+		List<FeedbackSettingEntity> matches = feedbackSettingsRepository.findAfter(personId, organizationId, fromCursor(cursor), PageRequest.of(0, limit + 1));
+		boolean hasNext = matches.size() > limit;
+		List<FeedbackSettingEntity> content = hasNext ? matches.subList(0, limit) : matches;
+		List<WeightedFeedbackSetting> settings = toScoredFeedbackSettings(searchFilters, content);
+
+		MetaData metaData = MetaData.create()
+			.withCount(settings.size())
+			.withLimit(limit)
+			.withNextCursor(hasNext ? toCursor(getLastId(content)) : null);
+
+		if (includeTotals) {
+			long totalRecords = feedbackSettingsRepository.count(toExample(personId, organizationId, false));
+			metaData.withTotalRecords(totalRecords)
+				.withTotalPages((int) ((totalRecords + limit - 1) / limit));
+		}
+
+		return SearchResult.create()
+			.withMetaData(metaData)
+			.withFeedbackSettings(settings);
+	}
+
+	/**
+	 * Method for searching feedback settings for multiple persons. Persons are resolved in chunks, with one query per
+	 * chunk, and all found settings are scored against the search filters in one pass.
+	 * 
+	 * @param request containing personIds, optional organizationId and optional search filters
+	 * @return list of weighted feedback settings sorted by personId and then by descending matching percent
+	 */
+	@Transactional(readOnly = true)
+	@Timed(value = SERVICE_TIMER, histogram = true)
+	public List<WeightedFeedbackSetting> searchFeedbackSettings(FeedbackSettingsSearchRequest request) {
+		List<String> personIds = request.getPersonIds().stream().distinct().toList();
+
+		List<FeedbackSettingEntity> entities = new ArrayList<>();
+		for (int i = 0; i < personIds.size(); i += PERSON_ID_CHUNK_SIZE) {
+			entities.addAll(feedbackSettingsRepository.findByPersonIds(
+				personIds.subList(i, Math.min(i + PERSON_ID_CHUNK_SIZE, personIds.size())), request.getOrganizationId()));
+		}
+		List<WeightedFeedbackSetting> settings = searchMetrics.map(() -> toWeightedFeedbackSettings(entities));
+
+		SearchFilterMatcher searchFilterMatcher = SearchFilterMatcher.compile(request.getFilters());
+		searchMetrics.score(() -> settings.forEach(searchFilterMatcher::calculateMatchPercentage));
+		searchMetrics.recordSearch(request.getFilters(), settings);
+
+		return settings.stream()
+			.sorted(Comparator.comparing(WeightedFeedbackSetting::getPersonId)
+				.thenComparing(Comparator.comparingInt(WeightedFeedbackSetting::getMatchingPercent).reversed()))
+			.toList();
+	}
+
+	/**
+	 * Method for querying feedback settings where all candidates matching sent in personId and/or organizationId are
+	 * scored before paging is applied, meaning that the first page always contains the best matching settings overall.
+	 * Candidates are scored by the database, or by the filter index when enabled (see {@link FeedbackFilterIndex}). Either
+	 * way only the settings on the requested page are mapped.
+	 * 
+	 * Candidates below minMatchingPercent are dropped before mapping and only the top best matching candidates are
+	 * ranked, hence the totals in returned metadata only include the candidates that are ranked.
+	 * 
+	 * @param searchFilters      search filters to calculate matching percent from (or null)
+	 * @param personId           id of person to match (or null)
+	 * @param organizationId     id of organization to match (or null)
+	 * @param page               requested page (starting with 1)
+	 * @param limit              size of each page
+	 * @param minMatchingPercent minimum matching percent for a setting to be returned (or null)
+	 * @param top                maximum amount of best matching settings to rank (or null)
+	 * @return search result containing the requested page of the globally ranked feedback settings
+	 */
+	@Transactional(readOnly = true)
+	@Timed(value = SERVICE_TIMER, histogram = true)
+	public SearchResult getRankedFeedbackSettings(List<FeedbackFilter> searchFilters, String personId, String organizationId, int page, int limit, Integer minMatchingPercent, Integer top) {
+		return feedbackFilterIndex.isEnabled() ? rankWithIndex(searchFilters, personId, organizationId, page, limit, minMatchingPercent, top)
+			: rankInDatabase(searchFilters, personId, organizationId, page, limit, minMatchingPercent, top);
+	}
+
+	/**
+	 * Ranks candidates in the database, which returns only the ids and scores of the settings on the requested page.
+	 * Hence only the settings on the requested page are loaded.
+	 */
+	private SearchResult rankInDatabase(List<FeedbackFilter> searchFilters, String personId, String organizationId, int page, int limit, Integer minMatchingPercent, Integer top) {
+		SearchFilterMatcher searchFilterMatcher = SearchFilterMatcher.compile(searchFilters);
+		String searchFiltersJson = toJson(searchFilterMatcher);
+		int searchFilterCount = searchFilterMatcher.size();
+		int maxUnmatchedFilters = isNull(minMatchingPercent) ? searchFilterCount : toMaxUnmatchedFilters(searchFilterCount, minMatchingPercent);
+
+		// Candidates only need to be scored for the count when some of them can be below the minimum matching percent
+		long candidates = maxUnmatchedFilters < searchFilterCount ? feedbackSettingsRepository.countRanked(personId, organizationId, searchFiltersJson, maxUnmatchedFilters)
+			: feedbackSettingsRepository.count(toExample(personId, organizationId, false));
+		long totalRecords = isNull(top) ? candidates : Math.min(candidates, top);
+
+		long offset = (long) (page - 1) * limit;
+		List<FeedbackSettingScore> scores = offset >= totalRecords ? Collections.emptyList() : searchMetrics.scoreAndGet(() -> feedbackSettingsRepository.findRanked(
+			personId, organizationId, searchFiltersJson, maxUnmatchedFilters, (int) Math.min(limit, totalRecords - offset), offset));
+
+		// Match always starts with 1 as there is always a match on combination of sent in personId/organizationId
+		List<RankedSetting> ranked = scores.stream()
+			.map(score -> new RankedSetting(score.getId(), toMatchingPercent(searchFilterCount - score.getUnmatchedFilters() + 1, searchFilterCount)))
+			.toList();
+
+		return toRankedSearchResult(searchFilters, ranked, page, limit, totalRecords);
+	}
+
+	/**
+	 * Ranks candidates with the filter index, hence only settings that are missing in the index (or has been modified
+	 * since indexed) and the settings on the requested page are loaded from the database. Only the page * limit best
+	 * matching settings are kept in memory while ranking.
+	 */
+	private SearchResult rankWithIndex(List<FeedbackFilter> searchFilters, String personId, String organizationId, int page, int limit, Integer minMatchingPercent, Integer top) {
+		List<String> candidateIds = indexCandidates(personId, organizationId);
+		// Search filters are counted after merging of duplicated keys, in the same way as when ranked by the database
+		int searchFilterCount = SearchFilterMatcher.compile(searchFilters).size();
+		int minPercent = ofNullable(minMatchingPercent).orElse(0);
+		long maxRecords = isNull(top) ? Long.MAX_VALUE : top;
+
+		// Min heap ordered with the worst match on top, which is evicted when the heap grows beyond page * limit entries
+		long capacity = Math.min((long) page * limit, maxRecords);
+		PriorityQueue<RankedSetting> topMatches = new PriorityQueue<>(RANKING_ORDER.reversed());
+		Map<String, Integer> unmatchedFilters = searchMetrics.scoreAndGet(() -> feedbackFilterIndex.countUnmatchedFilters(candidateIds, searchFilters));
+		long candidates = 0;
+		for (String id : candidateIds) {
+			// Match always starts with 1 as there is always a match on combination of sent in personId/organizationId
+			RankedSetting rankedSetting = new RankedSetting(id, toMatchingPercent(searchFilterCount - unmatchedFilters.getOrDefault(id, 0) + 1, searchFilterCount));
+			if (rankedSetting.matchingPercent() >= minPercent) {
+				candidates++;
+				topMatches.offer(rankedSetting);
+				if (topMatches.size() > capacity) {
+					topMatches.poll();
+				}
+			}
+		}
+
+		// The heap holds at most page * limit settings, hence everything after the offset belongs to the requested page
+		List<RankedSetting> ranked = topMatches.stream().sorted(RANKING_ORDER).toList();
+		long offset = (long) (page - 1) * limit;
+
+		return toRankedSearchResult(searchFilters, offset >= ranked.size() ? Collections.emptyList() : ranked.subList((int) offset, ranked.size()), page, limit,
+			Math.min(candidates, maxRecords));
+	}
+
+	private SearchResult toRankedSearchResult(List<FeedbackFilter> searchFilters, List<RankedSetting> ranked, int page, int limit, long totalRecords) {
+		List<WeightedFeedbackSetting> settings = ranked.isEmpty() ? Collections.emptyList() : searchMetrics.map(() -> toRankedFeedbackSettings(ranked));
+		searchMetrics.recordSearch(searchFilters, settings);
+
+		return SearchResult.create()
+			.withMetaData(MetaData.create()
+				.withPage(page)
+				.withTotalPages((int) Math.ceil((double) totalRecords / limit))
+				.withTotalRecords(totalRecords)
+				.withCount(settings.size())
+				.withLimit(limit))
+			.withFeedbackSettings(settings);
+	}
+
+	/**
+	 * Method for deleting a feedback setting. Filters, channels and the setting are deleted with one bulk statement each,
+	 * without loading the setting, and the amount of deleted settings tells if the setting existed. The setting is evicted
+	 * from the cache after the transaction has been committed.
+	 * 
+	 * @param id id of the feedback setting
+	 * @throws ThrowableProblem if no setting matches sent in id
+	 */
+	@Transactional
+	@Timed(value = SERVICE_TIMER, histogram = true)
 	public void deleteFeedbackSetting(String id) {
-		// Check that setting for sent in id exists
-		if (!feedbackSettingsRepository.existsById(id)) {
+		feedbackSettingsRepository.deleteFiltersBySettingId(id);
+		feedbackSettingsRepository.deleteChannelsBySettingId(id);
+		if (feedbackSettingsRepository.deleteSettingById(id) == 0) {
 			throw Problem.valueOf(NOT_FOUND, format(SETTINGS_NOT_FOUND_FOR_ID, id));
 		}
 
-		feedbackSettingsRepository.deleteById(id);
+		feedbackFilterIndex.remove(id);
+		evictFromCache(List.of(id));
 	}
 
 	/**
-	 * Method checks for existing settings for combination of sent in personId and organizationId
+	 * Method for erasing all feedback settings, including their channels and filters, for sent in persons. Filters,
+	 * channels and settings are deleted with one set based statement each, in one transaction, and the amount of deleted
+	 * rows is returned. Erased settings are removed from the filter index and evicted from the cache after the transaction
+	 * has been committed.
+	 * 
+	 * @param request containing ids of the persons to erase settings for
+	 * @return result containing the amount of deleted settings, channels and filters
+	 */
+	@Transactional
+	@Timed(value = SERVICE_TIMER, histogram = true)
+	public FeedbackSettingsErasureResult eraseFeedbackSettings(FeedbackSettingsErasureRequest request) {
+		List<String> personIds = request.getPersonIds().stream().distinct().toList();
+		List<byte[]> binaryPersonIds = personIds.stream().map(UuidBinaryType::toBytes).toList();
+		List<String> ids = feedbackSettingsRepository.findIdsByPersonIds(personIds);
+
+		FeedbackSettingsErasureResult result = FeedbackSettingsErasureResult.create()
+			.withDeletedFilters(feedbackSettingsRepository.deleteFiltersByPersonIds(binaryPersonIds))
+			.withDeletedChannels(feedbackSettingsRepository.deleteChannelsByPersonIds(binaryPersonIds))
+			.withDeletedSettings(feedbackSettingsRepository.deleteSettingsByPersonIds(personIds));
+
+		ids.forEach(feedbackFilterIndex::remove);
+		evictFromCache(ids);
+
+		return result;
+	}
+
+	/**
+	 * Method for exporting all feedback settings as newline delimited JSON to sent in output stream. Settings are read
+	 * and written in chunks using keyset pagination, the collections for each chunk are batch fetched and the persistence
+	 * context is cleared after each chunk has been written. As no result set is kept open between chunks, memory usage is
+	 * independent of the number of exported settings.
+	 * 
+	 * @param outputStream the stream to write the settings to
+	 * @throws IOException if writing to the output stream fails
+	 */
+	@Transactional(readOnly = true)
+	@Timed(value = SERVICE_TIMER, histogram = true)
+	public void exportFeedbackSettings(OutputStream outputStream) throws IOException {
+		String lastId = null;
+		List<FeedbackSettingEntity> chunk;
+
+		do {
+			chunk = feedbackSettingsRepository.findChunkAfter(lastId, PageRequest.of(0, EXPORT_CHUNK_SIZE));
+			if (!chunk.isEmpty()) {
+				lastId = chunk.get(chunk.size() - 1).getId();
+				writeChunk(chunk, outputStream);
+			}
+		} while (chunk.size() == EXPORT_CHUNK_SIZE);
+	}
+
+	private void writeChunk(List<FeedbackSettingEntity> chunk, OutputStream outputStream) throws IOException {
+		for (FeedbackSettingEntity entity : chunk) {
+			outputStream.write(objectMapper.writeValueAsBytes(toFeedbackSetting(entity)));
+			outputStream.write(NEWLINE);
+		}
+		outputStream.flush();
+
+		// Detach written settings so that the persistence context doesn't grow between chunks
+		entityManager.clear();
+	}
+
+	/**
+	 * Method returns ids of all settings matching sent in personId and/or organizationId, after making sure that all of
+	 * them are present and up to date in the filter index.
 	 * 
 	 * @param personId       personId
 	 * @param organizationId organizationId
-	 * @throws ThrowableProblem if an existing match for the sent in parameters is found in the database
+	 * @return list of ids for all matching settings
+	 */
+	private List<String> indexCandidates(String personId, String organizationId) {
+		List<String> candidateIds = new ArrayList<>();
+		List<String> staleIds = new ArrayList<>();
+
+		try (Stream<FeedbackSettingReference> references = feedbackSettingsRepository.findReferences(personId, organizationId)) {
+			references.forEach(reference -> {
+				candidateIds.add(reference.getId());
+				if (!feedbackFilterIndex.isCurrent(reference.getId(), reference.getModified())) {
+					staleIds.add(reference.getId());
+				}
+			});
+		}
+
+		// Settings missing in the index, or modified since they were indexed, are loaded and (re)indexed in batches
+		for (int i = 0; i < staleIds.size(); i += INDEX_BATCH_SIZE) {
+			feedbackSettingsRepository.findAllById(staleIds.subList(i, Math.min(i + INDEX_BATCH_SIZE, staleIds.size())))
+				.forEach(feedbackFilterIndex::index);
+		}
+
+		return candidateIds;
+	}
+
+	/**
+	 * Method converts compiled search filters to the JSON array of search filters expected by
+	 * {@link FeedbackSettingsRepository#findRanked(String, String, String, int, int, long)}.
+	 * 
+	 * @param searchFilterMatcher the compiled search filters
+	 * @return JSON array of search filters, each with a key and a list of values
 	 */
-	private void verifyNonExistingSettings(String personId, String organizationId) {
-		if (feedbackSettingsRepository.exists(toExample(personId, organizationId, true))) {
-			throw isNull(organizationId) ? 
-				Problem.valueOf(BAD_REQUEST, String.format(SETTINGS_ALREADY_EXISTS_FOR_PERSONID, personId)) : 
-				Problem.valueOf(BAD_REQUEST, String.format(SETTINGS_ALREADY_EXISTS_FOR_ORGANIZATION_REPRESENTATIVE, personId, organizationId));
+	private String toJson(SearchFilterMatcher searchFilterMatcher) {
+		List<RankingFilter> searchFilters = searchFilterMatcher.getValuesByKey().entrySet().stream()
+			.filter(entry -> nonNull(entry.getKey()))
+			.map(entry -> new RankingFilter(entry.getKey(), entry.getValue()))
+			.toList();
+
+		try {
+			return objectMapper.writeValueAsString(searchFilters);
+		} catch (JsonProcessingException e) {
+			throw new UncheckedIOException(e);
 		}
 	}
+
+	/**
+	 * Method loads the settings for sent in ranked ids and returns them, in ranked order, with calculated matching percent.
+	 * 
+	 * @param rankedSettings list of ranked setting ids and their matching percent
+	 * @return list of weighted feedback settings in the same order as the sent in list
+	 */
+	private List<WeightedFeedbackSetting> toRankedFeedbackSettings(List<RankedSetting> rankedSettings) {
+		Map<String, FeedbackSettingEntity> entities = new HashMap<>();
+		feedbackSettingsRepository.findAllById(rankedSettings.stream().map(RankedSetting::id).toList())
+			.forEach(entity -> entities.put(entity.getId(), entity));
+
+		return rankedSettings.stream()
+			.filter(rankedSetting -> entities.containsKey(rankedSetting.id()))
+			.map(rankedSetting -> toWeightedFeedbackSetting(entities.get(rankedSetting.id())).withMatchingPercent(rankedSetting.matchingPercent()))
+			.toList();
+	}
+
+	private static boolean isUniqueOwnerViolation(DataIntegrityViolationException e) {
+		return containsIgnoreCase(e.getMostSpecificCause().getMessage(), PERSON_ID_ORGANIZATION_ID_UNIQUE_CONSTRAINT);
+	}
+
+	private static String toAlreadyExistsMessage(String personId, String organizationId) {
+		return isNull(organizationId) ?
+			format(SETTINGS_ALREADY_EXISTS_FOR_PERSONID, personId) :
+			format(SETTINGS_ALREADY_EXISTS_FOR_ORGANIZATION_REPRESENTATIVE, personId, organizationId);
+	}
+
+	private static String toOwnerKey(String personId, String organizationId) {
+		// Ids are compared case insensitive, as in the database
+		return String.join("|", lowerCase(personId), lowerCase(organizationId));
+	}
+
+	private static String lowerCase(String value) {
+		return isNull(value) ? "" : value.toLowerCase(Locale.ROOT);
+	}
+
+	private static String toDetail(Set<? extends ConstraintViolation<?>> violations) {
+		return violations.stream()
+			.map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+			.sorted()
+			.collect(joining(", "));
+	}
+
+	private List<WeightedFeedbackSetting> toScoredFeedbackSettings(List<FeedbackFilter> searchFilters, List<FeedbackSettingEntity> entities) {
+		// Compile searchFilters once and calculate match percentage for the settings
+		List<WeightedFeedbackSetting> settings = searchMetrics.map(() -> toWeightedFeedbackSettings(entities));
+		SearchFilterMatcher searchFilterMatcher = SearchFilterMatcher.compile(searchFilters);
+		searchMetrics.score(() -> settings.forEach(searchFilterMatcher::calculateMatchPercentage));
+		searchMetrics.recordSearch(searchFilters, settings);
+
+		return settings.stream().sorted((o1, o2) -> o2.getMatchingPercent() - o1.getMatchingPercent()).toList();
+	}
+
+	private static String getLastId(List<FeedbackSettingEntity> entities) {
+		return entities.isEmpty() ? null : entities.get(entities.size() - 1).getId();
+	}
+
+	private static CreateFeedbackSettingResult toRejectedResult(int index, String detail) {
+		return CreateFeedbackSettingResult.create()
+			.withIndex(index)
+			.withStatus(BAD_REQUEST.getStatusCode())
+			.withDetail(detail);
+	}
+
+	private record RankedSetting(String id, int matchingPercent) {}
+
+	private record RankingFilter(String key, Set<String> values) {}
 }
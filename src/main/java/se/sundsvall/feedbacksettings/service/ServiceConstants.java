@@ -4,7 +4,10 @@ public class ServiceConstants {
 	
 	private ServiceConstants() {}
 	
+	static final String FEEDBACK_SETTINGS_CACHE = "feedbackSettings";
+	static final String SERVICE_TIMER = "feedbacksettings.service";
 	static final String SETTINGS_NOT_FOUND_FOR_ID = "No settings matching id '%s' were found";
+	static final String SETTINGS_MODIFIED_FOR_ID = "Settings matching id '%s' have been modified by another request";
 	static final String SETTINGS_ALREADY_EXISTS_FOR_PERSONID = "Settings already exist for personId '%s'";
 	static final String SETTINGS_ALREADY_EXISTS_FOR_ORGANIZATION_REPRESENTATIVE = "Settings already exist for personId '%s' representing organizationId '%s'";
 }
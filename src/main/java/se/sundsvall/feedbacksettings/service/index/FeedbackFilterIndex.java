@@ -0,0 +1,214 @@
+package se.sundsvall.feedbacksettings.service.index;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static java.util.Objects.isNull;
+import static java.util.Optional.ofNullable;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import se.sundsvall.feedbacksettings.api.model.FeedbackFilter;
+import se.sundsvall.feedbacksettings.integration.db.model.FeedbackFilterEmbeddable;
+import se.sundsvall.feedbacksettings.integration.db.model.FeedbackSettingEntity;
+
+/**
+ * In memory inverted index from normalized filter key and filter key/value combination to the ids of the feedback
+ * settings having them. The index is maintained when settings are created, updated and deleted by the service.
+ *
+ * As the index is local to each instance of the service, each indexed setting also holds the modification timestamp
+ * it was indexed with. Callers use {@link #isCurrent(String, OffsetDateTime)} to detect settings that are missing or
+ * has been modified elsewhere and need to be (re)indexed before the index is used for scoring.
+ *
+ * The index is only used for ranked search when enabled by property feedbacksettings.ranking.in-memory-index, otherwise
+ * ranked search is scored by the database and nothing is added to the index.
+ */
+@Component
+public class FeedbackFilterIndex {
+
+	private static final char TERM_SEPARATOR = '\u0000';
+
+	private final Map<String, IndexedSetting> indexedSettings = new ConcurrentHashMap<>();
+	private final Map<String, Set<String>> idsByKey = new ConcurrentHashMap<>();
+	private final Map<String, Set<String>> idsByTerm = new ConcurrentHashMap<>();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final boolean enabled;
+
+	public FeedbackFilterIndex(@Value("${feedbacksettings.ranking.in-memory-index:false}") boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * @return true if the index is enabled and shall be used for scoring ranked search, false otherwise
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Adds the filters of sent in entity to the index, replacing any previously indexed filters for the entity. Nothing
+	 * is indexed when the index is disabled.
+	 *
+	 * @param entity the feedback setting entity to index
+	 */
+	public void index(FeedbackSettingEntity entity) {
+		if (!isEnabled() || isNull(entity) || isNull(entity.getId())) {
+			return;
+		}
+
+		Set<String> keys = new HashSet<>();
+		Set<String> terms = new HashSet<>();
+		ofNullable(entity.getFeedbackFilters()).orElse(emptyList()).stream()
+			.filter(Objects::nonNull)
+			.forEach(filter -> {
+				keys.add(normalize(filter.getKey()));
+				terms.add(toTerm(filter));
+			});
+
+		lock.writeLock().lock();
+		try {
+			removeFromIndex(entity.getId());
+			keys.forEach(key -> idsByKey.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(entity.getId()));
+			terms.forEach(term -> idsByTerm.computeIfAbsent(term, t -> ConcurrentHashMap.newKeySet()).add(entity.getId()));
+			indexedSettings.put(entity.getId(), new IndexedSetting(entity.getModified(), keys, terms));
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes all indexed filters for the setting matching sent in id.
+	 *
+	 * @param id the id of the feedback setting to remove from the index
+	 */
+	public void remove(String id) {
+		if (isNull(id)) {
+			return;
+		}
+
+		lock.writeLock().lock();
+		try {
+			removeFromIndex(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void removeFromIndex(String id) {
+		IndexedSetting removed = indexedSettings.remove(id);
+		if (isNull(removed)) {
+			return;
+		}
+
+		removed.keys().forEach(key -> removeFromPostings(idsByKey, key, id));
+		removed.terms().forEach(term -> removeFromPostings(idsByTerm, term, id));
+	}
+
+	/**
+	 * Checks if the setting matching sent in id is indexed with the sent in modification timestamp.
+	 *
+	 * @param id       the id of the feedback setting
+	 * @param modified the current modification timestamp of the feedback setting
+	 * @return true if the setting is present in the index and was indexed with the same modification timestamp
+	 */
+	public boolean isCurrent(String id, OffsetDateTime modified) {
+		IndexedSetting indexedSetting = isNull(id) ? null : indexedSettings.get(id);
+		if (isNull(indexedSetting)) {
+			return false;
+		}
+		if (isNull(indexedSetting.modified()) || isNull(modified)) {
+			return isNull(indexedSetting.modified()) && isNull(modified);
+		}
+		return indexedSetting.modified().isEqual(modified);
+	}
+
+	/**
+	 * Counts, for the sent in setting ids, the number of search filters that each setting does not match. A setting
+	 * does not match a search filter if it has a filter with the same key but no value matching any of the values of the
+	 * search filter. Keys and values are compared case insensitive and search filters sharing the same key are merged.
+	 *
+	 * The count is calculated from the postings, i.e. for each search filter the holders of the key that are among the
+	 * sent in ids, minus the holders of any of the searched values. Settings not holding any of the searched keys are
+	 * never visited and are not present in the result, as they match all search filters.
+	 *
+	 * @param ids           the ids of the (indexed) feedback settings to count unmatched filters for
+	 * @param searchFilters the search filters sent in the request
+	 * @return map with setting id as key and number of unmatched search filters as value, for settings with at least one
+	 *         unmatched search filter
+	 */
+	public Map<String, Integer> countUnmatchedFilters(Collection<String> ids, List<FeedbackFilter> searchFilters) {
+		Set<String> candidates = new HashSet<>(ofNullable(ids).orElse(emptyList()));
+		Map<String, Integer> unmatchedFilters = new HashMap<>();
+
+		lock.readLock().lock();
+		try {
+			toValuesByKey(searchFilters).forEach((key, values) -> {
+				Set<String> keyHolders = idsByKey.getOrDefault(key, emptySet());
+				List<Set<String>> valueHolders = values.stream()
+					.map(value -> idsByTerm.get(toTerm(key, value)))
+					.filter(Objects::nonNull)
+					.toList();
+
+				// Only the smaller of the two sets is walked, the other one is used for lookups
+				Set<String> walked = keyHolders.size() < candidates.size() ? keyHolders : candidates;
+				Set<String> lookedUp = walked == keyHolders ? candidates : keyHolders;
+				walked.stream()
+					.filter(lookedUp::contains)
+					.filter(id -> valueHolders.stream().noneMatch(holders -> holders.contains(id)))
+					.forEach(id -> unmatchedFilters.merge(id, 1, Integer::sum));
+			});
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		return unmatchedFilters;
+	}
+
+	private static Map<String, Set<String>> toValuesByKey(List<FeedbackFilter> searchFilters) {
+		Map<String, Set<String>> valuesByKey = new HashMap<>();
+		ofNullable(searchFilters).orElse(emptyList()).stream()
+			.filter(Objects::nonNull)
+			.forEach(searchFilter -> {
+				Set<String> values = valuesByKey.computeIfAbsent(normalize(searchFilter.getKey()), key -> new HashSet<>());
+				ofNullable(searchFilter.getValues()).orElse(emptyList()).stream()
+					.filter(Objects::nonNull)
+					.map(FeedbackFilterIndex::normalize)
+					.forEach(values::add);
+			});
+		return valuesByKey;
+	}
+
+	private static void removeFromPostings(Map<String, Set<String>> postings, String posting, String id) {
+		postings.computeIfPresent(posting, (k, ids) -> {
+			ids.remove(id);
+			return ids.isEmpty() ? null : ids;
+		});
+	}
+
+	private static String toTerm(FeedbackFilterEmbeddable filter) {
+		return toTerm(normalize(filter.getKey()), normalize(filter.getValue()));
+	}
+
+	private static String toTerm(String normalizedKey, String normalizedValue) {
+		return normalizedKey + TERM_SEPARATOR + normalizedValue;
+	}
+
+	private static String normalize(String value) {
+		return isNull(value) ? "" : value.toLowerCase(Locale.ROOT);
+	}
+
+	private record IndexedSetting(OffsetDateTime modified, Set<String> keys, Set<String> terms) {}
+}
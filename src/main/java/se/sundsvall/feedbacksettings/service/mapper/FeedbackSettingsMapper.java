@@ -14,8 +14,8 @@ import static se.sundsvall.feedbacksettings.service.util.MappingUtils.getAddedFe
 import static se.sundsvall.feedbacksettings.service.util.MappingUtils.getRemovedFeedbackChannels;
 import static se.sundsvall.feedbacksettings.service.util.MappingUtils.getRemovedFeedbackFilters;
 
-import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -41,7 +41,7 @@ import se.sundsvall.feedbacksettings.integration.db.model.FeedbackSettingEntity;
 public class FeedbackSettingsMapper {
 
 	private static final String X_FILTER_PREFIX = "x-filter-";
-	private static final String[] IGNORED_PATHS = { "id", "feedbackFilters", "feedbackChannels", "created", "modified" };
+	private static final String[] IGNORED_PATHS = { "id", "organizationKey", "feedbackFilters", "feedbackChannels", "created", "modified", "version" };
 	private static final int DEFAULT_MATCHING_PERCENT = 100;
 
 	private FeedbackSettingsMapper() {}
@@ -96,7 +96,8 @@ public class FeedbackSettingsMapper {
 			.withFilters(toFeedbackFilters(entity.getFeedbackFilters()))
 			.withChannels(toFeedbackChannels(entity.getFeedbackChannels()))
 			.withCreated(entity.getCreated())
-			.withModified(entity.getModified());
+			.withModified(entity.getModified())
+			.withVersion(entity.getVersion());
 	}
 
 	private static List<FeedbackFilter> toFeedbackFilters(List<FeedbackFilterEmbeddable> feedbackSettingsFiltersEmbeddables) {
@@ -151,47 +152,64 @@ public class FeedbackSettingsMapper {
 			.toList();
 	}
 
-	public static void mergeFeedbackSettings(FeedbackSettingEntity entity, UpdateFeedbackSettingRequest feedbackSetting) {
+	/**
+	 * Method for merging requested channels and filters into the entity. Only elements that differ (case insensitive) from
+	 * the elements of the entity are added or removed, and the modified timestamp is only updated when something has
+	 * changed.
+	 * 
+	 * @param entity          the entity to merge changes into
+	 * @param feedbackSetting the requested changes
+	 * @return true if the entity was changed, false if the request matches the current content of the entity
+	 */
+	public static boolean mergeFeedbackSettings(FeedbackSettingEntity entity, UpdateFeedbackSettingRequest feedbackSetting) {
 		if (nonNull(feedbackSetting)) {
-			mergeFeedbackChannels(entity, feedbackSetting.getChannels());
-			mergeFeedbackFilters(entity, feedbackSetting.getFilters());
+			boolean channelsChanged = mergeFeedbackChannels(entity, feedbackSetting.getChannels());
+			boolean filtersChanged = mergeFeedbackFilters(entity, feedbackSetting.getFilters());
+			return channelsChanged || filtersChanged;
 		}
+		return false;
 	}
 
-	private static void mergeFeedbackChannels(FeedbackSettingEntity entity, List<RequestedFeedbackChannel> feedbackChannels) {
+	private static boolean mergeFeedbackChannels(FeedbackSettingEntity entity, List<RequestedFeedbackChannel> feedbackChannels) {
 		if (nonNull(feedbackChannels)) {
 			List<FeedbackChannelEmbeddable> requestedChannelEntities = toFeedbackChannelEmbeddables(feedbackChannels);
+			List<FeedbackChannelEmbeddable> removedChannelEntities = getRemovedFeedbackChannels(entity, requestedChannelEntities);
+			List<FeedbackChannelEmbeddable> addedChannelEntities = getAddedFeedbackChannels(entity, requestedChannelEntities);
 
-			// Save current channels before modification
-			List<FeedbackChannelEmbeddable> oldChannelEntities = new ArrayList<>(entity.getFeedbackChannels());
-
-			entity.getFeedbackChannels().addAll(getAddedFeedbackChannels(entity, requestedChannelEntities));
-			entity.getFeedbackChannels().removeAll(getRemovedFeedbackChannels(entity, requestedChannelEntities));
+			// Only removed and added elements are touched, which makes Hibernate delete and insert just the affected rows
+			// (removed elements are passed as a set to avoid a nested scan of the list when removing them)
+			entity.getFeedbackChannels().removeAll(new HashSet<>(removedChannelEntities));
+			entity.getFeedbackChannels().addAll(addedChannelEntities);
 
-			// Compare old and new list and if they differ, call preUpdate as Hibernate has an open bug regarding @preUpdate doesn't
-			// get triggered when collections are updated
-			if (!oldChannelEntities.equals(entity.getFeedbackChannels())) {
+			// Call preUpdate if channels have changed as Hibernate has an open bug regarding @preUpdate doesn't get triggered
+			// when collections are updated
+			if (!removedChannelEntities.isEmpty() || !addedChannelEntities.isEmpty()) {
 				entity.preUpdate();
+				return true;
 			}
 		}
+		return false;
 	}
 
-	private static void mergeFeedbackFilters(FeedbackSettingEntity entity, List<RequestedFeedbackFilter> filters) {
+	private static boolean mergeFeedbackFilters(FeedbackSettingEntity entity, List<RequestedFeedbackFilter> filters) {
 		if (nonNull(filters)) {
 			List<FeedbackFilterEmbeddable> requestedFilterEntities = toFeedbackFilterEmbeddables(filters);
+			List<FeedbackFilterEmbeddable> removedFilterEntities = getRemovedFeedbackFilters(entity, requestedFilterEntities);
+			List<FeedbackFilterEmbeddable> addedFilterEntities = getAddedFeedbackFilters(entity, requestedFilterEntities);
 
-			// Save current filters before modification
-			List<FeedbackFilterEmbeddable> oldFilterEntities = new ArrayList<>(entity.getFeedbackFilters());
-
-			entity.getFeedbackFilters().addAll(getAddedFeedbackFilters(entity, requestedFilterEntities));
-			entity.getFeedbackFilters().removeAll(getRemovedFeedbackFilters(entity, requestedFilterEntities));
+			// Only removed and added elements are touched, which makes Hibernate delete and insert just the affected rows
+			// (removed elements are passed as a set to avoid a nested scan of the list when removing them)
+			entity.getFeedbackFilters().removeAll(new HashSet<>(removedFilterEntities));
+			entity.getFeedbackFilters().addAll(addedFilterEntities);
 
-			// Compare old and new list and if they differ, call preUpdate as Hibernate has an open bug regarding @preUpdate doesn't
-			// get triggered when collections are updated
-			if (!oldFilterEntities.equals(entity.getFeedbackFilters())) {
+			// Call preUpdate if filters have changed as Hibernate has an open bug regarding @preUpdate doesn't get triggered
+			// when collections are updated
+			if (!removedFilterEntities.isEmpty() || !addedFilterEntities.isEmpty()) {
 				entity.preUpdate();
+				return true;
 			}
 		}
+		return false;
 	}
 
 	public static List<FeedbackFilter> toFeedbackFilters(HttpHeaders headers) {
@@ -0,0 +1,21 @@
+package se.sundsvall.feedbacksettings.service.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registers the aspect that records timers for methods annotated with {@link io.micrometer.core.annotation.Timed}.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+	@Bean
+	@ConditionalOnMissingBean
+	TimedAspect timedAspect(MeterRegistry meterRegistry) {
+		return new TimedAspect(meterRegistry);
+	}
+}
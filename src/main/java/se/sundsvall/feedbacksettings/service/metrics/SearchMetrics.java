@@ -0,0 +1,107 @@
+package se.sundsvall.feedbacksettings.service.metrics;
+
+import static java.util.Collections.emptyList;
+import static java.util.Optional.ofNullable;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import se.sundsvall.feedbacksettings.api.model.FeedbackFilter;
+import se.sundsvall.feedbacksettings.api.model.WeightedFeedbackSetting;
+
+/**
+ * Meters for the steps of a search, exposed through the actuator metrics endpoint. Mapping of entities to weighted
+ * settings and scoring of the settings against the search filters are timed separately, and the amount of search
+ * filters, the amount of returned settings and the matching percent of each returned setting are recorded as
+ * distribution summaries. All meters publish percentile histograms.
+ */
+@Component
+public class SearchMetrics {
+
+	static final String MAPPING_TIMER = "feedbacksettings.search.mapping";
+	static final String SCORING_TIMER = "feedbacksettings.search.scoring";
+	static final String FILTERS_SUMMARY = "feedbacksettings.search.filters";
+	static final String RESULTS_SUMMARY = "feedbacksettings.search.results";
+	static final String MATCHING_PERCENT_SUMMARY = "feedbacksettings.search.matching.percent";
+
+	private final Timer mappingTimer;
+	private final Timer scoringTimer;
+	private final DistributionSummary filtersSummary;
+	private final DistributionSummary resultsSummary;
+	private final DistributionSummary matchingPercentSummary;
+
+	public SearchMetrics(MeterRegistry meterRegistry) {
+		mappingTimer = Timer.builder(MAPPING_TIMER)
+			.description("Time spent mapping feedback setting entities to weighted feedback settings")
+			.publishPercentileHistogram()
+			.register(meterRegistry);
+		scoringTimer = Timer.builder(SCORING_TIMER)
+			.description("Time spent calculating matching percent for feedback settings")
+			.publishPercentileHistogram()
+			.register(meterRegistry);
+		filtersSummary = DistributionSummary.builder(FILTERS_SUMMARY)
+			.description("Amount of search filters per search")
+			.baseUnit("filters")
+			.publishPercentileHistogram()
+			.register(meterRegistry);
+		resultsSummary = DistributionSummary.builder(RESULTS_SUMMARY)
+			.description("Amount of feedback settings returned per search")
+			.baseUnit("settings")
+			.publishPercentileHistogram()
+			.register(meterRegistry);
+		matchingPercentSummary = DistributionSummary.builder(MATCHING_PERCENT_SUMMARY)
+			.description("Matching percent of returned feedback settings")
+			.baseUnit("percent")
+			.publishPercentileHistogram()
+			.minimumExpectedValue(1.0)
+			.maximumExpectedValue(100.0)
+			.register(meterRegistry);
+	}
+
+	/**
+	 * Executes and times sent in mapping step.
+	 *
+	 * @param mapping the mapping to execute
+	 * @return the result of the mapping
+	 */
+	public List<WeightedFeedbackSetting> map(Supplier<List<WeightedFeedbackSetting>> mapping) {
+		return mappingTimer.record(mapping);
+	}
+
+	/**
+	 * Executes and times sent in scoring step.
+	 *
+	 * @param scoring the scoring to execute
+	 */
+	public void score(Runnable scoring) {
+		scoringTimer.record(scoring);
+	}
+
+	/**
+	 * Executes and times sent in scoring step, for scoring that produces a result.
+	 *
+	 * @param <T>     the type of the scoring result
+	 * @param scoring the scoring to execute
+	 * @return the result of the scoring
+	 */
+	public <T> T scoreAndGet(Supplier<T> scoring) {
+		return scoringTimer.record(scoring);
+	}
+
+	/**
+	 * Records amount of search filters, amount of returned settings and matching percent for each returned setting.
+	 *
+	 * @param searchFilters the search filters of the search
+	 * @param settings      the settings returned by the search
+	 */
+	public void recordSearch(List<FeedbackFilter> searchFilters, List<WeightedFeedbackSetting> settings) {
+		filtersSummary.record(ofNullable(searchFilters).orElse(emptyList()).size());
+		resultsSummary.record(settings.size());
+		settings.forEach(setting -> matchingPercentSummary.record(setting.getMatchingPercent()));
+	}
+}
@@ -1,11 +1,8 @@
 package se.sundsvall.feedbacksettings.service.util;
 
-import static java.util.Collections.emptyList;
 import static java.util.Objects.isNull;
-import static java.util.Optional.ofNullable;
 
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import se.sundsvall.feedbacksettings.api.model.FeedbackFilter;
 import se.sundsvall.feedbacksettings.api.model.WeightedFeedbackSetting;
@@ -39,6 +36,10 @@ public class CalculationUtils {
 	 * - After all incoming search filters have been processed, the feedback setting is updated with the calculated matching percent
 	 * </pre>
 	 * 
+	 * Search filters sharing the same key are merged into one filter. When calculating matching percentage for several
+	 * settings, compile the search filters once using {@link SearchFilterMatcher#compile(List)} and use the matcher for
+	 * each setting instead of calling this method.
+	 * 
 	 * @param searchFilters containing filters, to base match percent on, sent in the request
 	 * @param setting       matching the orgainizataionId/personId parameters sent in the request
 	 */
@@ -47,27 +48,37 @@ public class CalculationUtils {
 			return;
 		}
 
-		// Match always starts with 1 as there is always a match on combination of sent in personId/organizationId
-		AtomicInteger matchingFilters = new AtomicInteger(1);
-
-		// Check each search filter against filters of the setting and increase filterMatches counter when matching
-		searchFilters.stream().forEach(searchFilter -> matchingFilters.addAndGet(matchesFilterForSetting(searchFilter, setting) ? 1 : 0));
-
-		// Calculate matching percent
-		setting.setMatchingPercent(Math.round(matchingFilters.floatValue() / (searchFilters.size() + 1) * PERCENTS_100));
+		SearchFilterMatcher.compile(searchFilters).calculateMatchPercentage(setting);
 	}
 
-	private static boolean matchesFilterForSetting(FeedbackFilter incomingFilter, WeightedFeedbackSetting setting) {
-		boolean settingLacksFilter = ofNullable(setting.getFilters()).orElse(emptyList()).stream()
-			.noneMatch(filter -> incomingFilter.getKey().equalsIgnoreCase(filter.getKey()));
-
-		return settingLacksFilter || ofNullable(setting.getFilters()).orElse(emptyList()).stream()
-			.filter(filter -> incomingFilter.getKey().equalsIgnoreCase(filter.getKey()))
-			.anyMatch(filter -> matchesFilterValue(incomingFilter.getValues(), filter.getValues()));
+	/**
+	 * Utility method for calculating matching percentage based on the number of incoming search filters and the number
+	 * of those that are matched by a feedback setting. The mandatory match on combination of organizationId/personId is
+	 * included in the calculation, hence the percentage is 100 when no search filters are present.
+	 * 
+	 * @param matchingFilters   number of matching filters, including the mandatory orgId/persId-filter
+	 * @param searchFilterCount number of incoming search filters
+	 * @return calculated matching percent
+	 */
+	public static int toMatchingPercent(int matchingFilters, int searchFilterCount) {
+		return Math.round((float) matchingFilters / (searchFilterCount + 1) * PERCENTS_100);
 	}
 
-	private static boolean matchesFilterValue(List<String> settingsFilterValues, List<String> requestedFilterValues) {
-		return settingsFilterValues.stream()
-			.anyMatch(settingsFilterValue -> requestedFilterValues.stream().anyMatch(settingsFilterValue::equalsIgnoreCase));
+	/**
+	 * Utility method for calculating the largest number of unmatched search filters a feedback setting can have and still
+	 * reach sent in minimum matching percent. The calculation uses {@link #toMatchingPercent(int, int)}, hence the result
+	 * is consistent with the matching percent returned for the setting. As the mandatory match on combination of
+	 * organizationId/personId is always present, a setting without unmatched filters always reaches the minimum.
+	 * 
+	 * @param searchFilterCount  number of incoming search filters
+	 * @param minMatchingPercent minimum matching percent
+	 * @return largest number of unmatched search filters that gives a matching percent of at least minMatchingPercent
+	 */
+	public static int toMaxUnmatchedFilters(int searchFilterCount, int minMatchingPercent) {
+		int unmatchedFilters = searchFilterCount;
+		while (unmatchedFilters > 0 && toMatchingPercent(searchFilterCount - unmatchedFilters + 1, searchFilterCount) < minMatchingPercent) {
+			unmatchedFilters--;
+		}
+		return unmatchedFilters;
 	}
 }
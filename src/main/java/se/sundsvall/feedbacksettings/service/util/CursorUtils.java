@@ -0,0 +1,65 @@
+package se.sundsvall.feedbacksettings.service.util;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.isNull;
+import static org.zalando.problem.Status.BAD_REQUEST;
+
+import java.util.Base64;
+import java.util.UUID;
+
+import org.zalando.problem.Problem;
+
+public class CursorUtils {
+
+	private static final String INVALID_CURSOR = "Cursor '%s' is not valid";
+
+	private CursorUtils() {}
+
+	/**
+	 * Utility method for converting the id of the last setting on a page to an opaque cursor that can be used to fetch
+	 * the page following it.
+	 * 
+	 * @param id id of the last setting on the current page
+	 * @return url safe cursor pointing to the position after sent in id, or null if id is null
+	 */
+	public static String toCursor(String id) {
+		if (isNull(id)) {
+			return null;
+		}
+
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(id.getBytes(UTF_8));
+	}
+
+	/**
+	 * Utility method for converting a cursor, previously created by {@link #toCursor(String)}, back to the id it points
+	 * after.
+	 * 
+	 * @param cursor cursor to decode
+	 * @return id of the last setting on the page preceding the cursor
+	 * @throws org.zalando.problem.ThrowableProblem with status BAD_REQUEST if cursor is not decodable to a valid id
+	 */
+	public static String fromCursor(String cursor) {
+		String id = decode(cursor);
+		if (isNull(id)) {
+			throw Problem.valueOf(BAD_REQUEST, format(INVALID_CURSOR, cursor));
+		}
+
+		return id;
+	}
+
+	private static String decode(String cursor) {
+		if (isNull(cursor)) {
+			return null;
+		}
+
+		try {
+			// Ids are stored as binary UUIDs, hence the decoded id must be a valid UUID
+			String id = new String(Base64.getUrlDecoder().decode(cursor), UTF_8);
+			UUID.fromString(id);
+			return id;
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+}
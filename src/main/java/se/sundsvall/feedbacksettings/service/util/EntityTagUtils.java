@@ -0,0 +1,77 @@
+package se.sundsvall.feedbacksettings.service.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.isNull;
+import static java.util.Optional.ofNullable;
+import static org.apache.commons.lang3.StringUtils.removeStart;
+import static org.springframework.util.DigestUtils.md5DigestAsHex;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public class EntityTagUtils {
+
+	private static final String ANY = "*";
+	private static final String WEAK_PREFIX = "W/";
+
+	private EntityTagUtils() {}
+
+	/**
+	 * Utility method for creating a strong entity tag for a feedback setting. The tag is derived from the id and the
+	 * version of the setting, hence it changes each time the setting is modified (also when modified several times within
+	 * the precision of the modification timestamp).
+	 *
+	 * @param id      id of the feedback setting
+	 * @param version version of the feedback setting
+	 * @return quoted entity tag for the feedback setting
+	 */
+	public static String toEntityTag(String id, Long version) {
+		return "\"" + md5DigestAsHex((id + ":" + version).getBytes(UTF_8)) + "\"";
+	}
+
+	/**
+	 * Utility method for getting timestamp for last modification of a feedback setting, i.e. timestamp for latest update
+	 * or (for a setting that has never been updated) timestamp for creation.
+	 *
+	 * @param created  timestamp for creation of the feedback setting
+	 * @param modified timestamp for latest update of the feedback setting (or null)
+	 * @return timestamp for last modification of the feedback setting
+	 */
+	public static OffsetDateTime toLastModified(OffsetDateTime created, OffsetDateTime modified) {
+		return ofNullable(modified).orElse(created);
+	}
+
+	/**
+	 * Utility method for evaluating an If-Match precondition, using strong comparison (RFC 7232), i.e. weak entity tags
+	 * never match.
+	 *
+	 * @param entityTags entity tags sent in header If-Match
+	 * @param entityTag  current entity tag of the resource
+	 * @return true if any of sent in entity tags is "*" or equal to current entity tag, false otherwise
+	 */
+	public static boolean matchesStrong(List<String> entityTags, String entityTag) {
+		if (isNull(entityTags)) {
+			return false;
+		}
+
+		return entityTags.stream()
+			.anyMatch(value -> ANY.equals(value) || entityTag.equals(value));
+	}
+
+	/**
+	 * Utility method for evaluating an If-None-Match precondition, using weak comparison (RFC 7232), i.e. entity tags are
+	 * compared without their weak indicator.
+	 *
+	 * @param entityTags entity tags sent in header If-None-Match
+	 * @param entityTag  current entity tag of the resource
+	 * @return true if any of sent in entity tags is "*" or equal to current entity tag, false otherwise
+	 */
+	public static boolean matchesWeak(List<String> entityTags, String entityTag) {
+		if (isNull(entityTags)) {
+			return false;
+		}
+
+		return entityTags.stream()
+			.anyMatch(value -> ANY.equals(value) || removeStart(entityTag, WEAK_PREFIX).equals(removeStart(value, WEAK_PREFIX)));
+	}
+}
@@ -3,15 +3,24 @@ package se.sundsvall.feedbacksettings.service.util;
 import static java.util.Collections.emptyList;
 import static java.util.Objects.isNull;
 import static java.util.Optional.ofNullable;
-import static org.apache.commons.lang3.StringUtils.equalsIgnoreCase;
+import static java.util.stream.Collectors.toSet;
+import static org.apache.commons.lang3.StringUtils.lowerCase;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 
+import se.sundsvall.feedbacksettings.ContactMethod;
 import se.sundsvall.feedbacksettings.integration.db.model.FeedbackChannelEmbeddable;
 import se.sundsvall.feedbacksettings.integration.db.model.FeedbackFilterEmbeddable;
 import se.sundsvall.feedbacksettings.integration.db.model.FeedbackSettingEntity;
 
+/**
+ * Utility methods for calculating changes to the feedback channels and filters of a setting. Elements are compared case
+ * insensitive by a key built once per element and looked up in a hash set, i.e. the changes are calculated in time
+ * linear to the number of elements.
+ */
 public class MappingUtils {
 	
 	private MappingUtils() {}
@@ -37,8 +46,9 @@ public class MappingUtils {
 		if (isNull(newFeedbackChannels)) {
 			return emptyList();
 		}
+		Set<ChannelKey> newKeys = toChannelKeys(newFeedbackChannels);
 		return ofNullable(oldSettingsEntity.getFeedbackChannels()).orElse(emptyList()).stream()
-			.filter(oldEntity -> !existsInList(oldEntity, newFeedbackChannels))
+			.filter(oldEntity -> !newKeys.contains(toChannelKey(oldEntity)))
 			.toList();
 	}
 
@@ -65,18 +75,20 @@ public class MappingUtils {
 		if (isNull(newFeedbackChannels)) {
 			return emptyList();
 		}
+		Set<ChannelKey> oldKeys = toChannelKeys(oldSettingsEntity.getFeedbackChannels());
 		return newFeedbackChannels.stream()
-			.filter(newEntity -> !existsInList(newEntity, oldSettingsEntity.getFeedbackChannels()))
+			.filter(newEntity -> !oldKeys.contains(toChannelKey(newEntity)))
 			.toList();
 	}
 
-	private static boolean existsInList(FeedbackChannelEmbeddable objectToCheck, List<FeedbackChannelEmbeddable> list) {
-		return ofNullable(list).orElse(emptyList()).stream()
-			.anyMatch(entity -> 
-					equalsIgnoreCase(entity.getAlias(), objectToCheck.getAlias()) &&
-					equalsIgnoreCase(entity.getDestination(), objectToCheck.getDestination()) &&
-					entity.getContactMethod() == objectToCheck.getContactMethod() && 
-					entity.isSendFeedback() == objectToCheck.isSendFeedback());
+	private static Set<ChannelKey> toChannelKeys(List<FeedbackChannelEmbeddable> channels) {
+		return channels.stream()
+			.map(MappingUtils::toChannelKey)
+			.collect(toSet());
+	}
+
+	private static ChannelKey toChannelKey(FeedbackChannelEmbeddable channel) {
+		return new ChannelKey(lowerCase(channel.getAlias(), Locale.ROOT), lowerCase(channel.getDestination(), Locale.ROOT), channel.getContactMethod(), channel.isSendFeedback());
 	}
 	
 	/**
@@ -100,8 +112,9 @@ public class MappingUtils {
 		if (isNull(newFeedbackFilters)) {
 			return emptyList();
 		}
+		Set<FilterKey> newKeys = toFilterKeys(newFeedbackFilters);
 		return ofNullable(oldSettingsEntity.getFeedbackFilters()).orElse(emptyList()).stream()
-			.filter(oldEntity -> !existsInList(oldEntity, newFeedbackFilters))
+			.filter(oldEntity -> !newKeys.contains(toFilterKey(oldEntity)))
 			.toList();
 	}
 
@@ -128,15 +141,23 @@ public class MappingUtils {
 		if (isNull(newFeedbackFilters)) {
 			return emptyList();
 		}
+		Set<FilterKey> oldKeys = toFilterKeys(oldSettingsEntity.getFeedbackFilters());
 		return newFeedbackFilters.stream()
-			.filter(newEntity -> !existsInList(newEntity, oldSettingsEntity.getFeedbackFilters()))
+			.filter(newEntity -> !oldKeys.contains(toFilterKey(newEntity)))
 			.toList();
 	}
 
-	private static boolean existsInList(FeedbackFilterEmbeddable objectToCheck, List<FeedbackFilterEmbeddable> list) {
-		return ofNullable(list).orElse(emptyList()).stream()
-			.anyMatch(entity -> 
-					equalsIgnoreCase(entity.getKey(), objectToCheck.getKey()) &&
-					equalsIgnoreCase(entity.getValue(), objectToCheck.getValue()));
+	private static Set<FilterKey> toFilterKeys(List<FeedbackFilterEmbeddable> filters) {
+		return filters.stream()
+			.map(MappingUtils::toFilterKey)
+			.collect(toSet());
+	}
+
+	private static FilterKey toFilterKey(FeedbackFilterEmbeddable filter) {
+		return new FilterKey(lowerCase(filter.getKey(), Locale.ROOT), lowerCase(filter.getValue(), Locale.ROOT));
 	}
+
+	private record ChannelKey(String alias, String destination, ContactMethod contactMethod, boolean sendFeedback) {}
+
+	private record FilterKey(String key, String value) {}
 }
@@ -0,0 +1,129 @@
+package se.sundsvall.feedbacksettings.service.util;
+
+import static java.util.Collections.emptyList;
+import static java.util.Objects.isNull;
+import static java.util.Optional.ofNullable;
+import static se.sundsvall.feedbacksettings.service.util.CalculationUtils.toMatchingPercent;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import se.sundsvall.feedbacksettings.api.model.FeedbackFilter;
+import se.sundsvall.feedbacksettings.api.model.WeightedFeedbackSetting;
+
+/**
+ * Search filters compiled into a case folded lookup structure (filter key to set of filter values), which is created
+ * once per request and then used for scoring each feedback setting in one pass over the filters of the setting. The
+ * scoring follows the rules described in {@link CalculationUtils#calculateMatchPercentage(List, WeightedFeedbackSetting)}.
+ *
+ * Keys are folded to upper case, as that is how keys are stored on the feedback settings, and values are folded to
+ * lower case. Hence no new strings are allocated when scoring settings with values already stored in lower case.
+ */
+public class SearchFilterMatcher {
+
+	private final Map<String, Set<String>> valuesByKey;
+
+	private SearchFilterMatcher(Map<String, Set<String>> valuesByKey) {
+		this.valuesByKey = valuesByKey;
+	}
+
+	/**
+	 * Compiles sent in search filters into a matcher. Values for search filters sharing the same key are merged.
+	 *
+	 * @param searchFilters the search filters sent in the request
+	 * @return a matcher for the search filters
+	 */
+	public static SearchFilterMatcher compile(List<FeedbackFilter> searchFilters) {
+		Map<String, Set<String>> valuesByKey = new HashMap<>();
+
+		ofNullable(searchFilters).orElse(emptyList()).stream()
+			.filter(Objects::nonNull)
+			.forEach(searchFilter -> {
+				Set<String> values = valuesByKey.computeIfAbsent(foldKey(searchFilter.getKey()), key -> new HashSet<>());
+				ofNullable(searchFilter.getValues()).orElse(emptyList()).stream()
+					.filter(Objects::nonNull)
+					.map(SearchFilterMatcher::foldValue)
+					.forEach(values::add);
+			});
+
+		return new SearchFilterMatcher(valuesByKey);
+	}
+
+	/**
+	 * @return number of (distinct) search filters in the matcher
+	 */
+	public int size() {
+		return valuesByKey.size();
+	}
+
+	/**
+	 * @return the compiled search filters, as an unmodifiable map from folded key to set of folded values
+	 */
+	public Map<String, Set<String>> getValuesByKey() {
+		return Collections.unmodifiableMap(valuesByKey);
+	}
+
+	/**
+	 * Calculates and sets matching percent on sent in setting.
+	 *
+	 * @param setting the feedback setting to calculate matching percent for
+	 */
+	public void calculateMatchPercentage(WeightedFeedbackSetting setting) {
+		// Match always starts with 1 as there is always a match on combination of sent in personId/organizationId
+		int matchingFilters = 1 + (valuesByKey.isEmpty() ? 0 : countMatchingFilters(setting.getFilters()));
+
+		setting.setMatchingPercent(toMatchingPercent(matchingFilters, valuesByKey.size()));
+	}
+
+	/**
+	 * Counts the number of search filters that are matched by sent in filters of a feedback setting. Every search filter
+	 * is considered a match, except those where the setting has a filter with the same key but no value matching any of
+	 * the search filter values. The filters of the setting are expected to be grouped by key, i.e. each key is only
+	 * present once.
+	 *
+	 * @param settingFilters the filters of the feedback setting
+	 * @return number of matching search filters
+	 */
+	public int countMatchingFilters(List<FeedbackFilter> settingFilters) {
+		int unmatchedFilters = 0;
+
+		if (!isNull(settingFilters)) {
+			for (int i = 0; i < settingFilters.size(); i++) {
+				FeedbackFilter settingFilter = settingFilters.get(i);
+				Set<String> searchValues = isNull(settingFilter) ? null : valuesByKey.get(foldKey(settingFilter.getKey()));
+				if (!isNull(searchValues) && !containsAny(searchValues, settingFilter.getValues())) {
+					unmatchedFilters++;
+				}
+			}
+		}
+
+		return valuesByKey.size() - unmatchedFilters;
+	}
+
+	private static boolean containsAny(Set<String> searchValues, List<String> settingValues) {
+		if (isNull(settingValues)) {
+			return false;
+		}
+		for (int i = 0; i < settingValues.size(); i++) {
+			String settingValue = settingValues.get(i);
+			if (!isNull(settingValue) && searchValues.contains(foldValue(settingValue))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String foldKey(String key) {
+		return isNull(key) ? null : key.toUpperCase(Locale.ROOT);
+	}
+
+	private static String foldValue(String value) {
+		return value.toLowerCase(Locale.ROOT);
+	}
+}
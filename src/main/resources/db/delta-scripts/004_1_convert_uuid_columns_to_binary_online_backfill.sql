@@ -0,0 +1,52 @@
+-- Conversion of UUID columns from varchar(255) to binary(16), part 1 of 2. The migration is done in two scripts:
+--
+-- 004_1 (this script) adds binary columns alongside the existing varchar columns and populates them in chunks of
+--       settings. The script can be executed while the service is running.
+-- 004_2 populates rows created or modified after 004_1 and replaces the varchar columns with the binary columns. The
+--       script must be executed while the service is stopped.
+--
+-- The script only contains plain statements (no stored procedure or DELIMITER) and can be executed with any client.
+
+-- Add binary columns
+    alter table feedback_settings
+       add column id_bin binary(16),
+       add column person_id_bin binary(16),
+       add column organization_id_bin binary(16);
+
+    alter table feedback_filters
+       add column setting_id_bin binary(16);
+
+    alter table feedback_channels
+       add column setting_id_bin binary(16);
+
+-- Populate binary columns in chunks, ordered by id to make use of the primary key (and the unique constraints starting
+-- with setting_id for filters and channels). Each statement is committed separately (autocommit) to keep locks and
+-- undo logs small. The chunk below populates the next 10000 settings and must be executed repeatedly, in the same
+-- session, until last_populated_id is returned as null.
+set @last_id = '';
+
+    select max(chunk.id) into @next_id
+      from (select id from feedback_settings where id > @last_id order by id limit 10000) chunk;
+
+    update feedback_settings
+       set id_bin = unhex(replace(id, '-', '')),
+           person_id_bin = unhex(replace(person_id, '-', '')),
+           organization_id_bin = unhex(replace(organization_id, '-', ''))
+     where id > @last_id and id <= @next_id;
+
+    update feedback_filters
+       set setting_id_bin = unhex(replace(setting_id, '-', ''))
+     where setting_id > @last_id and setting_id <= @next_id;
+
+    update feedback_channels
+       set setting_id_bin = unhex(replace(setting_id, '-', ''))
+     where setting_id > @last_id and setting_id <= @next_id;
+
+set @last_id = coalesce(@next_id, @last_id);
+
+select @next_id as last_populated_id;
+-- End of chunk
+
+
+-- Necessary line in order to document the change.
+insert into schema_history (schema_version,comment,applied) VALUES ('004_1','Added and populated binary(16) columns for UUID columns', NOW());
@@ -0,0 +1,74 @@
+-- Conversion of UUID columns from varchar(255) to binary(16), part 2 of 2. Script 004_1 must have been executed before
+-- this script, which must be executed while the service is stopped.
+
+-- Populate rows created or modified after 004_1 and replace varchar columns with binary columns
+    update feedback_settings
+       set id_bin = unhex(replace(id, '-', '')),
+           person_id_bin = unhex(replace(person_id, '-', '')),
+           organization_id_bin = unhex(replace(organization_id, '-', ''))
+     where id_bin is null
+        or person_id_bin <> unhex(replace(person_id, '-', ''))
+        or not (organization_id_bin <=> unhex(replace(organization_id, '-', '')));
+
+    update feedback_filters
+       set setting_id_bin = unhex(replace(setting_id, '-', ''))
+     where setting_id_bin is null;
+
+    update feedback_channels
+       set setting_id_bin = unhex(replace(setting_id, '-', ''))
+     where setting_id_bin is null;
+
+    alter table feedback_filters
+       drop foreign key fk_feedback_filters_feedback_settings;
+
+    alter table feedback_channels
+       drop foreign key fk_feedback_channels_feedback_settings;
+
+    alter table feedback_filters
+       drop index feedback_filters_unique_combinations_constraint,
+       drop column setting_id;
+
+    alter table feedback_filters
+       change column setting_id_bin setting_id binary(16) not null first,
+       add constraint feedback_filters_unique_combinations_constraint unique (setting_id, `key`, value);
+
+    alter table feedback_channels
+       drop index feedback_channels_unique_combinations_constraint,
+       drop column setting_id;
+
+    alter table feedback_channels
+       change column setting_id_bin setting_id binary(16) not null first,
+       add constraint feedback_channels_unique_combinations_constraint unique (setting_id, contact_method, destination);
+
+    alter table feedback_settings
+       drop primary key,
+       drop index feedback_settings_person_id_organization_id_unique_constraint,
+       drop index feedback_settings_organization_id_index,
+       drop index feedback_settings_person_id_index,
+       drop column id,
+       drop column person_id,
+       drop column organization_id;
+
+    alter table feedback_settings
+       change column id_bin id binary(16) not null first,
+       change column person_id_bin person_id binary(16) not null,
+       change column organization_id_bin organization_id binary(16),
+       add primary key (id),
+       add constraint feedback_settings_person_id_organization_id_unique_constraint unique (person_id, organization_id);
+
+create index feedback_settings_organization_id_index on feedback_settings (organization_id);
+create index feedback_settings_person_id_index on feedback_settings (person_id);
+
+    alter table feedback_filters
+       add constraint fk_feedback_filters_feedback_settings
+       foreign key (setting_id)
+       references feedback_settings (id);
+
+    alter table feedback_channels
+       add constraint fk_feedback_channels_feedback_settings
+       foreign key (setting_id)
+       references feedback_settings (id);
+
+
+-- Necessary line in order to document the change.
+insert into schema_history (schema_version,comment,applied) VALUES ('004_2','Converted UUID columns to binary(16)', NOW());
@@ -0,0 +1,27 @@
+-- Add id column to feedback_filters and feedback_channels tables, making it possible to insert and delete single rows
+-- when the filters or channels of a setting are changed (instead of deleting and re-inserting all rows for the setting)
+    alter table feedback_filters
+       add column id binary(16);
+
+    alter table feedback_channels
+       add column id binary(16);
+
+-- Populate id column for existing rows
+    update feedback_filters
+       set id = unhex(replace(uuid(), '-', ''));
+
+    update feedback_channels
+       set id = unhex(replace(uuid(), '-', ''));
+
+-- Make id column primary key
+    alter table feedback_filters
+       modify column id binary(16) not null,
+       add primary key (id);
+
+    alter table feedback_channels
+       modify column id binary(16) not null,
+       add primary key (id);
+
+
+-- Necessary line in order to document the change.
+insert into schema_history (schema_version,comment,applied) VALUES ('005','Added id column to feedback filters and feedback channels tables', NOW());
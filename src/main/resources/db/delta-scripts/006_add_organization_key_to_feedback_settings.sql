@@ -0,0 +1,52 @@
+-- Add generated column organization_key, containing organization_id or zero bytes when organization_id is null, and
+-- replace organization_id with organization_key in the unique constraint. As null values are never considered equal,
+-- the previous constraint did not prevent multiple settings for the same person without organization.
+
+-- Duplicated settings without organization must be removed before the new constraint is added. For each person the most
+-- recently modified (or created, for settings never modified) setting is kept, with highest id as tie-breaker. The other
+-- settings, and their filters and channels, are not simply deleted but first copied to backup tables, which are created
+-- (empty) even when there are no duplicates. Duplicates can be listed in advance with:
+--
+-- select person_id, count(*) from feedback_settings where organization_id is null group by person_id having count(*) > 1;
+--
+-- Manual step after the script has been executed: go through the settings in feedback_settings_006_backup together with
+-- the kept setting for the same person_id, and move any filters or channels that shall be preserved from the backup
+-- tables to the kept setting (by inserting them with setting_id set to the id of the kept setting). When all duplicates
+-- have been resolved the backup tables are dropped:
+--
+-- drop table feedback_filters_006_backup, feedback_channels_006_backup, feedback_settings_006_backup;
+    create table feedback_settings_006_backup as
+    select s.* from feedback_settings s
+     where s.organization_id is null
+       and exists (select 1 from feedback_settings kept
+                    where kept.person_id = s.person_id and kept.organization_id is null
+                      and (coalesce(kept.modified, kept.created) > coalesce(s.modified, s.created)
+                       or (coalesce(kept.modified, kept.created) = coalesce(s.modified, s.created) and kept.id > s.id)));
+
+    create table feedback_filters_006_backup as
+    select f.* from feedback_filters f
+      join feedback_settings_006_backup b on b.id = f.setting_id;
+
+    create table feedback_channels_006_backup as
+    select c.* from feedback_channels c
+      join feedback_settings_006_backup b on b.id = c.setting_id;
+
+    delete f from feedback_filters f
+      join feedback_settings_006_backup b on b.id = f.setting_id;
+
+    delete c from feedback_channels c
+      join feedback_settings_006_backup b on b.id = c.setting_id;
+
+    delete s from feedback_settings s
+      join feedback_settings_006_backup b on b.id = s.id;
+
+    alter table feedback_settings
+       add column organization_key binary(16) as (coalesce(organization_id, x'00000000000000000000000000000000')) persistent after organization_id;
+
+    alter table feedback_settings
+       drop index feedback_settings_person_id_organization_id_unique_constraint,
+       add constraint feedback_settings_person_id_organization_id_unique_constraint unique (person_id, organization_key);
+
+
+-- Necessary line in order to document the change.
+insert into schema_history (schema_version,comment,applied) VALUES ('006','Added organization key column to unique constraint of feedback settings', NOW());
@@ -0,0 +1,8 @@
+-- Add version column to feedback_settings, incremented on each update of a setting and verified by the update statement
+-- (optimistic locking), making concurrent updates of the same setting fail instead of overwriting each other
+    alter table feedback_settings
+       add column version bigint default 0 not null;
+
+
+-- Necessary line in order to document the change.
+insert into schema_history (schema_version,comment,applied) VALUES ('007','Added version column to feedback settings', NOW());
@@ -4,14 +4,18 @@ import static java.lang.String.format;
 import static java.util.Optional.ofNullable;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.http.MediaType.APPLICATION_PROBLEM_JSON;
 import static org.zalando.problem.Status.BAD_REQUEST;
 import static org.zalando.problem.Status.NOT_FOUND;
+import static org.zalando.problem.Status.PRECONDITION_FAILED;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -40,6 +44,10 @@ import org.zalando.problem.violations.Violation;
 import se.sundsvall.feedbacksettings.Application;
 import se.sundsvall.feedbacksettings.ContactMethod;
 import se.sundsvall.feedbacksettings.api.model.CreateFeedbackSettingRequest;
+import se.sundsvall.feedbacksettings.api.model.FeedbackFilter;
+import se.sundsvall.feedbacksettings.api.model.FeedbackSettingsErasureRequest;
+import se.sundsvall.feedbacksettings.api.model.FeedbackSettingsQueryRequest;
+import se.sundsvall.feedbacksettings.api.model.FeedbackSettingsSearchRequest;
 import se.sundsvall.feedbacksettings.api.model.RequestedFeedbackChannel;
 import se.sundsvall.feedbacksettings.api.model.RequestedFeedbackFilter;
 import se.sundsvall.feedbacksettings.api.model.UpdateFeedbackSettingRequest;
@@ -55,6 +63,7 @@ class FeedbackSettingsResourceFailuresTest {
 
 	private static final String SETTINGS_ALREADY_EXISTS_FOR_PERSONID = "Settings already exist for personId '%s'";
 	private static final String SETTINGS_NOT_FOUND_FOR_ID = "No settings matching id '%s' were found";
+	private static final String SETTINGS_MODIFIED_FOR_ID = "Settings matching id '%s' have been modified by another request";
 
 	@Autowired
 	private WebTestClient webTestClient;
@@ -463,6 +472,130 @@ class FeedbackSettingsResourceFailuresTest {
 		verify(feedbackSettingsServiceMock).createFeedbackSetting(body);
 	}
 
+	@Test
+	void createBatchEmptyList() {
+		final var response = webTestClient.post().uri("/settings/batch").contentType(APPLICATION_JSON)
+			.bodyValue(List.of())
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON)
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations()).extracting(Violation::getField, Violation::getMessage).containsExactly(
+			tuple("createFeedbackSettings.body", "must not be empty"));
+
+		verifyNoInteractions(feedbackSettingsServiceMock);
+	}
+
+	@Test
+	void searchWithoutPersonIds() {
+		final var response = webTestClient.post().uri("/settings/search").contentType(APPLICATION_JSON)
+			.bodyValue(FeedbackSettingsSearchRequest.create().withPersonIds(List.of()).withOrganizationId("invalid"))
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON)
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations()).extracting(Violation::getField, Violation::getMessage).containsExactlyInAnyOrder(
+			tuple("organizationId", "not a valid UUID"),
+			tuple("personIds", "must not be empty"));
+
+		verifyNoInteractions(feedbackSettingsServiceMock);
+	}
+
+	@ParameterizedTest
+	@MethodSource("keyProvider")
+	void searchWithDuplicateFilterKeys(String key1, String key2) {
+		final var response = webTestClient.post().uri("/settings/search").contentType(APPLICATION_JSON)
+			.bodyValue(FeedbackSettingsSearchRequest.create().withPersonIds(List.of(PERSON_ID)).withFilters(List.of(
+				FeedbackFilter.create().withKey(key1).withValues(List.of("value")),
+				FeedbackFilter.create().withKey(key2).withValues(List.of("value")))))
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON)
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations()).extracting(Violation::getField, Violation::getMessage).containsExactly(
+			tuple("filters", "keys in the collection must be unique"));
+
+		verifyNoInteractions(feedbackSettingsServiceMock);
+	}
+
+	@Test
+	void searchWithEmptyStringAsFilterKey() {
+		final var response = webTestClient.post().uri("/settings/search").contentType(APPLICATION_JSON)
+			.bodyValue(FeedbackSettingsSearchRequest.create().withPersonIds(List.of(PERSON_ID)).withFilters(List.of(FeedbackFilter.create().withKey(" ").withValues(List.of("value1")))))
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON)
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations()).extracting(Violation::getField, Violation::getMessage).containsExactly(
+			tuple("filters[0].key", "must not be blank"));
+
+		verifyNoInteractions(feedbackSettingsServiceMock);
+	}
+
+	@Test
+	void erasureWithoutPersonIds() {
+		final var response = webTestClient.post().uri("/settings/erasure").contentType(APPLICATION_JSON)
+			.bodyValue(FeedbackSettingsErasureRequest.create().withPersonIds(List.of()))
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON)
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations()).extracting(Violation::getField, Violation::getMessage).containsExactly(
+			tuple("personIds", "must not be empty"));
+
+		verifyNoInteractions(feedbackSettingsServiceMock);
+	}
+
+	@Test
+	void erasureWithNonValidUUID() {
+		final var response = webTestClient.post().uri("/settings/erasure").contentType(APPLICATION_JSON)
+			.bodyValue(FeedbackSettingsErasureRequest.create().withPersonIds(List.of("not-valid")))
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON)
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations()).extracting(Violation::getField, Violation::getMessage).containsExactly(
+			tuple("personIds[0].<list element>", "not a valid UUID"));
+
+		verifyNoInteractions(feedbackSettingsServiceMock);
+	}
+
 	// PATCH failure tests
 	@Test
 	void updateMissingBody() {
@@ -479,7 +612,7 @@ class FeedbackSettingsResourceFailuresTest {
 		assertThat(response.getTitle()).isEqualTo("Bad Request");
 		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
 		assertThat(response.getDetail()).isEqualTo("Required request body is missing: public org.springframework.http.ResponseEntity<se.sundsvall.feedbacksettings.api.model.FeedbackSetting> "
-			+ "se.sundsvall.feedbacksettings.api.FeedbackSettingsResource.updateFeedbackSetting(java.lang.String,"
+			+ "se.sundsvall.feedbacksettings.api.FeedbackSettingsResource.updateFeedbackSetting(org.springframework.http.HttpHeaders,java.lang.String,"
 			+ "se.sundsvall.feedbacksettings.api.model.UpdateFeedbackSettingRequest)");
 
 		verifyNoInteractions(feedbackSettingsServiceMock);	
@@ -858,7 +991,7 @@ class FeedbackSettingsResourceFailuresTest {
 	void updateForNonExistingEntity() throws Exception {
 		final var body = generateUpdateRequest(ContactMethod.SMS, MOBILE_NBR, SEND_FEEDBACK);
 		
-		when(feedbackSettingsServiceMock.updateFeedbackSetting(ID, body)).thenThrow(Problem.valueOf(Status.NOT_FOUND, format(SETTINGS_NOT_FOUND_FOR_ID, ID)));
+		when(feedbackSettingsServiceMock.updateFeedbackSetting(ID, body, List.of())).thenThrow(Problem.valueOf(Status.NOT_FOUND, format(SETTINGS_NOT_FOUND_FOR_ID, ID)));
 
 		final var response = webTestClient.patch().uri(builder -> builder.path("/settings/{id}").build(Map.of("id", ID)))
 			.contentType(APPLICATION_JSON)
@@ -875,7 +1008,33 @@ class FeedbackSettingsResourceFailuresTest {
 		assertThat(response.getStatus()).isEqualTo(NOT_FOUND);
 		assertThat(response.getDetail()).isEqualTo(format(SETTINGS_NOT_FOUND_FOR_ID, ID));
 
-		verify(feedbackSettingsServiceMock).updateFeedbackSetting(ID, body);
+		verify(feedbackSettingsServiceMock).updateFeedbackSetting(ID, body, List.of());
+	}
+
+	@Test
+	void updateWithNonMatchingETag() throws Exception {
+		final var body = generateUpdateRequest(ContactMethod.SMS, MOBILE_NBR, SEND_FEEDBACK);
+		final var eTag = "\"b3a5e1d0c7f8e9a6b5c4d3e2f1a0b9c8\"";
+
+		when(feedbackSettingsServiceMock.updateFeedbackSetting(ID, body, List.of(eTag))).thenThrow(Problem.valueOf(Status.PRECONDITION_FAILED, format(SETTINGS_MODIFIED_FOR_ID, ID)));
+
+		final var response = webTestClient.patch().uri(builder -> builder.path("/settings/{id}").build(Map.of("id", ID)))
+			.contentType(APPLICATION_JSON)
+			.header(IF_MATCH, eTag)
+			.bodyValue(body)
+			.exchange()
+			.expectStatus().isEqualTo(PRECONDITION_FAILED.getStatusCode())
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON)
+			.expectBody(Problem.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Precondition Failed");
+		assertThat(response.getStatus()).isEqualTo(PRECONDITION_FAILED);
+		assertThat(response.getDetail()).isEqualTo(format(SETTINGS_MODIFIED_FOR_ID, ID));
+
+		verify(feedbackSettingsServiceMock).updateFeedbackSetting(ID, body, List.of(eTag));
 	}
 	
 	// DELETE failure tests
@@ -955,6 +1114,7 @@ class FeedbackSettingsResourceFailuresTest {
 		assertThat(response.getStatus()).isEqualTo(NOT_FOUND);
 		assertThat(response.getDetail()).isEqualTo(format(SETTINGS_NOT_FOUND_FOR_ID, ID));
 		
+		verify(feedbackSettingsServiceMock, never()).getFeedbackSettingVersion(any());
 		verify(feedbackSettingsServiceMock).getFeedbackSettingById(ID);
 	}
 	
@@ -1034,6 +1194,205 @@ class FeedbackSettingsResourceFailuresTest {
 
 		verifyNoInteractions(feedbackSettingsServiceMock);	
 	}
+
+	@Test
+	void getByQueryRankedWithCursor() {
+		final var response = webTestClient.get().uri(builder -> builder.path("/settings")
+				.queryParam("personId", PERSON_ID)
+				.queryParam("ranked", true)
+				.queryParam("cursor", "OWEyNDc0M2MtNWMxOS00Nzc0LTk1NGUtYTNhZDY3YTczNGUz")
+				.build())
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON)
+			.expectBody(Problem.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Bad Request");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getDetail()).isEqualTo("Parameter cursor can not be combined with parameter ranked");
+
+		verifyNoInteractions(feedbackSettingsServiceMock);
+	}
+
+	@Test
+	void getByQueryWithMinMatchingPercentWithoutRanked() {
+		final var response = webTestClient.get().uri(builder -> builder.path("/settings")
+				.queryParam("personId", PERSON_ID)
+				.queryParam("minMatchingPercent", 75)
+				.build())
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON)
+			.expectBody(Problem.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Bad Request");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getDetail()).isEqualTo("Parameters minMatchingPercent and top can only be combined with parameter ranked");
+
+		verifyNoInteractions(feedbackSettingsServiceMock);
+	}
+
+	@Test
+	void getByQueryWithInvalidMinMatchingPercentAndTop() {
+		final var response = webTestClient.get().uri(builder -> builder.path("/settings")
+				.queryParam("personId", PERSON_ID)
+				.queryParam("ranked", true)
+				.queryParam("minMatchingPercent", 101)
+				.queryParam("top", 0)
+				.build())
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON)
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations()).extracting(Violation::getField, Violation::getMessage).containsExactlyInAnyOrder(
+			tuple("getFeedbackSettingsByQuery.minMatchingPercent", "must be less than or equal to 100"),
+			tuple("getFeedbackSettingsByQuery.top", "must be greater than or equal to 1"));
+
+		verifyNoInteractions(feedbackSettingsServiceMock);
+	}
+
+	@Test
+	void queryWithNonValidUUID() {
+		final var response = webTestClient.post().uri("/settings/query").contentType(APPLICATION_JSON)
+			.bodyValue(FeedbackSettingsQueryRequest.create().withPersonId("non-valid").withOrganizationId("non-valid"))
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON)
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations()).extracting(Violation::getField, Violation::getMessage).containsExactlyInAnyOrder(
+			tuple("organizationId", "not a valid UUID"),
+			tuple("personId", "not a valid UUID"));
+
+		verifyNoInteractions(feedbackSettingsServiceMock);
+	}
+
+	@ParameterizedTest
+	@MethodSource("keyProvider")
+	void queryWithDuplicateFilterKeys(String key1, String key2) {
+		final var response = webTestClient.post().uri("/settings/query").contentType(APPLICATION_JSON)
+			.bodyValue(FeedbackSettingsQueryRequest.create().withPersonId(PERSON_ID).withFilters(List.of(
+				FeedbackFilter.create().withKey(key1).withValues(List.of("value")),
+				FeedbackFilter.create().withKey(key2).withValues(List.of("value")))))
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON)
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations()).extracting(Violation::getField, Violation::getMessage).containsExactly(
+			tuple("filters", "keys in the collection must be unique"));
+
+		verifyNoInteractions(feedbackSettingsServiceMock);
+	}
+
+	@Test
+	void queryWithEmptyStringAsFilterKey() {
+		final var response = webTestClient.post().uri("/settings/query").contentType(APPLICATION_JSON)
+			.bodyValue(FeedbackSettingsQueryRequest.create().withPersonId(PERSON_ID).withFilters(List.of(FeedbackFilter.create().withKey(" ").withValues(List.of("value1")))))
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON)
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations()).extracting(Violation::getField, Violation::getMessage).containsExactly(
+			tuple("filters[0].key", "must not be blank"));
+
+		verifyNoInteractions(feedbackSettingsServiceMock);
+	}
+
+	@Test
+	void queryWithDuplicateFilterValuesDifferentCapitalization() {
+		final var response = webTestClient.post().uri("/settings/query").contentType(APPLICATION_JSON)
+			.bodyValue(FeedbackSettingsQueryRequest.create().withPersonId(PERSON_ID).withFilters(List.of(FeedbackFilter.create().withKey("key1").withValues(List.of("value1", "VALUE1")))))
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON)
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations()).extracting(Violation::getField, Violation::getMessage).containsExactly(
+			tuple("filters[0].values", "values in the collection must be unique"));
+
+		verifyNoInteractions(feedbackSettingsServiceMock);
+	}
+
+	@Test
+	void queryWithNullFilterValues() {
+		final var values = new ArrayList<String>();
+		values.add(null);
+		values.add("value1");
+
+		final var response = webTestClient.post().uri("/settings/query").contentType(APPLICATION_JSON)
+			.bodyValue(FeedbackSettingsQueryRequest.create().withPersonId(PERSON_ID).withFilters(List.of(FeedbackFilter.create().withKey("key1").withValues(values))))
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON)
+			.expectBody(ConstraintViolationProblem.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Constraint Violation");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getViolations()).extracting(Violation::getField, Violation::getMessage).containsExactly(
+			tuple("filters[0].values[0]", "must not be blank"));
+
+		verifyNoInteractions(feedbackSettingsServiceMock);
+	}
+
+	@Test
+	void queryRankedWithCursor() {
+		final var response = webTestClient.post().uri(builder -> builder.path("/settings/query")
+				.queryParam("ranked", true)
+				.queryParam("cursor", "OWEyNDc0M2MtNWMxOS00Nzc0LTk1NGUtYTNhZDY3YTczNGUz")
+				.build())
+			.contentType(APPLICATION_JSON)
+			.bodyValue(FeedbackSettingsQueryRequest.create().withPersonId(PERSON_ID))
+			.exchange()
+			.expectStatus().isBadRequest()
+			.expectHeader().contentType(APPLICATION_PROBLEM_JSON)
+			.expectBody(Problem.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isNotNull();
+		assertThat(response.getTitle()).isEqualTo("Bad Request");
+		assertThat(response.getStatus()).isEqualTo(BAD_REQUEST);
+		assertThat(response.getDetail()).isEqualTo("Parameter cursor can not be combined with parameter ranked");
+
+		verifyNoInteractions(feedbackSettingsServiceMock);
+	}
 	
 	private CreateFeedbackSettingRequest generateCreateRequest(String personId, String organizationId, ContactMethod contactMethod, String destination, Boolean sendFeedback) {
 		return generateCreateRequest(personId, organizationId, contactMethod, destination, sendFeedback, null);
@@ -1,13 +1,24 @@
 package se.sundsvall.feedbacksettings.api;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.APPLICATION_NDJSON;
 
+import java.io.OutputStream;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -27,10 +38,17 @@ import org.springframework.test.web.reactive.server.WebTestClient;
 import se.sundsvall.feedbacksettings.Application;
 import se.sundsvall.feedbacksettings.ContactMethod;
 import se.sundsvall.feedbacksettings.api.model.CreateFeedbackSettingRequest;
+import se.sundsvall.feedbacksettings.api.model.CreateFeedbackSettingResult;
+import se.sundsvall.feedbacksettings.api.model.FeedbackFilter;
 import se.sundsvall.feedbacksettings.api.model.FeedbackSetting;
+import se.sundsvall.feedbacksettings.api.model.FeedbackSettingsErasureRequest;
+import se.sundsvall.feedbacksettings.api.model.FeedbackSettingsErasureResult;
+import se.sundsvall.feedbacksettings.api.model.FeedbackSettingsQueryRequest;
+import se.sundsvall.feedbacksettings.api.model.FeedbackSettingsSearchRequest;
 import se.sundsvall.feedbacksettings.api.model.RequestedFeedbackChannel;
 import se.sundsvall.feedbacksettings.api.model.SearchResult;
 import se.sundsvall.feedbacksettings.api.model.UpdateFeedbackSettingRequest;
+import se.sundsvall.feedbacksettings.api.model.WeightedFeedbackSetting;
 import se.sundsvall.feedbacksettings.service.FeedbackSettingsService;
 
 @SpringBootTest(classes = Application.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -46,12 +64,16 @@ class FeedbackSettingsResourceTest {
 	private static final HttpHeaders HEADERS = new HttpHeaders();
 	private static final String HEADER_FILTER_KEY = "x-filter-keyname";
 	private static final String HEADER_FILTER_VALUE = "x-filter-value";
+	private static final OffsetDateTime CREATED = OffsetDateTime.now(ZoneId.systemDefault()).minusDays(1);
+	private static final OffsetDateTime MODIFIED = OffsetDateTime.now(ZoneId.systemDefault());
+	private static final Long VERSION = 1L;
+	private static final String CURSOR = "OWEyNDc0M2MtNWMxOS00Nzc0LTk1NGUtYTNhZDY3YTczNGUz";
 	
 	@MockBean
 	private FeedbackSettingsService feedbackSettingsServiceMock;
 	
 	@Captor
-	private ArgumentCaptor<HttpHeaders> headersCaptor;
+	private ArgumentCaptor<List<FeedbackFilter>> filtersCaptor;
 	
 	@Autowired
 	private WebTestClient webTestClient;
@@ -90,6 +112,30 @@ class FeedbackSettingsResourceTest {
 		verify(feedbackSettingsServiceMock).createFeedbackSetting(request);
 	}
 
+	@Test
+	void testCreateBatch() throws Exception {
+		List<CreateFeedbackSettingRequest> request = List.of(
+			CreateFeedbackSettingRequest.create().withPersonId(PERSON_ID),
+			CreateFeedbackSettingRequest.create().withPersonId("invalid"));
+		List<CreateFeedbackSettingResult> results = List.of(
+			CreateFeedbackSettingResult.create().withIndex(0).withStatus(201).withFeedbackSetting(FeedbackSetting.create().withId(ID)),
+			CreateFeedbackSettingResult.create().withIndex(1).withStatus(400).withDetail("personId: not a valid UUID"));
+
+		when(feedbackSettingsServiceMock.createFeedbackSettings(request)).thenReturn(results);
+
+		final var response = webTestClient.post().uri("/settings/batch").contentType(APPLICATION_JSON)
+			.bodyValue(request)
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_JSON)
+			.expectBodyList(CreateFeedbackSettingResult.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isEqualTo(results);
+		verify(feedbackSettingsServiceMock).createFeedbackSettings(request);
+	}
+
 	@Test
 	void testCreateForOrganizationalRepresentative() throws Exception {
 		CreateFeedbackSettingRequest request = CreateFeedbackSettingRequest.create()
@@ -124,7 +170,7 @@ class FeedbackSettingsResourceTest {
 				.withDestination(MOBILE_NBR)
 				.withSendFeedback(SEND_FEEDBACK)));
 
-		when(feedbackSettingsServiceMock.updateFeedbackSetting(ID, request)).thenReturn(FeedbackSetting.create().withId(String.valueOf(ID)));
+		when(feedbackSettingsServiceMock.updateFeedbackSetting(ID, request, List.of())).thenReturn(FeedbackSetting.create().withId(String.valueOf(ID)));
 
 		final var response = webTestClient.patch().uri(builder -> builder.path("/settings/{id}").build(Map.of("id", ID))).contentType(APPLICATION_JSON)
 			.bodyValue(request)
@@ -136,14 +182,14 @@ class FeedbackSettingsResourceTest {
 			.getResponseBody();
 
 		assertThat(response).isNotNull();
-		verify(feedbackSettingsServiceMock).updateFeedbackSetting(ID, request);
+		verify(feedbackSettingsServiceMock).updateFeedbackSetting(ID, request, List.of());
 	}
 
 	@Test
 	void testUpdateWithEmptyBody() throws Exception { // To verify that parameters can be null 
 		UpdateFeedbackSettingRequest request = UpdateFeedbackSettingRequest.create();
 
-		when(feedbackSettingsServiceMock.updateFeedbackSetting(ID, request)).thenReturn(FeedbackSetting.create().withId(String.valueOf(ID)));
+		when(feedbackSettingsServiceMock.updateFeedbackSetting(ID, request, List.of())).thenReturn(FeedbackSetting.create().withId(String.valueOf(ID)));
 
 		final var response = webTestClient.patch().uri(builder -> builder.path("/settings/{id}").build(Map.of("id", ID))).contentType(APPLICATION_JSON)
 			.bodyValue(request)
@@ -155,9 +201,34 @@ class FeedbackSettingsResourceTest {
 			.getResponseBody();
 
 		assertThat(response).isNotNull();
-		verify(feedbackSettingsServiceMock).updateFeedbackSetting(ID, request);
+		verify(feedbackSettingsServiceMock).updateFeedbackSetting(ID, request, List.of());
 	}
 	
+	@Test
+	void testUpdateWithIfMatch() throws Exception {
+		final var eTag = "\"b3a5e1d0c7f8e9a6b5c4d3e2f1a0b9c8\"";
+		UpdateFeedbackSettingRequest request = UpdateFeedbackSettingRequest.create()
+			.withChannels(List.of(RequestedFeedbackChannel.create()
+				.withContactMethod(ContactMethod.SMS)
+				.withDestination(MOBILE_NBR)
+				.withSendFeedback(SEND_FEEDBACK)));
+
+		when(feedbackSettingsServiceMock.updateFeedbackSetting(ID, request, List.of(eTag)))
+			.thenReturn(FeedbackSetting.create().withId(ID).withVersion(VERSION).withCreated(CREATED).withModified(MODIFIED));
+
+		webTestClient.patch().uri(builder -> builder.path("/settings/{id}").build(Map.of("id", ID))).contentType(APPLICATION_JSON)
+			.header(IF_MATCH, eTag)
+			.bodyValue(request)
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_JSON)
+			.expectHeader().exists(ETAG)
+			.expectHeader().lastModified(MODIFIED.toEpochSecond() * 1000)
+			.expectBody(FeedbackSetting.class);
+
+		verify(feedbackSettingsServiceMock).updateFeedbackSetting(ID, request, List.of(eTag));
+	}
+
 	@Test
 	void testDelete() throws Exception {
 		webTestClient.delete().uri(builder -> builder.path("/settings/{id}").build(Map.of("id", ID)))
@@ -169,17 +240,89 @@ class FeedbackSettingsResourceTest {
 	
 	@Test
 	void testGetById() throws Exception {
-		when(feedbackSettingsServiceMock.getFeedbackSettingById(ID)).thenReturn(FeedbackSetting.create().withId(String.valueOf(ID)));
+		when(feedbackSettingsServiceMock.getFeedbackSettingById(ID)).thenReturn(FeedbackSetting.create().withId(ID).withVersion(VERSION).withCreated(CREATED).withModified(MODIFIED));
 
 		final var response = webTestClient.get().uri(builder -> builder.path("/settings/{id}").build(Map.of("id", ID)))
 			.exchange()
 			.expectStatus().isOk()
 			.expectHeader().contentType(APPLICATION_JSON)
+			.expectHeader().exists(ETAG)
+			.expectHeader().lastModified(MODIFIED.toEpochSecond() * 1000)
 			.expectBody(FeedbackSetting.class)
 			.returnResult()
 			.getResponseBody();
 
 		assertThat(response).isNotNull();
+		verify(feedbackSettingsServiceMock, never()).getFeedbackSettingVersion(any());
+		verify(feedbackSettingsServiceMock).getFeedbackSettingById(ID);
+	}
+
+	@Test
+	void testGetByIdWithMatchingETag() throws Exception {
+		when(feedbackSettingsServiceMock.getFeedbackSettingVersion(ID)).thenReturn(FeedbackSetting.create().withId(ID).withVersion(VERSION).withCreated(CREATED).withModified(MODIFIED));
+		when(feedbackSettingsServiceMock.getFeedbackSettingById(ID)).thenReturn(FeedbackSetting.create().withId(ID).withVersion(VERSION).withCreated(CREATED).withModified(MODIFIED));
+
+		final var eTag = webTestClient.get().uri(builder -> builder.path("/settings/{id}").build(Map.of("id", ID)))
+			.exchange()
+			.expectStatus().isOk()
+			.returnResult(FeedbackSetting.class)
+			.getResponseHeaders()
+			.getETag();
+
+		webTestClient.get().uri(builder -> builder.path("/settings/{id}").build(Map.of("id", ID)))
+			.ifNoneMatch(eTag)
+			.exchange()
+			.expectStatus().isNotModified()
+			.expectHeader().valueEquals(ETAG, eTag)
+			.expectBody().isEmpty();
+
+		// Only the conditional request reads the last modification timestamp
+		verify(feedbackSettingsServiceMock).getFeedbackSettingVersion(ID);
+		verify(feedbackSettingsServiceMock).getFeedbackSettingById(ID);
+	}
+
+	@Test
+	void testGetByIdWithNonMatchingETag() throws Exception {
+		when(feedbackSettingsServiceMock.getFeedbackSettingVersion(ID)).thenReturn(FeedbackSetting.create().withId(ID).withVersion(VERSION).withCreated(CREATED).withModified(MODIFIED));
+		when(feedbackSettingsServiceMock.getFeedbackSettingById(ID)).thenReturn(FeedbackSetting.create().withId(ID).withVersion(VERSION).withCreated(CREATED).withModified(MODIFIED));
+
+		webTestClient.get().uri(builder -> builder.path("/settings/{id}").build(Map.of("id", ID)))
+			.ifNoneMatch("\"outdated\"")
+			.ifModifiedSince(MODIFIED.toZonedDateTime()) // Ignored when If-None-Match is present
+			.exchange()
+			.expectStatus().isOk()
+			.expectBody(FeedbackSetting.class);
+
+		verify(feedbackSettingsServiceMock).getFeedbackSettingVersion(ID);
+		verify(feedbackSettingsServiceMock).getFeedbackSettingById(ID);
+	}
+
+	@Test
+	void testGetByIdNotModifiedSince() throws Exception {
+		when(feedbackSettingsServiceMock.getFeedbackSettingVersion(ID)).thenReturn(FeedbackSetting.create().withId(ID).withVersion(VERSION).withCreated(CREATED).withModified(MODIFIED));
+
+		webTestClient.get().uri(builder -> builder.path("/settings/{id}").build(Map.of("id", ID)))
+			.ifModifiedSince(MODIFIED.toZonedDateTime())
+			.exchange()
+			.expectStatus().isNotModified()
+			.expectHeader().exists(ETAG)
+			.expectBody().isEmpty();
+
+		verify(feedbackSettingsServiceMock).getFeedbackSettingVersion(ID);
+		verify(feedbackSettingsServiceMock, never()).getFeedbackSettingById(any());
+	}
+
+	@Test
+	void testGetByIdModifiedSince() throws Exception {
+		when(feedbackSettingsServiceMock.getFeedbackSettingVersion(ID)).thenReturn(FeedbackSetting.create().withId(ID).withVersion(VERSION).withCreated(CREATED).withModified(MODIFIED));
+		when(feedbackSettingsServiceMock.getFeedbackSettingById(ID)).thenReturn(FeedbackSetting.create().withId(ID).withVersion(VERSION).withCreated(CREATED).withModified(MODIFIED));
+
+		webTestClient.get().uri(builder -> builder.path("/settings/{id}").build(Map.of("id", ID)))
+			.ifModifiedSince(MODIFIED.minusMinutes(1).toZonedDateTime())
+			.exchange()
+			.expectStatus().isOk()
+			.expectBody(FeedbackSetting.class);
+
 		verify(feedbackSettingsServiceMock).getFeedbackSettingById(ID);
 	}
 
@@ -195,9 +338,9 @@ class FeedbackSettingsResourceTest {
 			.returnResult()
 			.getResponseBody();
 
-		verify(feedbackSettingsServiceMock).getFeedbackSettings(headersCaptor.capture(), eq(PERSON_ID), isNull(), eq(1), eq(20));
+		verify(feedbackSettingsServiceMock).getFeedbackSettings(filtersCaptor.capture(), eq(PERSON_ID), isNull(), eq(1), eq(20));
 		assertThat(response).isNotNull();
-		assertThat(headersCaptor.getValue().containsKey(HEADER_FILTER_KEY)).isFalse();
+		assertThat(filtersCaptor.getValue()).isEmpty();
 	}
 	
 	@Test
@@ -218,8 +361,214 @@ class FeedbackSettingsResourceTest {
 				.returnResult()
 				.getResponseBody();
 
-		verify(feedbackSettingsServiceMock).getFeedbackSettings(headersCaptor.capture(), eq(PERSON_ID), eq(ORGANIZATION_ID), eq(1), eq(10));
+		verify(feedbackSettingsServiceMock).getFeedbackSettings(filtersCaptor.capture(), eq(PERSON_ID), eq(ORGANIZATION_ID), eq(1), eq(10));
 		assertThat(response).isNotNull();
-		assertThat(headersCaptor.getValue().get(HEADER_FILTER_KEY)).hasSize(1).contains(HEADER_FILTER_VALUE);
+		assertThat(filtersCaptor.getValue())
+			.extracting(FeedbackFilter::getKey, FeedbackFilter::getValues)
+			.containsExactly(tuple("keyname", List.of(HEADER_FILTER_VALUE)));
+	}
+
+	@Test
+	void testGetByQueryRanked() {
+		when(feedbackSettingsServiceMock.getRankedFeedbackSettings(any(), isNull(), eq(ORGANIZATION_ID), eq(2), eq(10), isNull(), isNull())).thenReturn(SearchResult.create());
+
+		final var response = webTestClient.get().uri(builder -> builder.path("/settings")
+					.queryParam("organizationId", ORGANIZATION_ID)
+					.queryParam("page", 2)
+					.queryParam("limit", 10)
+					.queryParam("ranked", true)
+					.build())
+				.header(HEADER_FILTER_KEY, HEADER_FILTER_VALUE)
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentType(APPLICATION_JSON)
+				.expectBody(SearchResult.class)
+				.returnResult()
+				.getResponseBody();
+
+		verify(feedbackSettingsServiceMock).getRankedFeedbackSettings(filtersCaptor.capture(), isNull(), eq(ORGANIZATION_ID), eq(2), eq(10), isNull(), isNull());
+		verify(feedbackSettingsServiceMock, never()).getFeedbackSettings(any(), any(), any(), anyInt(), anyInt());
+		assertThat(response).isNotNull();
+		assertThat(filtersCaptor.getValue())
+			.extracting(FeedbackFilter::getKey, FeedbackFilter::getValues)
+			.containsExactly(tuple("keyname", List.of(HEADER_FILTER_VALUE)));
+	}
+
+	@Test
+	void testGetByQueryWithoutTotals() {
+		when(feedbackSettingsServiceMock.getFeedbackSettingsWithoutTotals(any(), isNull(), eq(ORGANIZATION_ID), eq(1), eq(20))).thenReturn(SearchResult.create());
+
+		final var response = webTestClient.get().uri(builder -> builder.path("/settings")
+					.queryParam("organizationId", ORGANIZATION_ID)
+					.queryParam("includeTotals", false)
+					.build())
+				.header(HEADER_FILTER_KEY, HEADER_FILTER_VALUE)
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentType(APPLICATION_JSON)
+				.expectBody(SearchResult.class)
+				.returnResult()
+				.getResponseBody();
+
+		verify(feedbackSettingsServiceMock).getFeedbackSettingsWithoutTotals(filtersCaptor.capture(), isNull(), eq(ORGANIZATION_ID), eq(1), eq(20));
+		verify(feedbackSettingsServiceMock, never()).getFeedbackSettings(any(), any(), any(), anyInt(), anyInt());
+		assertThat(response).isNotNull();
+		assertThat(filtersCaptor.getValue())
+			.extracting(FeedbackFilter::getKey, FeedbackFilter::getValues)
+			.containsExactly(tuple("keyname", List.of(HEADER_FILTER_VALUE)));
+	}
+
+	@Test
+	void testGetByQueryWithCursorWithoutTotals() {
+		when(feedbackSettingsServiceMock.getFeedbackSettingsAfterCursor(any(), isNull(), eq(ORGANIZATION_ID), eq(CURSOR), eq(20), eq(false))).thenReturn(SearchResult.create());
+
+		webTestClient.get().uri(builder -> builder.path("/settings")
+					.queryParam("organizationId", ORGANIZATION_ID)
+					.queryParam("cursor", CURSOR)
+					.queryParam("includeTotals", false)
+					.build())
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentType(APPLICATION_JSON);
+
+		verify(feedbackSettingsServiceMock).getFeedbackSettingsAfterCursor(any(), isNull(), eq(ORGANIZATION_ID), eq(CURSOR), eq(20), eq(false));
+		verify(feedbackSettingsServiceMock, never()).getFeedbackSettingsWithoutTotals(any(), any(), any(), anyInt(), anyInt());
+	}
+
+	@Test
+	void testGetByQueryWithCursor() {
+		when(feedbackSettingsServiceMock.getFeedbackSettingsAfterCursor(any(), eq(PERSON_ID), isNull(), eq(CURSOR), eq(10), eq(true))).thenReturn(SearchResult.create());
+
+		final var response = webTestClient.get().uri(builder -> builder.path("/settings")
+					.queryParam("personId", PERSON_ID)
+					.queryParam("limit", 10)
+					.queryParam("cursor", CURSOR)
+					.build())
+				.header(HEADER_FILTER_KEY, HEADER_FILTER_VALUE)
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentType(APPLICATION_JSON)
+				.expectBody(SearchResult.class)
+				.returnResult()
+				.getResponseBody();
+
+		verify(feedbackSettingsServiceMock).getFeedbackSettingsAfterCursor(filtersCaptor.capture(), eq(PERSON_ID), isNull(), eq(CURSOR), eq(10), eq(true));
+		verify(feedbackSettingsServiceMock, never()).getFeedbackSettings(any(), any(), any(), anyInt(), anyInt());
+		assertThat(response).isNotNull();
+		assertThat(filtersCaptor.getValue())
+			.extracting(FeedbackFilter::getKey, FeedbackFilter::getValues)
+			.containsExactly(tuple("keyname", List.of(HEADER_FILTER_VALUE)));
+	}
+
+	@Test
+	void testQuery() {
+		List<FeedbackFilter> filters = List.of(FeedbackFilter.create().withKey("keyname").withValues(List.of("value-1", "value-2")));
+		FeedbackSettingsQueryRequest request = FeedbackSettingsQueryRequest.create()
+			.withPersonId(PERSON_ID)
+			.withOrganizationId(ORGANIZATION_ID)
+			.withFilters(filters);
+
+		when(feedbackSettingsServiceMock.getFeedbackSettings(filters, PERSON_ID, ORGANIZATION_ID, 1, 20)).thenReturn(SearchResult.create());
+
+		final var response = webTestClient.post().uri("/settings/query").contentType(APPLICATION_JSON)
+			.bodyValue(request)
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_JSON)
+			.expectBody(SearchResult.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isNotNull();
+		verify(feedbackSettingsServiceMock).getFeedbackSettings(filters, PERSON_ID, ORGANIZATION_ID, 1, 20);
+	}
+
+	@Test
+	void testQueryRanked() {
+		List<FeedbackFilter> filters = List.of(FeedbackFilter.create().withKey("keyname").withValues(List.of("value")));
+		FeedbackSettingsQueryRequest request = FeedbackSettingsQueryRequest.create()
+			.withOrganizationId(ORGANIZATION_ID)
+			.withFilters(filters);
+
+		when(feedbackSettingsServiceMock.getRankedFeedbackSettings(filters, null, ORGANIZATION_ID, 2, 10, 75, 5)).thenReturn(SearchResult.create());
+
+		webTestClient.post().uri(builder -> builder.path("/settings/query")
+					.queryParam("page", 2)
+					.queryParam("limit", 10)
+					.queryParam("ranked", true)
+					.queryParam("minMatchingPercent", 75)
+					.queryParam("top", 5)
+					.build())
+				.contentType(APPLICATION_JSON)
+				.bodyValue(request)
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentType(APPLICATION_JSON);
+
+		verify(feedbackSettingsServiceMock).getRankedFeedbackSettings(filters, null, ORGANIZATION_ID, 2, 10, 75, 5);
+		verify(feedbackSettingsServiceMock, never()).getFeedbackSettings(any(), any(), any(), anyInt(), anyInt());
+	}
+
+	@Test
+	void testSearch() {
+		FeedbackSettingsSearchRequest request = FeedbackSettingsSearchRequest.create()
+			.withPersonIds(List.of(PERSON_ID))
+			.withOrganizationId(ORGANIZATION_ID)
+			.withFilters(List.of(FeedbackFilter.create().withKey("keyname").withValues(List.of("value"))));
+		List<WeightedFeedbackSetting> settings = List.of(WeightedFeedbackSetting.create().withId(ID).withPersonId(PERSON_ID).withMatchingPercent(100));
+
+		when(feedbackSettingsServiceMock.searchFeedbackSettings(request)).thenReturn(settings);
+
+		final var response = webTestClient.post().uri("/settings/search").contentType(APPLICATION_JSON)
+			.bodyValue(request)
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_JSON)
+			.expectBodyList(WeightedFeedbackSetting.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isEqualTo(settings);
+		verify(feedbackSettingsServiceMock).searchFeedbackSettings(request);
+	}
+
+	@Test
+	void testErasure() {
+		FeedbackSettingsErasureRequest request = FeedbackSettingsErasureRequest.create().withPersonIds(List.of(PERSON_ID));
+		FeedbackSettingsErasureResult result = FeedbackSettingsErasureResult.create().withDeletedSettings(2).withDeletedChannels(3).withDeletedFilters(4);
+
+		when(feedbackSettingsServiceMock.eraseFeedbackSettings(request)).thenReturn(result);
+
+		final var response = webTestClient.post().uri("/settings/erasure").contentType(APPLICATION_JSON)
+			.bodyValue(request)
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_JSON)
+			.expectBody(FeedbackSettingsErasureResult.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isEqualTo(result);
+		verify(feedbackSettingsServiceMock).eraseFeedbackSettings(request);
+	}
+
+	@Test
+	void testExport() throws Exception {
+		doAnswer(invocation -> {
+			OutputStream outputStream = invocation.getArgument(0);
+			outputStream.write("{\"id\":\"id-1\"}\n{\"id\":\"id-2\"}\n".getBytes(UTF_8));
+			return null;
+		}).when(feedbackSettingsServiceMock).exportFeedbackSettings(any());
+
+		final var response = webTestClient.get().uri("/settings/export")
+			.exchange()
+			.expectStatus().isOk()
+			.expectHeader().contentType(APPLICATION_NDJSON)
+			.expectBody(String.class)
+			.returnResult()
+			.getResponseBody();
+
+		assertThat(response).isEqualTo("{\"id\":\"id-1\"}\n{\"id\":\"id-2\"}\n");
+		verify(feedbackSettingsServiceMock).exportFeedbackSettings(any());
 	}
 }
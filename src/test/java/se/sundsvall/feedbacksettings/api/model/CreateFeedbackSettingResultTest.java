@@ -0,0 +1,49 @@
+package se.sundsvall.feedbacksettings.api.model;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class CreateFeedbackSettingResultTest {
+	private static final int INDEX = 101;
+	private static final int STATUS = 201;
+	private static final FeedbackSetting FEEDBACK_SETTING = FeedbackSetting.create().withId("id");
+	private static final String DETAIL = "detail";
+
+	@Test
+	void testBean() {
+		assertThat(CreateFeedbackSettingResult.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testCreatePattern() {
+		CreateFeedbackSettingResult result = CreateFeedbackSettingResult.create()
+			.withIndex(INDEX)
+			.withStatus(STATUS)
+			.withFeedbackSetting(FEEDBACK_SETTING)
+			.withDetail(DETAIL);
+
+		assertThat(result.getIndex()).isEqualTo(INDEX);
+		assertThat(result.getStatus()).isEqualTo(STATUS);
+		assertThat(result.getFeedbackSetting()).isEqualTo(FEEDBACK_SETTING);
+		assertThat(result.getDetail()).isEqualTo(DETAIL);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(CreateFeedbackSettingResult.create()).hasAllNullFieldsOrPropertiesExcept("index", "status");
+		assertThat(new CreateFeedbackSettingResult()).hasAllNullFieldsOrPropertiesExcept("index", "status");
+	}
+}
@@ -26,6 +26,7 @@ class FeedbackSettingTest {
 	private static final String PERSON_ID = "personId";
 	private static final OffsetDateTime CREATED = OffsetDateTime.now().minusDays(1);
 	private static final OffsetDateTime MODIFIED = OffsetDateTime.now();
+	private static final Long VERSION = 1L;
 
 	@BeforeAll
 	static void setup() {
@@ -51,7 +52,8 @@ class FeedbackSettingTest {
 				.withOrganizationId(ORGANIZATION_ID)
 				.withPersonId(PERSON_ID)
 				.withCreated(CREATED)
-				.withModified(MODIFIED);
+				.withModified(MODIFIED)
+				.withVersion(VERSION);
 		
 		assertThat(settings.getChannels()).isEqualTo(CHANNELS);
 		assertThat(settings.getFilters()).isEqualTo(FILTERS);
@@ -60,6 +62,7 @@ class FeedbackSettingTest {
 		assertThat(settings.getPersonId()).isEqualTo(PERSON_ID);
 		assertThat(settings.getCreated()).isEqualTo(CREATED);
 		assertThat(settings.getModified()).isEqualTo(MODIFIED);
+		assertThat(settings.getVersion()).isEqualTo(VERSION);
 	}
 
 	@Test
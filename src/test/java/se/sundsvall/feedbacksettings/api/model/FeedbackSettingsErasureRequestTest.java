@@ -0,0 +1,43 @@
+package se.sundsvall.feedbacksettings.api.model;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class FeedbackSettingsErasureRequestTest {
+
+	private static final List<String> PERSON_IDS = List.of("personId");
+
+	@Test
+	void testBean() {
+		assertThat(FeedbackSettingsErasureRequest.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testCreatePattern() {
+		FeedbackSettingsErasureRequest request = FeedbackSettingsErasureRequest.create()
+			.withPersonIds(PERSON_IDS);
+
+		assertThat(request.getPersonIds()).isEqualTo(PERSON_IDS);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(FeedbackSettingsErasureRequest.create()).hasAllNullFieldsOrProperties();
+		assertThat(new FeedbackSettingsErasureRequest()).hasAllNullFieldsOrProperties();
+	}
+}
@@ -0,0 +1,46 @@
+package se.sundsvall.feedbacksettings.api.model;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class FeedbackSettingsErasureResultTest {
+	private static final int DELETED_SETTINGS = 2;
+	private static final int DELETED_CHANNELS = 3;
+	private static final int DELETED_FILTERS = 4;
+
+	@Test
+	void testBean() {
+		assertThat(FeedbackSettingsErasureResult.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testCreatePattern() {
+		FeedbackSettingsErasureResult result = FeedbackSettingsErasureResult.create()
+			.withDeletedSettings(DELETED_SETTINGS)
+			.withDeletedChannels(DELETED_CHANNELS)
+			.withDeletedFilters(DELETED_FILTERS);
+
+		assertThat(result.getDeletedSettings()).isEqualTo(DELETED_SETTINGS);
+		assertThat(result.getDeletedChannels()).isEqualTo(DELETED_CHANNELS);
+		assertThat(result.getDeletedFilters()).isEqualTo(DELETED_FILTERS);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(FeedbackSettingsErasureResult.create()).hasAllNullFieldsOrPropertiesExcept("deletedSettings", "deletedChannels", "deletedFilters");
+		assertThat(new FeedbackSettingsErasureResult()).hasAllNullFieldsOrPropertiesExcept("deletedSettings", "deletedChannels", "deletedFilters");
+	}
+}
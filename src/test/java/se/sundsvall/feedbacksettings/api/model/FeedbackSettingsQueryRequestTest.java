@@ -0,0 +1,49 @@
+package se.sundsvall.feedbacksettings.api.model;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class FeedbackSettingsQueryRequestTest {
+
+	private static final String PERSON_ID = "personId";
+	private static final String ORGANIZATION_ID = "organizationId";
+	private static final List<FeedbackFilter> FILTER_LIST = List.of(FeedbackFilter.create());
+
+	@Test
+	void testBean() {
+		assertThat(FeedbackSettingsQueryRequest.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testCreatePattern() {
+		FeedbackSettingsQueryRequest request = FeedbackSettingsQueryRequest.create()
+			.withPersonId(PERSON_ID)
+			.withOrganizationId(ORGANIZATION_ID)
+			.withFilters(FILTER_LIST);
+
+		assertThat(request.getPersonId()).isEqualTo(PERSON_ID);
+		assertThat(request.getOrganizationId()).isEqualTo(ORGANIZATION_ID);
+		assertThat(request.getFilters()).isEqualTo(FILTER_LIST);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(FeedbackSettingsQueryRequest.create()).hasAllNullFieldsOrProperties();
+		assertThat(new FeedbackSettingsQueryRequest()).hasAllNullFieldsOrProperties();
+	}
+}
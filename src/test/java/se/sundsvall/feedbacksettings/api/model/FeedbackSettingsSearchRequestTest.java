@@ -0,0 +1,49 @@
+package se.sundsvall.feedbacksettings.api.model;
+
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanConstructor;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanEquals;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanHashCode;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidBeanToString;
+import static com.google.code.beanmatchers.BeanMatchers.hasValidGettersAndSetters;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.allOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class FeedbackSettingsSearchRequestTest {
+
+	private static final List<String> PERSON_IDS = List.of("personId");
+	private static final String ORGANIZATION_ID = "organizationId";
+	private static final List<FeedbackFilter> FILTER_LIST = List.of(FeedbackFilter.create());
+
+	@Test
+	void testBean() {
+		assertThat(FeedbackSettingsSearchRequest.class, allOf(
+			hasValidBeanConstructor(),
+			hasValidGettersAndSetters(),
+			hasValidBeanHashCode(),
+			hasValidBeanEquals(),
+			hasValidBeanToString()));
+	}
+
+	@Test
+	void testCreatePattern() {
+		FeedbackSettingsSearchRequest request = FeedbackSettingsSearchRequest.create()
+			.withPersonIds(PERSON_IDS)
+			.withOrganizationId(ORGANIZATION_ID)
+			.withFilters(FILTER_LIST);
+
+		assertThat(request.getPersonIds()).isEqualTo(PERSON_IDS);
+		assertThat(request.getOrganizationId()).isEqualTo(ORGANIZATION_ID);
+		assertThat(request.getFilters()).isEqualTo(FILTER_LIST);
+	}
+
+	@Test
+	void testNoDirtOnCreatedBean() {
+		assertThat(FeedbackSettingsSearchRequest.create()).hasAllNullFieldsOrProperties();
+		assertThat(new FeedbackSettingsSearchRequest()).hasAllNullFieldsOrProperties();
+	}
+}
@@ -15,8 +15,9 @@ class MetaDataTest {
 	private static final int COUNT = 101;
 	private static final int LIMIT = 202;
 	private static final int PAGE = 303;
-	private static final int TOTAL_PAGES = 404;
-	private static final long TOTAL_RECORDS = 505;
+	private static final Integer TOTAL_PAGES = 404;
+	private static final Long TOTAL_RECORDS = 505L;
+	private static final String NEXT_CURSOR = "nextCursor";
 	
 	@Test
 	void testBean() {
@@ -35,13 +36,15 @@ class MetaDataTest {
 				.withLimit(LIMIT)
 				.withPage(PAGE)
 				.withTotalPages(TOTAL_PAGES)
-				.withTotalRecords(TOTAL_RECORDS);
+				.withTotalRecords(TOTAL_RECORDS)
+				.withNextCursor(NEXT_CURSOR);
 
 		assertThat(meta.getCount()).isEqualTo(COUNT);
 		assertThat(meta.getLimit()).isEqualTo(LIMIT);
 		assertThat(meta.getPage()).isEqualTo(PAGE);
 		assertThat(meta.getTotalPages()).isEqualTo(TOTAL_PAGES);
 		assertThat(meta.getTotalRecords()).isEqualTo(TOTAL_RECORDS);
+		assertThat(meta.getNextCursor()).isEqualTo(NEXT_CURSOR);
 	}
 
 	@Test
@@ -50,14 +53,16 @@ class MetaDataTest {
 			.hasFieldOrPropertyWithValue("count", 0)
 			.hasFieldOrPropertyWithValue("limit", 0)
 			.hasFieldOrPropertyWithValue("page", 0)
-			.hasFieldOrPropertyWithValue("totalRecords", 0L)
-			.hasFieldOrPropertyWithValue("totalPages", 0);
+			.hasFieldOrPropertyWithValue("totalRecords", null)
+			.hasFieldOrPropertyWithValue("totalPages", null)
+			.hasFieldOrPropertyWithValue("nextCursor", null);
 
 		assertThat(new MetaData())
 			.hasFieldOrPropertyWithValue("count", 0)
 			.hasFieldOrPropertyWithValue("limit", 0)
 			.hasFieldOrPropertyWithValue("page", 0)
-			.hasFieldOrPropertyWithValue("totalRecords", 0L)
-			.hasFieldOrPropertyWithValue("totalPages", 0);
+			.hasFieldOrPropertyWithValue("totalRecords", null)
+			.hasFieldOrPropertyWithValue("totalPages", null)
+			.hasFieldOrPropertyWithValue("nextCursor", null);
 	}
 }
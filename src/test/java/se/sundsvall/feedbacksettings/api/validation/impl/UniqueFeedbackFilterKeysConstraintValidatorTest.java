@@ -0,0 +1,73 @@
+package se.sundsvall.feedbacksettings.api.validation.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import se.sundsvall.feedbacksettings.api.model.FeedbackFilter;
+
+class UniqueFeedbackFilterKeysConstraintValidatorTest {
+
+	private static final String KEY_1 = "key1";
+	private static final String KEY_2 = "key2";
+
+	private UniqueFeedbackFilterKeysConstraintValidator validator = new UniqueFeedbackFilterKeysConstraintValidator();
+
+	@Test
+	void sameKey() {
+		FeedbackFilter filter_1 = FeedbackFilter.create().withKey(KEY_1);
+		FeedbackFilter filter_2 = FeedbackFilter.create().withKey(KEY_1);
+		assertThat(validator.isValid(List.of(filter_1, filter_2), null)).isFalse();
+	}
+
+	@Test
+	void sameKeyDifferentCapitalization() {
+		FeedbackFilter filter_1 = FeedbackFilter.create().withKey(KEY_1.toUpperCase());
+		FeedbackFilter filter_2 = FeedbackFilter.create().withKey(KEY_1.toLowerCase());
+		assertThat(validator.isValid(List.of(filter_1, filter_2), null)).isFalse();
+	}
+	
+	@Test
+	void sameKeyWithLeadingAndTrailingSpaces() {
+		FeedbackFilter filter_1 = FeedbackFilter.create().withKey(KEY_1.concat(" "));
+		FeedbackFilter filter_2 = FeedbackFilter.create().withKey(" ".concat(KEY_1));
+		assertThat(validator.isValid(List.of(filter_1, filter_2), null)).isFalse();
+	}
+	
+	@Test
+	void differentKeys() {
+		FeedbackFilter filter_1 = FeedbackFilter.create().withKey(KEY_1);
+		FeedbackFilter filter_2 = FeedbackFilter.create().withKey(KEY_2);
+		assertThat(validator.isValid(List.of(filter_1, filter_2), null)).isTrue();
+	}
+	
+	@Test
+	void oneIsNull() {
+		List<FeedbackFilter> filters = new ArrayList<>();
+		filters.add(null);
+		filters.add(FeedbackFilter.create().withKey(KEY_1));
+		
+		assertThat(validator.isValid(filters, null)).isTrue();
+	}
+
+	@Test
+	void oneHasNullKey() {
+		FeedbackFilter filter_1 = FeedbackFilter.create();
+		FeedbackFilter filter_2 = FeedbackFilter.create().withKey(KEY_2);
+		assertThat(validator.isValid(List.of(filter_1, filter_2), null)).isTrue();
+	}
+	
+	@Test
+	void emptyList() {
+		assertThat(validator.isValid(Collections.emptyList(), null)).isTrue();
+	}
+
+	@Test
+	void nullValue() {
+		assertThat(validator.isValid(null, null)).isTrue();
+	}
+}
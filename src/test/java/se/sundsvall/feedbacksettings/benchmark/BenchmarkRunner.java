@@ -0,0 +1,37 @@
+package se.sundsvall.feedbacksettings.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the suite of benchmarks for the mapping and scoring hot paths and writes the results as JSON, making it
+ * possible to compare results between versions (for example before and after upgrading dept44 or Hibernate) with tools
+ * such as JMH Visualizer. Benchmarks requiring a database ({@link UuidGenerationStrategyBenchmark}) are not part of the
+ * suite.
+ *
+ * Run with {@code mvn -P benchmark verify}, the result file is written to the path given by system property
+ * jmh.result (defaults to target/jmh-result.json). Arguments are passed on to JMH, e.g. {@code -f 2} for two forks.
+ */
+public class BenchmarkRunner {
+
+	private static final String RESULT_FILE_PROPERTY = "jmh.result";
+	private static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+	private BenchmarkRunner() {}
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+		new Runner(new OptionsBuilder()
+			.parent(new CommandLineOptions(args))
+			.include(CalculationUtilsBenchmark.class.getSimpleName())
+			.include(FeedbackSettingsMapperBenchmark.class.getSimpleName())
+			.include(MappingUtilsBenchmark.class.getSimpleName())
+			.include(SearchFilterMatcherBenchmark.class.getSimpleName())
+			.resultFormat(ResultFormatType.JSON)
+			.result(System.getProperty(RESULT_FILE_PROPERTY, DEFAULT_RESULT_FILE))
+			.build()).run();
+	}
+}
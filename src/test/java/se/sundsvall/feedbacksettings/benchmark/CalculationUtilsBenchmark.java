@@ -0,0 +1,74 @@
+package se.sundsvall.feedbacksettings.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import se.sundsvall.feedbacksettings.api.model.FeedbackFilter;
+import se.sundsvall.feedbacksettings.api.model.WeightedFeedbackSetting;
+import se.sundsvall.feedbacksettings.service.util.CalculationUtils;
+
+/**
+ * Measures {@link CalculationUtils#calculateMatchPercentage(List, WeightedFeedbackSetting)} for one setting, i.e. the
+ * cost of scoring a single setting when search filters are not compiled up front. Search filters resemble the
+ * x-filter-categories and x-filter-messagetypes headers sent by clients, and the setting holds filters for some of the
+ * searched keys.
+ *
+ * Run from the IDE, with {@code java -cp <test classpath> ...CalculationUtilsBenchmark} or as part of the suite (see
+ * {@link BenchmarkRunner}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculationUtilsBenchmark {
+
+	@Param({ "2", "10" })
+	private int searchFilterCount;
+
+	private List<FeedbackFilter> searchFilters;
+	private WeightedFeedbackSetting setting;
+
+	@Setup
+	public void setup() {
+		searchFilters = IntStream.range(0, searchFilterCount)
+			.mapToObj(i -> FeedbackFilter.create().withKey("key-" + i).withValues(List.of("broadband", "electricity")))
+			.toList();
+
+		// The setting has filters for every second searched key, matching on every fourth key
+		setting = WeightedFeedbackSetting.create().withFilters(IntStream.range(0, searchFilterCount)
+			.filter(key -> key % 2 == 0)
+			.mapToObj(key -> FeedbackFilter.create().withKey("KEY-" + key).withValues(List.of(key % 4 == 0 ? "Broadband" : "district-heating")))
+			.toList());
+	}
+
+	@Benchmark
+	public void calculateMatchPercentage(Blackhole blackhole) {
+		CalculationUtils.calculateMatchPercentage(searchFilters, setting);
+		blackhole.consume(setting.getMatchingPercent());
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+			.include(CalculationUtilsBenchmark.class.getSimpleName())
+			.build()).run();
+	}
+}
@@ -0,0 +1,101 @@
+package se.sundsvall.feedbacksettings.benchmark;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpHeaders;
+
+import se.sundsvall.feedbacksettings.ContactMethod;
+import se.sundsvall.feedbacksettings.api.model.FeedbackFilter;
+import se.sundsvall.feedbacksettings.api.model.WeightedFeedbackSetting;
+import se.sundsvall.feedbacksettings.integration.db.model.FeedbackChannelEmbeddable;
+import se.sundsvall.feedbacksettings.integration.db.model.FeedbackFilterEmbeddable;
+import se.sundsvall.feedbacksettings.integration.db.model.FeedbackSettingEntity;
+import se.sundsvall.feedbacksettings.service.mapper.FeedbackSettingsMapper;
+
+/**
+ * Measures the mapping done for every search request: conversion of request headers to search filters and conversion
+ * of a page of entities to weighted settings. Each entity holds two channels and filters for two keys, the headers hold
+ * the usual request headers in addition to the x-filter-[filter_key] headers.
+ *
+ * Run from the IDE, with {@code java -cp <test classpath> ...FeedbackSettingsMapperBenchmark} or as part of the suite
+ * (see {@link BenchmarkRunner}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeedbackSettingsMapperBenchmark {
+
+	@Param({ "20", "100" })
+	private int pageSize;
+
+	@Param({ "4" })
+	private int filterValueCount;
+
+	private List<FeedbackSettingEntity> entities;
+	private HttpHeaders headers;
+
+	@Setup
+	public void setup() {
+		entities = IntStream.range(0, pageSize)
+			.mapToObj(i -> FeedbackSettingEntity.create()
+				.withId(UUID.randomUUID().toString())
+				.withPersonId(UUID.randomUUID().toString())
+				.withOrganizationId(UUID.randomUUID().toString())
+				.withCreated(OffsetDateTime.now())
+				.withFeedbackChannels(new ArrayList<>(List.of(
+					FeedbackChannelEmbeddable.create().withContactMethod(ContactMethod.SMS).withAlias("Mobile").withDestination("07961000" + i).withSendFeedback(true),
+					FeedbackChannelEmbeddable.create().withContactMethod(ContactMethod.EMAIL).withAlias("Email").withDestination("person." + i + "@company.com").withSendFeedback(true))))
+				.withFeedbackFilters(new ArrayList<>(IntStream.range(0, filterValueCount)
+					.mapToObj(value -> FeedbackFilterEmbeddable.create().withKey(value % 2 == 0 ? "categories" : "messagetypes").withValue("value-" + value))
+					.toList())))
+			.toList();
+
+		headers = new HttpHeaders();
+		headers.add("accept", "application/json");
+		headers.add("user-agent", "benchmark");
+		headers.add("x-request-id", UUID.randomUUID().toString());
+		IntStream.range(0, filterValueCount).forEach(value -> {
+			headers.add("x-filter-categories", "category-" + value);
+			headers.add("x-filter-messagetypes", "MessageType-" + value);
+			headers.add("x-filter-messagetypes", "messagetype-" + value);
+		});
+	}
+
+	@Benchmark
+	public List<WeightedFeedbackSetting> toWeightedFeedbackSettings() {
+		return FeedbackSettingsMapper.toWeightedFeedbackSettings(entities);
+	}
+
+	@Benchmark
+	public List<FeedbackFilter> toFeedbackFilters() {
+		return FeedbackSettingsMapper.toFeedbackFilters(headers);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+			.include(FeedbackSettingsMapperBenchmark.class.getSimpleName())
+			.build()).run();
+	}
+}
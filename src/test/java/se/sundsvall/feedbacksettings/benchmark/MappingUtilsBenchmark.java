@@ -0,0 +1,93 @@
+package se.sundsvall.feedbacksettings.benchmark;
+
+import static org.apache.commons.lang3.StringUtils.equalsIgnoreCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import se.sundsvall.feedbacksettings.integration.db.model.FeedbackFilterEmbeddable;
+import se.sundsvall.feedbacksettings.integration.db.model.FeedbackSettingEntity;
+import se.sundsvall.feedbacksettings.service.util.MappingUtils;
+
+/**
+ * Measures calculation of added and removed filters when a setting with many filter values is updated. The requested
+ * filters contain the same values as the stored ones, but in upper case, with a tenth of the values replaced by new
+ * ones. The hash based calculation in {@link MappingUtils} is compared with the nested loop comparison it replaced.
+ *
+ * Run from the IDE or with {@code java -cp <test classpath> ...MappingUtilsBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingUtilsBenchmark {
+
+	private static final String KEY = "categories";
+
+	@Param({ "10", "100", "500", "1000" })
+	private int filterCount;
+
+	private FeedbackSettingEntity entity;
+	private List<FeedbackFilterEmbeddable> requestedFilters;
+
+	@Setup
+	public void setup() {
+		entity = FeedbackSettingEntity.create().withFeedbackFilters(new ArrayList<>(IntStream.range(0, filterCount)
+			.mapToObj(i -> FeedbackFilterEmbeddable.create().withKey(KEY).withValue("category-" + i))
+			.toList()));
+		requestedFilters = IntStream.range(0, filterCount)
+			.mapToObj(i -> FeedbackFilterEmbeddable.create()
+				.withKey(KEY.toUpperCase(Locale.ROOT))
+				.withValue((i % 10 == 0 ? "new-category-" : "category-").toUpperCase(Locale.ROOT) + i))
+			.toList();
+	}
+
+	@Benchmark
+	public void hashSetComparison(Blackhole blackhole) {
+		blackhole.consume(MappingUtils.getAddedFeedbackFilters(entity, requestedFilters));
+		blackhole.consume(MappingUtils.getRemovedFeedbackFilters(entity, requestedFilters));
+	}
+
+	@Benchmark
+	public void nestedLoopComparison(Blackhole blackhole) {
+		blackhole.consume(requestedFilters.stream()
+			.filter(filter -> !existsInList(filter, entity.getFeedbackFilters()))
+			.toList());
+		blackhole.consume(entity.getFeedbackFilters().stream()
+			.filter(filter -> !existsInList(filter, requestedFilters))
+			.toList());
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+			.include(MappingUtilsBenchmark.class.getSimpleName())
+			.build()).run();
+	}
+
+	private static boolean existsInList(FeedbackFilterEmbeddable objectToCheck, List<FeedbackFilterEmbeddable> list) {
+		return list.stream()
+			.anyMatch(filter -> equalsIgnoreCase(filter.getKey(), objectToCheck.getKey()) &&
+				equalsIgnoreCase(filter.getValue(), objectToCheck.getValue()));
+	}
+}
@@ -0,0 +1,105 @@
+package se.sundsvall.feedbacksettings.benchmark;
+
+import static java.util.Collections.emptyList;
+import static java.util.Optional.ofNullable;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import se.sundsvall.feedbacksettings.api.model.FeedbackFilter;
+import se.sundsvall.feedbacksettings.api.model.WeightedFeedbackSetting;
+import se.sundsvall.feedbacksettings.service.util.SearchFilterMatcher;
+
+/**
+ * Compares scoring of a page of search results using the previous stream based matching (evaluated per setting and
+ * search filter) with scoring using search filters compiled once into a {@link SearchFilterMatcher}.
+ *
+ * Run from the IDE or with {@code java -cp <test classpath> ...SearchFilterMatcherBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchFilterMatcherBenchmark {
+
+	@Param({ "20", "40" })
+	private int searchFilterCount;
+
+	@Param({ "100" })
+	private int settingCount;
+
+	private List<FeedbackFilter> searchFilters;
+	private List<WeightedFeedbackSetting> settings;
+
+	@Setup
+	public void setup() {
+		searchFilters = IntStream.range(0, searchFilterCount)
+			.mapToObj(i -> FeedbackFilter.create().withKey("key-" + i).withValues(List.of("Value-" + i, "Other-" + i)))
+			.toList();
+
+		// Each setting holds every second search filter key, with a matching value on every fourth key
+		settings = IntStream.range(0, settingCount)
+			.mapToObj(i -> WeightedFeedbackSetting.create().withFilters(IntStream.range(0, searchFilterCount)
+				.filter(key -> (key + i) % 2 == 0)
+				.mapToObj(key -> FeedbackFilter.create().withKey("KEY-" + key).withValues(List.of((key + i) % 4 == 0 ? "value-" + key : "no-match")))
+				.toList()))
+			.toList();
+	}
+
+	@Benchmark
+	public void streamMatching(Blackhole blackhole) {
+		settings.forEach(setting -> {
+			int matchingFilters = 1 + (int) searchFilters.stream().filter(searchFilter -> matchesFilterForSetting(searchFilter, setting)).count();
+			blackhole.consume(Math.round((float) matchingFilters / (searchFilters.size() + 1) * 100));
+		});
+	}
+
+	@Benchmark
+	public void compiledMatching(Blackhole blackhole) {
+		SearchFilterMatcher matcher = SearchFilterMatcher.compile(searchFilters);
+		settings.forEach(setting -> {
+			matcher.calculateMatchPercentage(setting);
+			blackhole.consume(setting.getMatchingPercent());
+		});
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+			.include(SearchFilterMatcherBenchmark.class.getSimpleName())
+			.build()).run();
+	}
+
+	// Matching logic as implemented in CalculationUtils before introducing SearchFilterMatcher
+	private static boolean matchesFilterForSetting(FeedbackFilter incomingFilter, WeightedFeedbackSetting setting) {
+		boolean settingLacksFilter = ofNullable(setting.getFilters()).orElse(emptyList()).stream()
+			.noneMatch(filter -> incomingFilter.getKey().equalsIgnoreCase(filter.getKey()));
+
+		return settingLacksFilter || ofNullable(setting.getFilters()).orElse(emptyList()).stream()
+			.filter(filter -> incomingFilter.getKey().equalsIgnoreCase(filter.getKey()))
+			.anyMatch(filter -> matchesFilterValue(incomingFilter.getValues(), filter.getValues()));
+	}
+
+	private static boolean matchesFilterValue(List<String> settingsFilterValues, List<String> requestedFilterValues) {
+		return settingsFilterValues.stream()
+			.anyMatch(settingsFilterValue -> requestedFilterValues.stream().anyMatch(settingsFilterValue::equalsIgnoreCase));
+	}
+}
@@ -0,0 +1,134 @@
+package se.sundsvall.feedbacksettings.benchmark;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.id.UUIDGenerationStrategy;
+import org.hibernate.id.uuid.StandardRandomStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import se.sundsvall.feedbacksettings.integration.db.generator.TimeOrderedUuidGenerationStrategy;
+
+/**
+ * Compares inserting a large amount of settings with random (version 4) ids, as generated by the default strategy of
+ * {@link org.hibernate.id.UUIDGenerator}, with inserting them with time ordered (version 7) ids generated by
+ * {@link TimeOrderedUuidGenerationStrategy}. Each iteration inserts into an empty table, in batches committed one by
+ * one, and the resulting data (primary key) and secondary index sizes are printed after each iteration.
+ *
+ * Runs against a MariaDB test container (requires docker). Run from the IDE or with
+ * {@code java -cp <test classpath> ...UuidGenerationStrategyBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class UuidGenerationStrategyBenchmark {
+
+	private static final String JDBC_URL = "jdbc:tc:mariadb:10.6.4:///benchmark";
+	private static final int BATCH_SIZE = 1000;
+
+	@Param({ "random", "timeOrdered" })
+	private String strategy;
+
+	@Param({ "1000000" })
+	private int rowCount;
+
+	private UUIDGenerationStrategy generationStrategy;
+	private Connection connection;
+
+	@Setup(Level.Trial)
+	public void setupTrial() throws SQLException {
+		generationStrategy = "random".equals(strategy) ? StandardRandomStrategy.INSTANCE : new TimeOrderedUuidGenerationStrategy();
+		connection = DriverManager.getConnection(JDBC_URL);
+		connection.setAutoCommit(false);
+
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("""
+				create table if not exists benchmark_settings (
+				   id binary(16) not null,
+				   created datetime(6) not null,
+				   person_id binary(16) not null,
+				   primary key (id)
+				) engine=InnoDB""");
+			statement.execute("create index if not exists benchmark_settings_person_id_index on benchmark_settings (person_id)");
+		}
+	}
+
+	@Setup(Level.Iteration)
+	public void setupIteration() throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("truncate table benchmark_settings");
+		}
+	}
+
+	@TearDown(Level.Iteration)
+	public void printSizes() throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("analyze table benchmark_settings");
+			try (ResultSet result = statement.executeQuery("select data_length, index_length from information_schema.tables where table_name = 'benchmark_settings'")) {
+				result.next();
+				System.out.printf("%n%s ids: data (primary key) %d kB, secondary index %d kB%n", strategy, result.getLong(1) / 1024, result.getLong(2) / 1024);
+			}
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDownTrial() throws SQLException {
+		connection.close();
+	}
+
+	@Benchmark
+	public void insert() throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement("insert into benchmark_settings (id, created, person_id) values (?, now(6), ?)")) {
+			for (int i = 1; i <= rowCount; i++) {
+				statement.setBytes(1, toBytes(generationStrategy.generateUUID(null)));
+				statement.setBytes(2, toBytes(UUID.randomUUID()));
+				statement.addBatch();
+
+				if (i % BATCH_SIZE == 0) {
+					statement.executeBatch();
+					connection.commit();
+				}
+			}
+			statement.executeBatch();
+			connection.commit();
+		}
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+			.include(UuidGenerationStrategyBenchmark.class.getSimpleName())
+			.build()).run();
+	}
+
+	private static byte[] toBytes(UUID uuid) {
+		return ByteBuffer.allocate(16)
+			.putLong(uuid.getMostSignificantBits())
+			.putLong(uuid.getLeastSignificantBits())
+			.array();
+	}
+}
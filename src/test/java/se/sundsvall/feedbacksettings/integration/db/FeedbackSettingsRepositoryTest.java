@@ -2,22 +2,46 @@ package se.sundsvall.feedbacksettings.integration.db;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.groups.Tuple.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static se.sundsvall.feedbacksettings.integration.db.model.FeedbackSettingEntity.PERSON_ID_ORGANIZATION_ID_UNIQUE_CONSTRAINT;
+import static se.sundsvall.feedbacksettings.service.mapper.FeedbackSettingsMapper.mergeFeedbackSettings;
 import static se.sundsvall.feedbacksettings.service.mapper.FeedbackSettingsMapper.toExample;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
 import javax.transaction.Transactional;
 
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 
 import se.sundsvall.feedbacksettings.Application;
+import se.sundsvall.feedbacksettings.ContactMethod;
+import se.sundsvall.feedbacksettings.api.model.RequestedFeedbackChannel;
+import se.sundsvall.feedbacksettings.api.model.UpdateFeedbackSettingRequest;
+import se.sundsvall.feedbacksettings.integration.db.model.FeedbackChannelEmbeddable;
 import se.sundsvall.feedbacksettings.integration.db.model.FeedbackSettingEntity;
+import se.sundsvall.feedbacksettings.integration.db.model.FeedbackSettingOwner;
+import se.sundsvall.feedbacksettings.integration.db.model.FeedbackSettingReference;
+import se.sundsvall.feedbacksettings.integration.db.model.FeedbackSettingScore;
+import se.sundsvall.feedbacksettings.integration.db.type.UuidBinaryType;
 
 /**
  * Feedback repository tests.
@@ -37,11 +61,38 @@ class FeedbackSettingsRepositoryTest {
 	private static final String EXISTING_PRIVATE_AND_ORGANIZATION_REPRESENTATIVE_PERSON_ID = "49a974ea-9137-419b-bcb9-ad74c81a1d3f";
 	private static final String EXISTING_ORGANIZATION_REPRESENTATIVE_PERSON_ID = "49a974ea-9137-419b-bcb9-ad74c81a1d4f";
 	private static final String EXISTING_ORGANIZATION_ID = "15aee472-46ab-4f03-9605-68bd64ebc84a";
-	private static final String NON_EXISTING_PERSON_ID = "49a974ea-9137-419b-bcb9-ad74c81d9f5a7";
+	private static final String EXISTING_REPRESENTATIVE_WITH_FILTERS_PERSON_ID = "49a974ea-9137-419b-bcb9-ad74c81a1d5f";
+	private static final String NON_EXISTING_PERSON_ID = "49a974ea-9137-419b-bcb9-ad74c81d9f5a";
+	private static final String SETTING_ID_WITH_TWO_CHANNELS = "9a24743c-5c19-4774-954e-a3ad67a734e2";
+	private static final String NON_EXISTING_SETTING_ID = "9a24743c-5c19-4774-954e-a3ad67a73400";
+	private static final RequestedFeedbackChannel EXISTING_SMS_CHANNEL = RequestedFeedbackChannel.create()
+		.withContactMethod(ContactMethod.SMS)
+		.withAlias("Private mobile")
+		.withDestination("0796100002")
+		.withSendFeedback(true);
+	private static final RequestedFeedbackChannel EXISTING_EMAIL_CHANNEL = RequestedFeedbackChannel.create()
+		.withContactMethod(ContactMethod.EMAIL)
+		.withAlias("person.2@company.com")
+		.withDestination("person.2@company.com")
+		.withSendFeedback(true);
 	
 	@Autowired
 	private FeedbackSettingsRepository feedbackRepository;
 
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setup() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
 	@Test
 	void privateCustomerSettingsExists() {
 		assertThat(feedbackRepository.exists(toExample(EXISTING_PRIVATE_PERSON_ID, null, true))).isTrue();
@@ -57,6 +108,24 @@ class FeedbackSettingsRepositoryTest {
 		assertThat(feedbackRepository.exists(toExample(EXISTING_PRIVATE_PERSON_ID, EXISTING_ORGANIZATION_ID, true))).isFalse();
 	}
 
+	@Test
+	void saveDuplicatePrivateCustomerSettings() {
+		FeedbackSettingEntity entity = FeedbackSettingEntity.create().withPersonId(EXISTING_PRIVATE_PERSON_ID);
+
+		final var exception = assertThrows(DataIntegrityViolationException.class, () -> feedbackRepository.saveAndFlush(entity));
+
+		assertThat(exception.getMostSpecificCause().getMessage()).containsIgnoringCase(PERSON_ID_ORGANIZATION_ID_UNIQUE_CONSTRAINT);
+	}
+
+	@Test
+	void saveDuplicateOrganizationRepresentativeSettings() {
+		FeedbackSettingEntity entity = FeedbackSettingEntity.create().withPersonId(EXISTING_ORGANIZATION_REPRESENTATIVE_PERSON_ID).withOrganizationId(EXISTING_ORGANIZATION_ID);
+
+		final var exception = assertThrows(DataIntegrityViolationException.class, () -> feedbackRepository.saveAndFlush(entity));
+
+		assertThat(exception.getMostSpecificCause().getMessage()).containsIgnoringCase(PERSON_ID_ORGANIZATION_ID_UNIQUE_CONSTRAINT);
+	}
+
 	@Test
 	void findAllFullResponse() {
 		Page<FeedbackSettingEntity> query = feedbackRepository.findAll(PageRequest.of(0, 100));
@@ -97,4 +166,391 @@ class FeedbackSettingsRepositoryTest {
 					tuple("49a974ea-9137-419b-bcb9-ad74c81a1d6f", "15aee472-46ab-4f03-9605-68bd64ebc84a"),
 					tuple("49a974ea-9137-419b-bcb9-ad74c81a1d7f", "15aee472-46ab-4f03-9605-68bd64ebc84a"));
 		}
+
+	@Test
+	void findAllLoadsCollectionsForFullPageInBatch() {
+		Page<FeedbackSettingEntity> query = feedbackRepository.findAll(PageRequest.of(0, 100));
+		initializeCollections(query.getContent());
+
+		// One query for settings (count is not needed as all settings fits in first page) and one query per collection
+		assertThat(query.getNumberOfElements()).isEqualTo(8);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+	}
+
+	@Test
+	void findAllLoadsCollectionsForPageInBatch() {
+		Page<FeedbackSettingEntity> query = feedbackRepository.findAll(toExample(null, EXISTING_ORGANIZATION_ID, false), PageRequest.of(0, 3));
+		initializeCollections(query.getContent());
+
+		// One query for settings, one count query and one query per collection
+		assertThat(query.getNumberOfElements()).isEqualTo(3);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+	}
+
+	@Test
+	void findSliceWithoutCountQuery() {
+		Slice<FeedbackSettingEntity> slice = feedbackRepository.findSlice(null, EXISTING_ORGANIZATION_ID, PageRequest.of(0, 3, Sort.by("id")));
+
+		// Only one query for settings, as a following slice is detected by fetching one setting more than the page size
+		assertThat(slice.hasNext()).isTrue();
+		assertThat(slice.getContent())
+			.extracting(FeedbackSettingEntity::getId)
+			.containsExactly(
+				"9a24743c-5c19-4774-954e-a3ad67a734e4",
+				"9a24743c-5c19-4774-954e-a3ad67a734e5",
+				"9a24743c-5c19-4774-954e-a3ad67a734e6");
+		assertThat(statistics.getPrepareStatementCount()).isOne();
+	}
+
+	@Test
+	void findSliceLastSlice() {
+		Slice<FeedbackSettingEntity> slice = feedbackRepository.findSlice(null, EXISTING_ORGANIZATION_ID, PageRequest.of(1, 3, Sort.by("id")));
+
+		assertThat(slice.hasNext()).isFalse();
+		assertThat(slice.getContent())
+			.extracting(FeedbackSettingEntity::getId)
+			.containsExactly(
+				"9a24743c-5c19-4774-954e-a3ad67a734e7",
+				"9a24743c-5c19-4774-954e-a3ad67a734e8");
+	}
+
+	@Test
+	void findRankedForOrganization() {
+		statistics.clear();
+
+		List<FeedbackSettingScore> scores = feedbackRepository.findRanked(null, EXISTING_ORGANIZATION_ID, "[{\"key\":\"CATEGORIES\",\"values\":[\"electricity\"]}]", 1, 10, 0);
+
+		assertThat(scores)
+			.extracting(FeedbackSettingScore::getId, FeedbackSettingScore::getUnmatchedFilters)
+			.containsExactly(
+				tuple("9a24743c-5c19-4774-954e-a3ad67a734e4", 0),
+				tuple("9a24743c-5c19-4774-954e-a3ad67a734e5", 0),
+				tuple("9a24743c-5c19-4774-954e-a3ad67a734e8", 0),
+				tuple("9a24743c-5c19-4774-954e-a3ad67a734e6", 1),
+				tuple("9a24743c-5c19-4774-954e-a3ad67a734e7", 1));
+
+		// Settings are scored with one statement, without loading any settings or filters
+		assertThat(statistics.getPrepareStatementCount()).isOne();
+		assertThat(statistics.getEntityLoadCount()).isZero();
+		assertThat(statistics.getCollectionLoadCount()).isZero();
+	}
+
+	@Test
+	void findRankedWithLimitAndOffset() {
+		List<FeedbackSettingScore> scores = feedbackRepository.findRanked(null, EXISTING_ORGANIZATION_ID, "[{\"key\":\"CATEGORIES\",\"values\":[\"electricity\"]}]", 1, 2, 2);
+
+		assertThat(scores)
+			.extracting(FeedbackSettingScore::getId, FeedbackSettingScore::getUnmatchedFilters)
+			.containsExactly(
+				tuple("9a24743c-5c19-4774-954e-a3ad67a734e8", 0),
+				tuple("9a24743c-5c19-4774-954e-a3ad67a734e6", 1));
+	}
+
+	@Test
+	void findRankedWithSeveralSearchFilters() {
+		List<FeedbackSettingScore> scores = feedbackRepository.findRanked(null, EXISTING_ORGANIZATION_ID,
+			"[{\"key\":\"CATEGORIES\",\"values\":[\"broadband\"]},{\"key\":\"MESSAGETYPES\",\"values\":[\"information\"]}]", 2, 10, 0);
+
+		assertThat(scores)
+			.extracting(FeedbackSettingScore::getId, FeedbackSettingScore::getUnmatchedFilters)
+			.containsExactly(
+				tuple("9a24743c-5c19-4774-954e-a3ad67a734e4", 0),
+				tuple("9a24743c-5c19-4774-954e-a3ad67a734e5", 0),
+				tuple("9a24743c-5c19-4774-954e-a3ad67a734e7", 0),
+				tuple("9a24743c-5c19-4774-954e-a3ad67a734e6", 1),
+				tuple("9a24743c-5c19-4774-954e-a3ad67a734e8", 1));
+	}
+
+	@Test
+	void findRankedWithMaxUnmatchedFilters() {
+		List<FeedbackSettingScore> scores = feedbackRepository.findRanked(null, EXISTING_ORGANIZATION_ID, "[{\"key\":\"CATEGORIES\",\"values\":[\"electricity\"]}]", 0, 10, 0);
+
+		assertThat(scores)
+			.extracting(FeedbackSettingScore::getId, FeedbackSettingScore::getUnmatchedFilters)
+			.containsExactly(
+				tuple("9a24743c-5c19-4774-954e-a3ad67a734e4", 0),
+				tuple("9a24743c-5c19-4774-954e-a3ad67a734e5", 0),
+				tuple("9a24743c-5c19-4774-954e-a3ad67a734e8", 0));
+	}
+
+	@Test
+	void countRanked() {
+		final var searchFilters = "[{\"key\":\"CATEGORIES\",\"values\":[\"electricity\"]}]";
+
+		assertThat(feedbackRepository.countRanked(null, EXISTING_ORGANIZATION_ID, searchFilters, 1)).isEqualTo(5);
+		assertThat(feedbackRepository.countRanked(null, EXISTING_ORGANIZATION_ID, searchFilters, 0)).isEqualTo(3);
+		assertThat(feedbackRepository.countRanked(NON_EXISTING_PERSON_ID, null, searchFilters, 1)).isZero();
+	}
+
+	@Test
+	void findRankedForPersonAndOrganizationWithoutSearchFilters() {
+		List<FeedbackSettingScore> scores = feedbackRepository.findRanked(EXISTING_PRIVATE_AND_ORGANIZATION_REPRESENTATIVE_PERSON_ID, EXISTING_ORGANIZATION_ID, "[]", 0, 10, 0);
+
+		assertThat(scores)
+			.extracting(FeedbackSettingScore::getId, FeedbackSettingScore::getUnmatchedFilters)
+			.containsExactly(tuple("9a24743c-5c19-4774-954e-a3ad67a734e4", 0));
+	}
+
+	@Test
+	void findReferencesForOrganization() {
+		try (Stream<FeedbackSettingReference> references = feedbackRepository.findReferences(null, EXISTING_ORGANIZATION_ID)) {
+			assertThat(references.toList())
+				.extracting(FeedbackSettingReference::getId, FeedbackSettingReference::getModified)
+				.containsExactlyInAnyOrder(
+					tuple("9a24743c-5c19-4774-954e-a3ad67a734e4", null),
+					tuple("9a24743c-5c19-4774-954e-a3ad67a734e5", null),
+					tuple("9a24743c-5c19-4774-954e-a3ad67a734e6", null),
+					tuple("9a24743c-5c19-4774-954e-a3ad67a734e7", null),
+					tuple("9a24743c-5c19-4774-954e-a3ad67a734e8", null));
+		}
+	}
+
+	@Test
+	void findReferencesForPersonAndOrganization() {
+		try (Stream<FeedbackSettingReference> references = feedbackRepository.findReferences(EXISTING_PRIVATE_AND_ORGANIZATION_REPRESENTATIVE_PERSON_ID, EXISTING_ORGANIZATION_ID)) {
+			assertThat(references.toList())
+				.extracting(FeedbackSettingReference::getId)
+				.containsExactly("9a24743c-5c19-4774-954e-a3ad67a734e4");
+		}
+	}
+
+	@Test
+	void findVersionForNeverModifiedSetting() {
+		final var created = feedbackRepository.findById(SETTING_ID_WITH_TWO_CHANNELS).orElseThrow().getCreated();
+		entityManager.clear();
+		statistics.clear();
+
+		assertThat(feedbackRepository.findVersionById(SETTING_ID_WITH_TWO_CHANNELS)).hasValueSatisfying(value -> {
+			assertThat(value.getVersion()).isZero();
+			assertThat(value.getCreated()).isAtSameInstantAs(created);
+			assertThat(value.getModified()).isNull();
+		});
+
+		// Version is read with one statement, without loading the setting or its collections
+		assertThat(statistics.getPrepareStatementCount()).isOne();
+		assertThat(statistics.getEntityLoadCount()).isZero();
+		assertThat(statistics.getCollectionLoadCount()).isZero();
+	}
+
+	@Test
+	void findVersionForModifiedSetting() {
+		FeedbackSettingEntity entity = findAndInitialize(SETTING_ID_WITH_TWO_CHANNELS);
+		mergeFeedbackSettings(entity, UpdateFeedbackSettingRequest.create().withChannels(List.of(EXISTING_SMS_CHANNEL)));
+		final var saved = feedbackRepository.saveAndFlush(entity);
+		final var modified = saved.getModified();
+		final var version = saved.getVersion();
+		entityManager.clear();
+
+		assertThat(modified).isNotNull();
+		assertThat(feedbackRepository.findVersionById(SETTING_ID_WITH_TWO_CHANNELS)).hasValueSatisfying(value -> {
+			assertThat(value.getVersion()).isEqualTo(version);
+			assertThat(value.getModified()).isAtSameInstantAs(modified);
+		});
+	}
+
+	@Test
+	void findVersionForNonExistingSetting() {
+		assertThat(feedbackRepository.findVersionById(NON_EXISTING_SETTING_ID)).isEmpty();
+	}
+
+	@Test
+	void findOwners() {
+		assertThat(feedbackRepository.findOwners(List.of(EXISTING_PRIVATE_AND_ORGANIZATION_REPRESENTATIVE_PERSON_ID, EXISTING_ORGANIZATION_REPRESENTATIVE_PERSON_ID, NON_EXISTING_PERSON_ID)))
+			.extracting(FeedbackSettingOwner::getPersonId, FeedbackSettingOwner::getOrganizationId)
+			.containsExactlyInAnyOrder(
+				tuple(EXISTING_PRIVATE_AND_ORGANIZATION_REPRESENTATIVE_PERSON_ID, null),
+				tuple(EXISTING_PRIVATE_AND_ORGANIZATION_REPRESENTATIVE_PERSON_ID, EXISTING_ORGANIZATION_ID),
+				tuple(EXISTING_ORGANIZATION_REPRESENTATIVE_PERSON_ID, EXISTING_ORGANIZATION_ID));
+	}
+
+	@Test
+	void findByPersonIds() {
+		assertThat(feedbackRepository.findByPersonIds(List.of(EXISTING_PRIVATE_AND_ORGANIZATION_REPRESENTATIVE_PERSON_ID, EXISTING_ORGANIZATION_REPRESENTATIVE_PERSON_ID, NON_EXISTING_PERSON_ID), null))
+			.extracting(FeedbackSettingEntity::getId)
+			.containsExactlyInAnyOrder(
+				"9a24743c-5c19-4774-954e-a3ad67a734e3",
+				"9a24743c-5c19-4774-954e-a3ad67a734e4",
+				"9a24743c-5c19-4774-954e-a3ad67a734e5");
+	}
+
+	@Test
+	void findByPersonIdsAndOrganizationId() {
+		assertThat(feedbackRepository.findByPersonIds(List.of(EXISTING_PRIVATE_AND_ORGANIZATION_REPRESENTATIVE_PERSON_ID, EXISTING_PRIVATE_PERSON_ID), EXISTING_ORGANIZATION_ID))
+			.extracting(FeedbackSettingEntity::getId)
+			.containsExactly("9a24743c-5c19-4774-954e-a3ad67a734e4");
+	}
+
+	@Test
+	void findAfter() {
+		assertThat(feedbackRepository.findAfter(null, null, "9a24743c-5c19-4774-954e-a3ad67a734e3", PageRequest.of(0, 3)))
+			.extracting(FeedbackSettingEntity::getId)
+			.containsExactly(
+				"9a24743c-5c19-4774-954e-a3ad67a734e4",
+				"9a24743c-5c19-4774-954e-a3ad67a734e5",
+				"9a24743c-5c19-4774-954e-a3ad67a734e6");
+	}
+
+	@Test
+	void findAfterForOrganization() {
+		assertThat(feedbackRepository.findAfter(null, EXISTING_ORGANIZATION_ID, "9a24743c-5c19-4774-954e-a3ad67a734e6", PageRequest.of(0, 3)))
+			.extracting(FeedbackSettingEntity::getId)
+			.containsExactly(
+				"9a24743c-5c19-4774-954e-a3ad67a734e7",
+				"9a24743c-5c19-4774-954e-a3ad67a734e8");
+	}
+
+	@Test
+	void findAfterForPerson() {
+		assertThat(feedbackRepository.findAfter(EXISTING_PRIVATE_AND_ORGANIZATION_REPRESENTATIVE_PERSON_ID, null, "9a24743c-5c19-4774-954e-a3ad67a734e3", PageRequest.of(0, 3)))
+			.extracting(FeedbackSettingEntity::getId)
+			.containsExactly("9a24743c-5c19-4774-954e-a3ad67a734e4");
+	}
+
+	@Test
+	void findChunkAfter() {
+		List<String> ids = new ArrayList<>();
+		String lastId = null;
+		List<FeedbackSettingEntity> chunk;
+
+		do {
+			chunk = feedbackRepository.findChunkAfter(lastId, PageRequest.of(0, 3));
+			initializeCollections(chunk);
+
+			// One query for the chunk and one query per collection, regardless of the amount of settings read before
+			assertThat(statistics.getPrepareStatementCount()).isEqualTo(chunk.isEmpty() ? 1 : 3);
+			chunk.forEach(entity -> ids.add(entity.getId()));
+			lastId = chunk.isEmpty() ? lastId : chunk.get(chunk.size() - 1).getId();
+			entityManager.clear();
+			statistics.clear();
+		} while (chunk.size() == 3);
+
+		assertThat(ids).containsExactly(
+			"9a24743c-5c19-4774-954e-a3ad67a734e1",
+			"9a24743c-5c19-4774-954e-a3ad67a734e2",
+			"9a24743c-5c19-4774-954e-a3ad67a734e3",
+			"9a24743c-5c19-4774-954e-a3ad67a734e4",
+			"9a24743c-5c19-4774-954e-a3ad67a734e5",
+			"9a24743c-5c19-4774-954e-a3ad67a734e6",
+			"9a24743c-5c19-4774-954e-a3ad67a734e7",
+			"9a24743c-5c19-4774-954e-a3ad67a734e8");
+	}
+
+	@Test
+	void updateWithAddedChannelOnlyInsertsAddedChannel() {
+		FeedbackSettingEntity entity = findAndInitialize(SETTING_ID_WITH_TWO_CHANNELS);
+
+		mergeFeedbackSettings(entity, UpdateFeedbackSettingRequest.create().withChannels(List.of(
+			EXISTING_SMS_CHANNEL,
+			EXISTING_EMAIL_CHANNEL,
+			RequestedFeedbackChannel.create()
+				.withContactMethod(ContactMethod.SMS)
+				.withAlias("Work mobile")
+				.withDestination("0706100002")
+				.withSendFeedback(true))));
+		feedbackRepository.saveAndFlush(entity);
+
+		// One update of the modified timestamp and one insert of the added channel (existing channels are left untouched)
+		assertThat(statistics.getEntityUpdateCount()).isOne();
+		assertThat(statistics.getCollectionUpdateCount()).isOne();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+		entityManager.clear();
+		assertThat(findAndInitialize(SETTING_ID_WITH_TWO_CHANNELS).getFeedbackChannels())
+			.extracting(FeedbackChannelEmbeddable::getDestination)
+			.containsExactlyInAnyOrder("0796100002", "person.2@company.com", "0706100002");
+	}
+
+	@Test
+	void updateWithRemovedChannelOnlyDeletesRemovedChannel() {
+		FeedbackSettingEntity entity = findAndInitialize(SETTING_ID_WITH_TWO_CHANNELS);
+
+		mergeFeedbackSettings(entity, UpdateFeedbackSettingRequest.create().withChannels(List.of(EXISTING_SMS_CHANNEL)));
+		feedbackRepository.saveAndFlush(entity);
+
+		// One update of the modified timestamp and one delete of the removed channel (remaining channel is left untouched)
+		assertThat(statistics.getEntityUpdateCount()).isOne();
+		assertThat(statistics.getCollectionUpdateCount()).isOne();
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+		entityManager.clear();
+		assertThat(findAndInitialize(SETTING_ID_WITH_TWO_CHANNELS).getFeedbackChannels())
+			.extracting(FeedbackChannelEmbeddable::getDestination)
+			.containsExactly("0796100002");
+	}
+
+	@Test
+	void updateIncrementsVersion() {
+		FeedbackSettingEntity entity = findAndInitialize(SETTING_ID_WITH_TWO_CHANNELS);
+		assertThat(entity.getVersion()).isZero();
+
+		mergeFeedbackSettings(entity, UpdateFeedbackSettingRequest.create().withChannels(List.of(EXISTING_SMS_CHANNEL)));
+		feedbackRepository.saveAndFlush(entity);
+
+		entityManager.clear();
+		assertThat(feedbackRepository.findById(SETTING_ID_WITH_TWO_CHANNELS).orElseThrow().getVersion()).isOne();
+	}
+
+	@Test
+	void updateOfStaleSettingFails() {
+		FeedbackSettingEntity entity = findAndInitialize(SETTING_ID_WITH_TWO_CHANNELS);
+		entityManager.detach(entity);
+
+		// Concurrent update of the setting after it has been read
+		entityManager.createNativeQuery("UPDATE feedback_settings SET version = version + 1 WHERE id = UNHEX(REPLACE(:id, '-', ''))")
+			.setParameter("id", SETTING_ID_WITH_TWO_CHANNELS)
+			.executeUpdate();
+
+		mergeFeedbackSettings(entity, UpdateFeedbackSettingRequest.create().withChannels(List.of(EXISTING_SMS_CHANNEL)));
+
+		assertThrows(OptimisticLockingFailureException.class, () -> feedbackRepository.saveAndFlush(entity));
+	}
+
+	@Test
+	void deleteSettingWithChildRows() {
+		assertThat(feedbackRepository.deleteFiltersBySettingId(SETTING_ID_WITH_TWO_CHANNELS)).isZero();
+		assertThat(feedbackRepository.deleteChannelsBySettingId(SETTING_ID_WITH_TWO_CHANNELS)).isEqualTo(2);
+		assertThat(feedbackRepository.deleteSettingById(SETTING_ID_WITH_TWO_CHANNELS)).isOne();
+
+		// One statement per table, without loading the setting or its collections
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+		assertThat(statistics.getCollectionLoadCount()).isZero();
+		assertThat(feedbackRepository.existsById(SETTING_ID_WITH_TWO_CHANNELS)).isFalse();
+	}
+
+	@Test
+	void deleteNonExistingSetting() {
+		assertThat(feedbackRepository.deleteSettingById(NON_EXISTING_SETTING_ID)).isZero();
+	}
+
+	@Test
+	void deleteByPersonIds() {
+		List<String> personIds = List.of(EXISTING_PRIVATE_AND_ORGANIZATION_REPRESENTATIVE_PERSON_ID, EXISTING_REPRESENTATIVE_WITH_FILTERS_PERSON_ID, NON_EXISTING_PERSON_ID);
+		List<byte[]> binaryPersonIds = personIds.stream().map(UuidBinaryType::toBytes).toList();
+
+		assertThat(feedbackRepository.findIdsByPersonIds(personIds)).containsExactlyInAnyOrder(
+			"9a24743c-5c19-4774-954e-a3ad67a734e3",
+			"9a24743c-5c19-4774-954e-a3ad67a734e4",
+			"9a24743c-5c19-4774-954e-a3ad67a734e6");
+		assertThat(feedbackRepository.deleteFiltersByPersonIds(binaryPersonIds)).isEqualTo(2);
+		assertThat(feedbackRepository.deleteChannelsByPersonIds(binaryPersonIds)).isEqualTo(6);
+		assertThat(feedbackRepository.deleteSettingsByPersonIds(personIds)).isEqualTo(3);
+
+		assertThat(feedbackRepository.findIdsByPersonIds(personIds)).isEmpty();
+		assertThat(feedbackRepository.count()).isEqualTo(5);
+	}
+
+	private FeedbackSettingEntity findAndInitialize(String id) {
+		FeedbackSettingEntity entity = feedbackRepository.findById(id).orElseThrow();
+		initializeCollections(List.of(entity));
+		statistics.clear();
+		return entity;
+	}
+
+	private static void initializeCollections(List<FeedbackSettingEntity> entities) {
+		entities.forEach(entity -> {
+			Hibernate.initialize(entity.getFeedbackFilters());
+			Hibernate.initialize(entity.getFeedbackChannels());
+		});
+	}
 }
@@ -0,0 +1,45 @@
+package se.sundsvall.feedbacksettings.integration.db.generator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedUuidGenerationStrategyTest {
+
+	private final TimeOrderedUuidGenerationStrategy strategy = new TimeOrderedUuidGenerationStrategy();
+
+	@Test
+	void generatedVersion() {
+		assertThat(strategy.getGeneratedVersion()).isEqualTo(7);
+	}
+
+	@Test
+	void generateUUID() {
+		long before = System.currentTimeMillis();
+		UUID uuid = strategy.generateUUID(null);
+		long after = System.currentTimeMillis();
+
+		assertThat(uuid.version()).isEqualTo(7);
+		assertThat(uuid.variant()).isEqualTo(2);
+		// Timestamp may be ahead of the clock if sequence has been exhausted, which will not happen for one id
+		assertThat(uuid.getMostSignificantBits() >>> 16).isBetween(before, after);
+	}
+
+	@Test
+	void generatedUUIDsAreStrictlyIncreasingAndUnique() {
+		List<String> uuids = IntStream.range(0, 100_000)
+			.mapToObj(i -> strategy.generateUUID().toString())
+			.toList();
+
+		// Compare string representation, as that is the order of the ids both in the entity and in the database
+		assertThat(uuids).isSorted();
+		Set<String> unique = new HashSet<>(uuids);
+		assertThat(unique).hasSameSizeAs(uuids);
+	}
+}
@@ -25,6 +25,7 @@ class FeedbackSettingEntityTest {
 	private static final String ID = "id";
 	private static final String PERSON_ID = "personId";
 	private static final String ORGANIZATION_ID = "organizationId";
+	private static final Long VERSION = 3L;
 	private static final List<FeedbackChannelEmbeddable> FEEDBACK_CHANNELS = List.of(FeedbackChannelEmbeddable.create());
 	
 	@BeforeAll
@@ -50,7 +51,8 @@ class FeedbackSettingEntityTest {
 				.withOrganizationId(ORGANIZATION_ID)
 				.withFeedbackChannels(FEEDBACK_CHANNELS)
 				.withCreated(OffsetDateTime.now())
-				.withModified(OffsetDateTime.now());
+				.withModified(OffsetDateTime.now())
+				.withVersion(VERSION);
 
 		assertThat(entity.getId()).isEqualTo(ID);
 		assertThat(entity.getPersonId()).isEqualTo(PERSON_ID);
@@ -58,6 +60,7 @@ class FeedbackSettingEntityTest {
 		assertThat(entity.getFeedbackChannels()).isEqualTo(FEEDBACK_CHANNELS);
 		assertThat(entity.getCreated()).isCloseTo(OffsetDateTime.now(), within(1, ChronoUnit.SECONDS));
 		assertThat(entity.getModified()).isCloseTo(OffsetDateTime.now(), within(1, ChronoUnit.SECONDS));
+		assertThat(entity.getVersion()).isEqualTo(VERSION);
 	}
 
 	@Test
@@ -0,0 +1,89 @@
+package se.sundsvall.feedbacksettings.integration.db.type;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+
+import org.hibernate.HibernateException;
+import org.junit.jupiter.api.Test;
+
+import se.sundsvall.feedbacksettings.integration.db.type.UuidBinaryType.UuidStringTypeDescriptor;
+
+class UuidBinaryTypeTest {
+
+	private static final String UUID = "9a24743c-5c19-4774-954e-a3ad67a734e1";
+	private static final byte[] BYTES = {
+		(byte) 0x9a, 0x24, 0x74, 0x3c, 0x5c, 0x19, 0x47, 0x74, (byte) 0x95, 0x4e, (byte) 0xa3, (byte) 0xad, 0x67, (byte) 0xa7, 0x34, (byte) 0xe1 };
+
+	private final UuidStringTypeDescriptor descriptor = UuidStringTypeDescriptor.INSTANCE;
+
+	@Test
+	void name() {
+		assertThat(new UuidBinaryType().getName()).isEqualTo(UuidBinaryType.NAME);
+	}
+
+	@Test
+	void toBytes() {
+		assertThat(UuidBinaryType.toBytes(UUID)).isEqualTo(BYTES);
+	}
+
+	@Test
+	void unwrapToBytes() {
+		assertThat(descriptor.unwrap(UUID, byte[].class, null)).isEqualTo(BYTES);
+	}
+
+	@Test
+	void unwrapUpperCaseToBytes() {
+		assertThat(descriptor.unwrap(UUID.toUpperCase(), byte[].class, null)).isEqualTo(BYTES);
+	}
+
+	@Test
+	void unwrapToString() {
+		assertThat(descriptor.unwrap(UUID, String.class, null)).isEqualTo(UUID);
+	}
+
+	@Test
+	void unwrapNull() {
+		assertThat(descriptor.unwrap(null, byte[].class, null)).isNull();
+	}
+
+	@Test
+	void unwrapToUnknownType() {
+		assertThatThrownBy(() -> descriptor.unwrap(UUID, Long.class, null)).isInstanceOf(HibernateException.class);
+	}
+
+	@Test
+	void unwrapInvalidUuid() {
+		assertThatThrownBy(() -> descriptor.unwrap("not-a-uuid", byte[].class, null)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void wrapFromBytes() {
+		assertThat(descriptor.wrap(BYTES, null)).isEqualTo(UUID);
+	}
+
+	@Test
+	void wrapFromString() {
+		assertThat(descriptor.wrap(UUID, null)).isEqualTo(UUID);
+	}
+
+	@Test
+	void wrapNull() {
+		assertThat(descriptor.wrap(null, null)).isNull();
+	}
+
+	@Test
+	void wrapFromUnknownType() {
+		assertThatThrownBy(() -> descriptor.wrap(1L, null)).isInstanceOf(HibernateException.class);
+	}
+
+	@Test
+	void byteOrderFollowsStringOrder() {
+		// Keyset pagination relies on binary ids being ordered as their string representation
+		byte[] lower = UuidStringTypeDescriptor.toBytes("9a24743c-5c19-4774-954e-a3ad67a734e1");
+		byte[] higher = UuidStringTypeDescriptor.toBytes("9a24743c-5c19-4774-954e-a3ad67a734f0");
+
+		assertThat(Arrays.compareUnsigned(lower, higher)).isNegative();
+	}
+}
@@ -0,0 +1,114 @@
+package se.sundsvall.feedbacksettings.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static se.sundsvall.feedbacksettings.service.ServiceConstants.FEEDBACK_SETTINGS_CACHE;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import se.sundsvall.feedbacksettings.Application;
+import se.sundsvall.feedbacksettings.ContactMethod;
+import se.sundsvall.feedbacksettings.api.model.RequestedFeedbackChannel;
+import se.sundsvall.feedbacksettings.api.model.UpdateFeedbackSettingRequest;
+import se.sundsvall.feedbacksettings.integration.db.FeedbackSettingsRepository;
+import se.sundsvall.feedbacksettings.integration.db.model.FeedbackSettingEntity;
+
+@SpringBootTest(classes = Application.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("junit")
+class FeedbackSettingsServiceCacheTest {
+
+	private static final String FEEDBACK_SETTINGS_ID = "settingsId";
+	private static final String PERSON_ID = "personId";
+
+	@MockBean
+	private FeedbackSettingsRepository repositoryMock;
+
+	@Autowired
+	private FeedbackSettingsService service;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	private CaffeineCache cache;
+
+	@BeforeEach
+	void setup() {
+		cache = (CaffeineCache) cacheManager.getCache(FEEDBACK_SETTINGS_CACHE);
+		cache.clear();
+
+		when(repositoryMock.findById(FEEDBACK_SETTINGS_ID)).thenReturn(Optional.of(FeedbackSettingEntity.create()
+			.withId(FEEDBACK_SETTINGS_ID)
+			.withPersonId(PERSON_ID)
+			.withFeedbackChannels(new ArrayList<>())
+			.withFeedbackFilters(new ArrayList<>())));
+	}
+
+	@Test
+	void getFeedbackSettingByIdIsCached() {
+		CacheStats statsBefore = cache.getNativeCache().stats();
+
+		assertThat(service.getFeedbackSettingById(FEEDBACK_SETTINGS_ID).getPersonId()).isEqualTo(PERSON_ID);
+		assertThat(service.getFeedbackSettingById(FEEDBACK_SETTINGS_ID).getPersonId()).isEqualTo(PERSON_ID);
+
+		CacheStats stats = cache.getNativeCache().stats().minus(statsBefore);
+		assertThat(stats.missCount()).isOne();
+		assertThat(stats.hitCount()).isOne();
+		verify(repositoryMock, times(1)).findById(FEEDBACK_SETTINGS_ID);
+	}
+
+	@Test
+	void updateFeedbackSettingEvictsCachedSetting() {
+		when(repositoryMock.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+		service.getFeedbackSettingById(FEEDBACK_SETTINGS_ID);
+		service.updateFeedbackSetting(FEEDBACK_SETTINGS_ID, UpdateFeedbackSettingRequest.create().withChannels(List.of(RequestedFeedbackChannel.create()
+			.withContactMethod(ContactMethod.EMAIL)
+			.withDestination("person@company.com")
+			.withSendFeedback(true))), List.of());
+
+		assertThat(cache.get(FEEDBACK_SETTINGS_ID)).isNull();
+
+		service.getFeedbackSettingById(FEEDBACK_SETTINGS_ID);
+		verify(repositoryMock, times(3)).findById(FEEDBACK_SETTINGS_ID);
+	}
+
+	@Test
+	void updateFeedbackSettingWithoutChangesKeepsCachedSetting() {
+		service.getFeedbackSettingById(FEEDBACK_SETTINGS_ID);
+		service.updateFeedbackSetting(FEEDBACK_SETTINGS_ID, UpdateFeedbackSettingRequest.create(), List.of());
+
+		assertThat(cache.get(FEEDBACK_SETTINGS_ID)).isNotNull();
+
+		service.getFeedbackSettingById(FEEDBACK_SETTINGS_ID);
+		verify(repositoryMock, times(2)).findById(FEEDBACK_SETTINGS_ID);
+		verify(repositoryMock, never()).save(any());
+	}
+
+	@Test
+	void deleteFeedbackSettingEvictsCachedSetting() {
+		when(repositoryMock.deleteSettingById(FEEDBACK_SETTINGS_ID)).thenReturn(1);
+
+		service.getFeedbackSettingById(FEEDBACK_SETTINGS_ID);
+		service.deleteFeedbackSetting(FEEDBACK_SETTINGS_ID);
+
+		assertThat(cache.get(FEEDBACK_SETTINGS_ID)).isNull();
+		verify(repositoryMock).deleteSettingById(FEEDBACK_SETTINGS_ID);
+	}
+}
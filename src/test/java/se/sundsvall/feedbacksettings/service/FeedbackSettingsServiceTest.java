@@ -1,43 +1,96 @@
 package se.sundsvall.feedbacksettings.service;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.groups.Tuple.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static org.zalando.problem.Status.CONFLICT;
+import static org.zalando.problem.Status.PRECONDITION_FAILED;
+import static se.sundsvall.feedbacksettings.service.ServiceConstants.FEEDBACK_SETTINGS_CACHE;
 import static se.sundsvall.feedbacksettings.service.mapper.FeedbackSettingsMapper.toFeedbackSetting;
 import static se.sundsvall.feedbacksettings.service.mapper.FeedbackSettingsMapper.toWeightedFeedbackSetting;
+import static se.sundsvall.feedbacksettings.service.util.EntityTagUtils.toEntityTag;
 
+import java.io.ByteArrayOutputStream;
+import java.sql.SQLIntegrityConstraintViolationException;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Example;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.HttpHeaders;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.zalando.problem.ThrowableProblem;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import se.sundsvall.feedbacksettings.ContactMethod;
 import se.sundsvall.feedbacksettings.api.model.CreateFeedbackSettingRequest;
+import se.sundsvall.feedbacksettings.api.model.CreateFeedbackSettingResult;
 import se.sundsvall.feedbacksettings.api.model.FeedbackChannel;
+import se.sundsvall.feedbacksettings.api.model.FeedbackFilter;
 import se.sundsvall.feedbacksettings.api.model.FeedbackSetting;
+import se.sundsvall.feedbacksettings.api.model.FeedbackSettingsErasureRequest;
+import se.sundsvall.feedbacksettings.api.model.FeedbackSettingsErasureResult;
+import se.sundsvall.feedbacksettings.api.model.FeedbackSettingsSearchRequest;
 import se.sundsvall.feedbacksettings.api.model.RequestedFeedbackChannel;
 import se.sundsvall.feedbacksettings.api.model.SearchResult;
 import se.sundsvall.feedbacksettings.api.model.UpdateFeedbackSettingRequest;
+import se.sundsvall.feedbacksettings.api.model.WeightedFeedbackSetting;
 import se.sundsvall.feedbacksettings.integration.db.FeedbackSettingsRepository;
 import se.sundsvall.feedbacksettings.integration.db.model.FeedbackChannelEmbeddable;
+import se.sundsvall.feedbacksettings.integration.db.model.FeedbackFilterEmbeddable;
 import se.sundsvall.feedbacksettings.integration.db.model.FeedbackSettingEntity;
+import se.sundsvall.feedbacksettings.integration.db.model.FeedbackSettingOwner;
+import se.sundsvall.feedbacksettings.integration.db.model.FeedbackSettingReference;
+import se.sundsvall.feedbacksettings.integration.db.model.FeedbackSettingScore;
+import se.sundsvall.feedbacksettings.integration.db.model.FeedbackSettingVersion;
+import se.sundsvall.feedbacksettings.integration.db.type.UuidBinaryType;
+import se.sundsvall.feedbacksettings.service.index.FeedbackFilterIndex;
+import se.sundsvall.feedbacksettings.service.metrics.SearchMetrics;
+import se.sundsvall.feedbacksettings.service.util.CursorUtils;
 
 @ExtendWith(MockitoExtension.class)
 class FeedbackSettingsServiceTest {
@@ -50,7 +103,9 @@ class FeedbackSettingsServiceTest {
 	private static final boolean SEND_FEEDBACK = true;
 	private static final OffsetDateTime CREATED = OffsetDateTime.now().minusDays(1);
 	private static final OffsetDateTime MODIFIED = OffsetDateTime.now();
-	private static final HttpHeaders HEADERS = new HttpHeaders();
+	private static final Long VERSION = 2L;
+	private static final List<FeedbackFilter> NO_FILTERS = emptyList();
+	private static final String CURSOR_ID = "9a24743c-5c19-4774-954e-a3ad67a734e1";
 
 	@Mock
 	private FeedbackSettingsRepository repositoryMock;
@@ -60,7 +115,34 @@ class FeedbackSettingsServiceTest {
 	
 	@Mock
 	private Page<FeedbackSettingEntity> pageMock;
+
+	@Mock
+	private Slice<FeedbackSettingEntity> sliceMock;
 	
+	@Mock
+	private Validator validatorMock;
+
+	@Mock
+	private EntityManager entityManagerMock;
+
+	@Mock
+	private CacheManager cacheManagerMock;
+
+	@Mock
+	private Cache cacheMock;
+
+	@Spy
+	private ObjectMapper objectMapperSpy = new ObjectMapper();
+
+	@Spy
+	private FeedbackFilterIndex feedbackFilterIndexSpy = new FeedbackFilterIndex(false);
+
+	@Spy
+	private SearchMetrics searchMetricsSpy = new SearchMetrics(new SimpleMeterRegistry());
+
+	@Mock
+	private ConstraintViolation<CreateFeedbackSettingRequest> violationMock;
+
 	@InjectMocks
 	private FeedbackSettingsService service;
 	
@@ -69,6 +151,15 @@ class FeedbackSettingsServiceTest {
 	
 	@Captor
 	private ArgumentCaptor<Example<FeedbackSettingEntity>> exampleCaptor;
+
+	@Captor
+	private ArgumentCaptor<Iterable<FeedbackSettingEntity>> entitiesCaptor;
+
+	@Captor
+	private ArgumentCaptor<Pageable> pageableCaptor;
+
+	@Captor
+	private ArgumentCaptor<Collection<byte[]>> binaryIdsCaptor;
 	
 	@Test
 	void createFeedbackSettings() {
@@ -80,8 +171,7 @@ class FeedbackSettingsServiceTest {
 				
 		FeedbackSetting response = service.createFeedbackSetting(request);
 		
-		verify(repositoryMock).exists(exampleCaptor.capture());
-		verify(repositoryMock).save(entityCaptor.capture());
+		verify(repositoryMock).saveAndFlush(entityCaptor.capture());
 		verifyNoMoreInteractions(repositoryMock);
 		
 		assertThat(entityCaptor.getValue().getFeedbackChannels())
@@ -92,9 +182,6 @@ class FeedbackSettingsServiceTest {
 					tuple(ContactMethod.EMAIL, EMAIL_ADDRESS, SEND_FEEDBACK));
 		assertThat(entityCaptor.getValue().getPersonId()).isEqualTo(PERSON_ID);
 		assertThat(entityCaptor.getValue().getOrganizationId()).isEqualTo(ORGANIZATION_ID);
-		assertThat(exampleCaptor.getValue().getProbe())
-			.hasFieldOrPropertyWithValue("personId", PERSON_ID)
-			.hasFieldOrPropertyWithValue("organizationId", ORGANIZATION_ID);
 		
 		assertThat(response.getPersonId()).isEqualTo(PERSON_ID);
 		assertThat(response.getOrganizationId()).isEqualTo(ORGANIZATION_ID);
@@ -108,38 +195,154 @@ class FeedbackSettingsServiceTest {
 
 	@Test
 	void createFeedbackSettingsForExistingPrivatePerson() {
-		when(repositoryMock.exists(ArgumentMatchers.<Example<FeedbackSettingEntity>>any())).thenReturn(true);
+		when(repositoryMock.saveAndFlush(any(FeedbackSettingEntity.class))).thenThrow(uniqueConstraintViolation());
 		
 		CreateFeedbackSettingRequest request = CreateFeedbackSettingRequest.create().withPersonId(PERSON_ID);
 		
 		final var exception = assertThrows(ThrowableProblem.class, 
 				() -> service.createFeedbackSetting(request));
 
-		verify(repositoryMock).exists(exampleCaptor.capture());
+		verify(repositoryMock).saveAndFlush(entityCaptor.capture());
 		verifyNoMoreInteractions(repositoryMock);
 		
 		assertThat(exception.getMessage()).isEqualTo("Bad Request: Settings already exist for personId 'personId'");
-		assertThat(exampleCaptor.getValue().getProbe())
-			.hasFieldOrPropertyWithValue("personId", PERSON_ID)
-			.hasFieldOrPropertyWithValue("organizationId", null);
+		assertThat(entityCaptor.getValue().getPersonId()).isEqualTo(PERSON_ID);
+		assertThat(entityCaptor.getValue().getOrganizationId()).isNull();
 	}
 	
 	@Test
 	void createFeedbackSettingsForExistingOrganizationRepresentative() {
-		when(repositoryMock.exists(ArgumentMatchers.<Example<FeedbackSettingEntity>>any())).thenReturn(true);
+		when(repositoryMock.saveAndFlush(any(FeedbackSettingEntity.class))).thenThrow(uniqueConstraintViolation());
 		
 		CreateFeedbackSettingRequest request = CreateFeedbackSettingRequest.create().withPersonId(PERSON_ID).withOrganizationId(ORGANIZATION_ID);
 		
 		final var exception = assertThrows(ThrowableProblem.class, 
 				() -> service.createFeedbackSetting(request));
 
-		verify(repositoryMock).exists(exampleCaptor.capture());
+		verify(repositoryMock).saveAndFlush(entityCaptor.capture());
 		verifyNoMoreInteractions(repositoryMock);
 
 		assertThat(exception.getMessage()).isEqualTo("Bad Request: Settings already exist for personId 'personId' representing organizationId 'organizationId'");
-		assertThat(exampleCaptor.getValue().getProbe())
-			.hasFieldOrPropertyWithValue("personId", PERSON_ID)
-			.hasFieldOrPropertyWithValue("organizationId", ORGANIZATION_ID);
+		assertThat(entityCaptor.getValue().getPersonId()).isEqualTo(PERSON_ID);
+		assertThat(entityCaptor.getValue().getOrganizationId()).isEqualTo(ORGANIZATION_ID);
+	}
+
+	@Test
+	void createFeedbackSettingsWhenOtherIntegrityViolationOccurs() {
+		DataIntegrityViolationException violation = new DataIntegrityViolationException("could not execute statement",
+			new SQLIntegrityConstraintViolationException("Column 'person_id' cannot be null"));
+		when(repositoryMock.saveAndFlush(any(FeedbackSettingEntity.class))).thenThrow(violation);
+		
+		CreateFeedbackSettingRequest request = CreateFeedbackSettingRequest.create().withPersonId(PERSON_ID);
+		
+		final var exception = assertThrows(DataIntegrityViolationException.class, 
+				() -> service.createFeedbackSetting(request));
+
+		verify(repositoryMock).saveAndFlush(any(FeedbackSettingEntity.class));
+		verifyNoMoreInteractions(repositoryMock);
+
+		assertThat(exception).isSameAs(violation);
+	}
+
+	@Test
+	void createFeedbackSettingsInBatch() {
+		CreateFeedbackSettingRequest existingRequest = CreateFeedbackSettingRequest.create().withPersonId(PERSON_ID);
+		CreateFeedbackSettingRequest request = CreateFeedbackSettingRequest.create().withPersonId(PERSON_ID).withOrganizationId(ORGANIZATION_ID).withChannels(generateChannels());
+		CreateFeedbackSettingRequest duplicateRequest = CreateFeedbackSettingRequest.create().withPersonId(PERSON_ID).withOrganizationId(ORGANIZATION_ID);
+		CreateFeedbackSettingRequest invalidRequest = CreateFeedbackSettingRequest.create().withPersonId("invalid");
+
+		doReturn(emptySet()).when(validatorMock).validate(any());
+		doReturn(Set.of(violationMock)).when(validatorMock).validate(invalidRequest);
+		when(violationMock.getMessage()).thenReturn("not a valid UUID");
+		when(repositoryMock.findOwners(Set.of(PERSON_ID))).thenReturn(List.of(toOwner(PERSON_ID, null)));
+
+		List<CreateFeedbackSettingResult> results = service.createFeedbackSettings(List.of(existingRequest, request, duplicateRequest, invalidRequest));
+
+		verify(repositoryMock).findOwners(Set.of(PERSON_ID));
+		verify(repositoryMock).saveAllAndFlush(entitiesCaptor.capture());
+		verifyNoMoreInteractions(repositoryMock);
+
+		assertThat(entitiesCaptor.getValue())
+			.extracting(FeedbackSettingEntity::getPersonId, FeedbackSettingEntity::getOrganizationId)
+			.containsExactly(tuple(PERSON_ID, ORGANIZATION_ID));
+		assertThat(results)
+			.extracting(CreateFeedbackSettingResult::getIndex, CreateFeedbackSettingResult::getStatus, CreateFeedbackSettingResult::getDetail)
+			.containsExactly(
+				tuple(0, 400, "Settings already exist for personId 'personId'"),
+				tuple(1, 201, null),
+				tuple(2, 400, "Settings already exist for personId 'personId' representing organizationId 'organizationId'"),
+				tuple(3, 400, "null: not a valid UUID"));
+		assertThat(results.get(1).getFeedbackSetting().getChannels()).hasSize(2);
+	}
+
+	@Test
+	void createFeedbackSettingsInBatchWhenConcurrentlyCreated() {
+		CreateFeedbackSettingRequest request = CreateFeedbackSettingRequest.create().withPersonId(PERSON_ID).withChannels(generateChannels());
+		CreateFeedbackSettingRequest concurrentlyCreatedRequest = CreateFeedbackSettingRequest.create().withPersonId(PERSON_ID).withOrganizationId(ORGANIZATION_ID);
+
+		doReturn(emptySet()).when(validatorMock).validate(any());
+		when(repositoryMock.findOwners(Set.of(PERSON_ID))).thenReturn(emptyList());
+		when(repositoryMock.saveAllAndFlush(any())).thenThrow(uniqueConstraintViolation());
+		when(repositoryMock.saveAndFlush(any(FeedbackSettingEntity.class)))
+			.thenAnswer(invocation -> invocation.getArgument(0))
+			.thenThrow(uniqueConstraintViolation());
+
+		List<CreateFeedbackSettingResult> results = service.createFeedbackSettings(List.of(request, concurrentlyCreatedRequest));
+
+		verify(repositoryMock).findOwners(Set.of(PERSON_ID));
+		verify(repositoryMock).saveAllAndFlush(any());
+		verify(repositoryMock, times(2)).saveAndFlush(entityCaptor.capture());
+		verify(feedbackFilterIndexSpy).index(entityCaptor.getAllValues().get(0));
+		verify(feedbackFilterIndexSpy, never()).index(entityCaptor.getAllValues().get(1));
+		verifyNoMoreInteractions(repositoryMock);
+
+		assertThat(entityCaptor.getAllValues())
+			.extracting(FeedbackSettingEntity::getPersonId, FeedbackSettingEntity::getOrganizationId)
+			.containsExactly(tuple(PERSON_ID, null), tuple(PERSON_ID, ORGANIZATION_ID));
+		assertThat(results)
+			.extracting(CreateFeedbackSettingResult::getIndex, CreateFeedbackSettingResult::getStatus, CreateFeedbackSettingResult::getDetail)
+			.containsExactly(
+				tuple(0, 201, null),
+				tuple(1, 400, "Settings already exist for personId 'personId' representing organizationId 'organizationId'"));
+		assertThat(results.get(0).getFeedbackSetting().getChannels()).hasSize(2);
+	}
+
+	@Test
+	void createFeedbackSettingsInBatchWhenOtherIntegrityViolationOccurs() {
+		DataIntegrityViolationException violation = new DataIntegrityViolationException("could not execute statement",
+			new SQLIntegrityConstraintViolationException("Column 'person_id' cannot be null"));
+		CreateFeedbackSettingRequest request = CreateFeedbackSettingRequest.create().withPersonId(PERSON_ID);
+
+		doReturn(emptySet()).when(validatorMock).validate(any());
+		when(repositoryMock.findOwners(Set.of(PERSON_ID))).thenReturn(emptyList());
+		when(repositoryMock.saveAllAndFlush(any())).thenThrow(violation);
+
+		final var exception = assertThrows(DataIntegrityViolationException.class,
+				() -> service.createFeedbackSettings(List.of(request)));
+
+		verify(repositoryMock).findOwners(Set.of(PERSON_ID));
+		verify(repositoryMock).saveAllAndFlush(any());
+		verifyNoMoreInteractions(repositoryMock);
+
+		assertThat(exception).isSameAs(violation);
+	}
+
+	@Test
+	void createFeedbackSettingsInBatchWhenAllAreInvalid() {
+		CreateFeedbackSettingRequest invalidRequest = CreateFeedbackSettingRequest.create();
+
+		doReturn(Set.of(violationMock)).when(validatorMock).validate(invalidRequest);
+		when(violationMock.getMessage()).thenReturn("not a valid UUID");
+
+		List<CreateFeedbackSettingResult> results = service.createFeedbackSettings(List.of(invalidRequest));
+
+		verify(repositoryMock).saveAllAndFlush(entitiesCaptor.capture());
+		verifyNoMoreInteractions(repositoryMock);
+
+		assertThat(entitiesCaptor.getValue()).isEmpty();
+		assertThat(results)
+			.extracting(CreateFeedbackSettingResult::getIndex, CreateFeedbackSettingResult::getStatus)
+			.containsExactly(tuple(0, 400));
 	}
 
 	@Test
@@ -148,12 +351,15 @@ class FeedbackSettingsServiceTest {
 		when(entityMock.getId()).thenReturn(FEEDBACK_SETTINGS_ID);
 		when(entityMock.getPersonId()).thenReturn(PERSON_ID);
 		when(entityMock.getOrganizationId()).thenReturn(ORGANIZATION_ID);
+		when(repositoryMock.save(entityMock)).thenReturn(entityMock);
 
 		UpdateFeedbackSettingRequest request = UpdateFeedbackSettingRequest.create().withChannels(generateChannels());
-		FeedbackSetting response = service.updateFeedbackSetting(FEEDBACK_SETTINGS_ID, request);
+		FeedbackSetting response = service.updateFeedbackSetting(FEEDBACK_SETTINGS_ID, request, List.of());
 		
 		verify(repositoryMock).findById(FEEDBACK_SETTINGS_ID);
 		verify(repositoryMock).save(entityCaptor.capture());
+		verify(entityMock).preUpdate();
+		verify(cacheManagerMock).getCache(FEEDBACK_SETTINGS_CACHE);
 		verifyNoMoreInteractions(repositoryMock);
 		
 		assertThat(entityCaptor.getValue().getId()).isEqualTo(FEEDBACK_SETTINGS_ID);
@@ -165,12 +371,100 @@ class FeedbackSettingsServiceTest {
 		assertThat(response.getOrganizationId()).isEqualTo(ORGANIZATION_ID);
 	}
 
+	@Test
+	void updateFeedbackSettingsWithoutChanges() {
+		when(repositoryMock.findById(FEEDBACK_SETTINGS_ID)).thenReturn(Optional.of(entityMock));
+		when(entityMock.getId()).thenReturn(FEEDBACK_SETTINGS_ID);
+		when(entityMock.getModified()).thenReturn(MODIFIED);
+
+		FeedbackSetting response = service.updateFeedbackSetting(FEEDBACK_SETTINGS_ID, UpdateFeedbackSettingRequest.create()
+			.withChannels(List.of())
+			.withFilters(List.of()), List.of());
+
+		// Nothing is written, modified is kept and the cached setting is not evicted
+		verify(repositoryMock).findById(FEEDBACK_SETTINGS_ID);
+		verify(entityMock, never()).preUpdate();
+		verifyNoMoreInteractions(repositoryMock);
+		verifyNoInteractions(cacheManagerMock);
+
+		assertThat(response.getId()).isEqualTo(FEEDBACK_SETTINGS_ID);
+		assertThat(response.getModified()).isEqualTo(MODIFIED);
+	}
+
+	@Test
+	void updateFeedbackSettingsWithMatchingEntityTag() {
+		when(repositoryMock.findById(FEEDBACK_SETTINGS_ID)).thenReturn(Optional.of(entityMock));
+		when(repositoryMock.save(entityMock)).thenReturn(entityMock);
+		when(entityMock.getVersion()).thenReturn(VERSION);
+
+		UpdateFeedbackSettingRequest request = UpdateFeedbackSettingRequest.create().withChannels(generateChannels());
+		service.updateFeedbackSetting(FEEDBACK_SETTINGS_ID, request, List.of("\"outdated\"", toEntityTag(FEEDBACK_SETTINGS_ID, VERSION)));
+
+		verify(repositoryMock).findById(FEEDBACK_SETTINGS_ID);
+		verify(repositoryMock).save(entityMock);
+		verifyNoMoreInteractions(repositoryMock);
+	}
+
+	@Test
+	void updateFeedbackSettingsWithNonMatchingEntityTag() {
+		when(repositoryMock.findById(FEEDBACK_SETTINGS_ID)).thenReturn(Optional.of(entityMock));
+		when(entityMock.getVersion()).thenReturn(VERSION);
+
+		UpdateFeedbackSettingRequest request = UpdateFeedbackSettingRequest.create().withChannels(generateChannels());
+		// Entity tag of the previous version, e.g. read before an update made within the same millisecond
+		List<String> ifMatch = List.of(toEntityTag(FEEDBACK_SETTINGS_ID, VERSION - 1));
+
+		final var exception = assertThrows(ThrowableProblem.class,
+				() -> service.updateFeedbackSetting(FEEDBACK_SETTINGS_ID, request, ifMatch));
+
+		// Nothing is merged or written when the precondition fails
+		verify(repositoryMock).findById(FEEDBACK_SETTINGS_ID);
+		verify(entityMock, never()).preUpdate();
+		verifyNoMoreInteractions(repositoryMock);
+		verifyNoInteractions(cacheManagerMock);
+
+		assertThat(exception.getStatus()).isEqualTo(PRECONDITION_FAILED);
+		assertThat(exception.getMessage()).isEqualTo("Precondition Failed: Settings matching id 'settingsId' have been modified by another request");
+	}
+
+	@Test
+	void updateFeedbackSettingsModifiedConcurrentlyWithEntityTag() {
+		when(repositoryMock.findById(FEEDBACK_SETTINGS_ID)).thenReturn(Optional.of(entityMock));
+		when(repositoryMock.save(entityMock)).thenThrow(new ObjectOptimisticLockingFailureException(FeedbackSettingEntity.class, FEEDBACK_SETTINGS_ID));
+		when(entityMock.getVersion()).thenReturn(VERSION);
+
+		UpdateFeedbackSettingRequest request = UpdateFeedbackSettingRequest.create().withChannels(generateChannels());
+		List<String> ifMatch = List.of(toEntityTag(FEEDBACK_SETTINGS_ID, VERSION));
+
+		final var exception = assertThrows(ThrowableProblem.class,
+				() -> service.updateFeedbackSetting(FEEDBACK_SETTINGS_ID, request, ifMatch));
+
+		verifyNoInteractions(cacheManagerMock);
+		assertThat(exception.getStatus()).isEqualTo(PRECONDITION_FAILED);
+	}
+
+	@Test
+	void updateFeedbackSettingsModifiedConcurrentlyWithoutEntityTag() {
+		when(repositoryMock.findById(FEEDBACK_SETTINGS_ID)).thenReturn(Optional.of(entityMock));
+		when(repositoryMock.save(entityMock)).thenThrow(new ObjectOptimisticLockingFailureException(FeedbackSettingEntity.class, FEEDBACK_SETTINGS_ID));
+
+		UpdateFeedbackSettingRequest request = UpdateFeedbackSettingRequest.create().withChannels(generateChannels());
+		List<String> ifMatch = List.of();
+
+		final var exception = assertThrows(ThrowableProblem.class,
+				() -> service.updateFeedbackSetting(FEEDBACK_SETTINGS_ID, request, ifMatch));
+
+		verifyNoInteractions(cacheManagerMock);
+		assertThat(exception.getStatus()).isEqualTo(CONFLICT);
+		assertThat(exception.getMessage()).isEqualTo("Conflict: Settings matching id 'settingsId' have been modified by another request");
+	}
+
 	@Test
 	void updateFeedbackSettingsForNonExistingId() {
 		UpdateFeedbackSettingRequest request = UpdateFeedbackSettingRequest.create();
 		
 		final var exception = assertThrows(ThrowableProblem.class, 
-				() -> service.updateFeedbackSetting(FEEDBACK_SETTINGS_ID, request));
+				() -> service.updateFeedbackSetting(FEEDBACK_SETTINGS_ID, request, List.of()));
 		
 		verify(repositoryMock).findById(FEEDBACK_SETTINGS_ID);
 		verifyNoMoreInteractions(repositoryMock);
@@ -208,6 +502,48 @@ class FeedbackSettingsServiceTest {
 		assertThat(exception.getMessage()).isEqualTo("Not Found: No settings matching id 'settingsId' were found");
 	}
 
+	@Test
+	void getFeedbackSettingVersion() {
+		when(repositoryMock.findVersionById(FEEDBACK_SETTINGS_ID)).thenReturn(Optional.of(toVersion(VERSION, CREATED, MODIFIED)));
+
+		assertThat(service.getFeedbackSettingVersion(FEEDBACK_SETTINGS_ID)).isEqualTo(FeedbackSetting.create()
+			.withId(FEEDBACK_SETTINGS_ID)
+			.withVersion(VERSION)
+			.withCreated(CREATED)
+			.withModified(MODIFIED));
+
+		verify(repositoryMock).findVersionById(FEEDBACK_SETTINGS_ID);
+		verifyNoMoreInteractions(repositoryMock);
+	}
+
+	@Test
+	void getFeedbackSettingVersionForCachedSetting() {
+		FeedbackSetting cached = FeedbackSetting.create()
+			.withId(FEEDBACK_SETTINGS_ID)
+			.withVersion(VERSION)
+			.withCreated(CREATED)
+			.withModified(MODIFIED);
+		when(cacheManagerMock.getCache(FEEDBACK_SETTINGS_CACHE)).thenReturn(cacheMock);
+		when(cacheMock.get(FEEDBACK_SETTINGS_ID, FeedbackSetting.class)).thenReturn(cached);
+
+		assertThat(service.getFeedbackSettingVersion(FEEDBACK_SETTINGS_ID)).isSameAs(cached);
+
+		verifyNoInteractions(repositoryMock);
+	}
+
+	@Test
+	void getFeedbackSettingVersionForNonExistingId() {
+		when(repositoryMock.findVersionById(FEEDBACK_SETTINGS_ID)).thenReturn(Optional.empty());
+
+		final var exception = assertThrows(ThrowableProblem.class,
+				() -> service.getFeedbackSettingVersion(FEEDBACK_SETTINGS_ID));
+
+		verify(repositoryMock).findVersionById(FEEDBACK_SETTINGS_ID);
+		verifyNoMoreInteractions(repositoryMock);
+
+		assertThat(exception.getMessage()).isEqualTo("Not Found: No settings matching id 'settingsId' were found");
+	}
+
 	@Test
 	void getFeedbackSettingsForPersonId() {
 		when(repositoryMock.findAll(ArgumentMatchers.<Example<FeedbackSettingEntity>>any(), ArgumentMatchers.<Pageable>any())).thenReturn(pageMock);
@@ -215,7 +551,7 @@ class FeedbackSettingsServiceTest {
 		when(pageMock.getTotalPages()).thenReturn(1);
 		when(pageMock.getTotalElements()).thenReturn(1L);
 		
-		SearchResult response = service.getFeedbackSettings(HEADERS, PERSON_ID, null, 1, 10);
+		SearchResult response = service.getFeedbackSettings(NO_FILTERS, PERSON_ID, null, 1, 10);
 		
 		verify(repositoryMock).findAll(exampleCaptor.capture(), any(Pageable.class));
 		verifyNoMoreInteractions(repositoryMock);
@@ -238,7 +574,7 @@ class FeedbackSettingsServiceTest {
 		when(pageMock.getTotalPages()).thenReturn(1);
 		when(pageMock.getTotalElements()).thenReturn(1L);
 		
-		SearchResult response = service.getFeedbackSettings(HEADERS, null, ORGANIZATION_ID, 1, 10);
+		SearchResult response = service.getFeedbackSettings(NO_FILTERS, null, ORGANIZATION_ID, 1, 10);
 		
 		verify(repositoryMock).findAll(exampleCaptor.capture(), any(Pageable.class));
 		verifyNoMoreInteractions(repositoryMock);
@@ -261,7 +597,7 @@ class FeedbackSettingsServiceTest {
 		when(pageMock.getTotalPages()).thenReturn(1);
 		when(pageMock.getTotalElements()).thenReturn(1L);
 		
-		SearchResult response = service.getFeedbackSettings(HEADERS, PERSON_ID, ORGANIZATION_ID, 1, 10);
+		SearchResult response = service.getFeedbackSettings(NO_FILTERS, PERSON_ID, ORGANIZATION_ID, 1, 10);
 		
 		verify(repositoryMock).findAll(exampleCaptor.capture(), any(Pageable.class));
 		verifyNoMoreInteractions(repositoryMock);
@@ -283,12 +619,18 @@ class FeedbackSettingsServiceTest {
 		when(pageMock.getContent()).thenReturn(List.of(entityMock));
 		when(pageMock.getTotalPages()).thenReturn(2);
 		when(pageMock.getTotalElements()).thenReturn(15L);
+		when(pageMock.hasNext()).thenReturn(true);
+		when(entityMock.getId()).thenReturn(FEEDBACK_SETTINGS_ID);
 		
-		SearchResult response = service.getFeedbackSettings(HEADERS, null, null, 1, 10);
+		SearchResult response = service.getFeedbackSettings(NO_FILTERS, null, null, 1, 10);
 		
-		verify(repositoryMock).findAll(exampleCaptor.capture(), any(Pageable.class));
+		verify(repositoryMock).findAll(exampleCaptor.capture(), pageableCaptor.capture());
 		verifyNoMoreInteractions(repositoryMock);
 
+		assertThat(pageableCaptor.getValue().getPageNumber()).isZero();
+		assertThat(pageableCaptor.getValue().getSort()).isEqualTo(Sort.by("id"));
+		assertThat(response.getMetaData().getNextCursor()).isEqualTo(CursorUtils.toCursor(FEEDBACK_SETTINGS_ID));
+
 		assertThat(response.getMetaData().getCount()).isEqualTo(1L);
 		assertThat(response.getMetaData().getLimit()).isEqualTo(10);
 		assertThat(response.getMetaData().getPage()).isEqualTo(1);
@@ -300,13 +642,119 @@ class FeedbackSettingsServiceTest {
 			.hasFieldOrPropertyWithValue("organizationId", null);
 	}
 
+	@Test
+	void getFeedbackSettingsAfterCursorWithMorePages() {
+		List<FeedbackSettingEntity> entities = List.of(generateEntity("id-2", "broadband"), generateEntity("id-3", null), generateEntity("id-4", null));
+		when(repositoryMock.findAfter(any(), any(), any(), any())).thenReturn(entities);
+		when(repositoryMock.count(ArgumentMatchers.<Example<FeedbackSettingEntity>>any())).thenReturn(7L);
+
+		SearchResult response = service.getFeedbackSettingsAfterCursor(NO_FILTERS, null, ORGANIZATION_ID, CursorUtils.toCursor(CURSOR_ID), 2, true);
+
+		verify(repositoryMock).findAfter(isNull(), eq(ORGANIZATION_ID), eq(CURSOR_ID), pageableCaptor.capture());
+		verify(repositoryMock).count(exampleCaptor.capture());
+		verifyNoMoreInteractions(repositoryMock);
+
+		assertThat(pageableCaptor.getValue().getPageNumber()).isZero();
+		assertThat(pageableCaptor.getValue().getPageSize()).isEqualTo(3);
+		assertThat(response.getMetaData().getCount()).isEqualTo(2);
+		assertThat(response.getMetaData().getLimit()).isEqualTo(2);
+		assertThat(response.getMetaData().getPage()).isZero();
+		assertThat(response.getMetaData().getTotalPages()).isEqualTo(4);
+		assertThat(response.getMetaData().getTotalRecords()).isEqualTo(7L);
+		assertThat(response.getMetaData().getNextCursor()).isEqualTo(CursorUtils.toCursor("id-3"));
+		assertThat(response.getFeedbackSettings()).extracting(WeightedFeedbackSetting::getId).containsExactly("id-2", "id-3");
+		assertThat(exampleCaptor.getValue().getProbe())
+			.hasFieldOrPropertyWithValue("personId", null)
+			.hasFieldOrPropertyWithValue("organizationId", ORGANIZATION_ID);
+	}
+
+	@Test
+	void getFeedbackSettingsAfterCursorOnLastPage() {
+		when(repositoryMock.findAfter(any(), any(), any(), any())).thenReturn(List.of(generateEntity("id-2", null)));
+		when(repositoryMock.count(ArgumentMatchers.<Example<FeedbackSettingEntity>>any())).thenReturn(2L);
+
+		SearchResult response = service.getFeedbackSettingsAfterCursor(NO_FILTERS, PERSON_ID, null, CursorUtils.toCursor(CURSOR_ID), 2, true);
+
+		verify(repositoryMock).findAfter(eq(PERSON_ID), isNull(), eq(CURSOR_ID), any(Pageable.class));
+
+		assertThat(response.getMetaData().getCount()).isOne();
+		assertThat(response.getMetaData().getTotalPages()).isOne();
+		assertThat(response.getMetaData().getNextCursor()).isNull();
+		assertThat(response.getFeedbackSettings()).extracting(WeightedFeedbackSetting::getId).containsExactly("id-2");
+	}
+
+	@Test
+	void getFeedbackSettingsAfterCursorWithoutTotals() {
+		when(repositoryMock.findAfter(any(), any(), any(), any())).thenReturn(List.of(generateEntity("id-2", null), generateEntity("id-3", null)));
+
+		SearchResult response = service.getFeedbackSettingsAfterCursor(NO_FILTERS, PERSON_ID, null, CursorUtils.toCursor(CURSOR_ID), 1, false);
+
+		verify(repositoryMock).findAfter(eq(PERSON_ID), isNull(), eq(CURSOR_ID), any(Pageable.class));
+		verifyNoMoreInteractions(repositoryMock);
+
+		assertThat(response.getMetaData().getCount()).isOne();
+		assertThat(response.getMetaData().getTotalPages()).isNull();
+		assertThat(response.getMetaData().getTotalRecords()).isNull();
+		assertThat(response.getMetaData().getNextCursor()).isEqualTo(CursorUtils.toCursor("id-2"));
+		assertThat(response.getFeedbackSettings()).extracting(WeightedFeedbackSetting::getId).containsExactly("id-2");
+	}
+
+	@Test
+	void getFeedbackSettingsWithoutTotals() {
+		List<FeedbackFilter> searchFilters = List.of(FeedbackFilter.create().withKey("categories").withValues(List.of("broadband")));
+		when(repositoryMock.findSlice(any(), any(), any())).thenReturn(sliceMock);
+		when(sliceMock.getContent()).thenReturn(List.of(generateEntity("id-1", "electricity"), generateEntity("id-2", "broadband")));
+		when(sliceMock.hasNext()).thenReturn(true);
+
+		SearchResult response = service.getFeedbackSettingsWithoutTotals(searchFilters, null, ORGANIZATION_ID, 2, 2);
+
+		verify(repositoryMock).findSlice(isNull(), eq(ORGANIZATION_ID), pageableCaptor.capture());
+		verifyNoMoreInteractions(repositoryMock);
+
+		assertThat(pageableCaptor.getValue().getPageNumber()).isOne();
+		assertThat(pageableCaptor.getValue().getPageSize()).isEqualTo(2);
+		assertThat(pageableCaptor.getValue().getSort()).isEqualTo(Sort.by("id"));
+		assertThat(response.getMetaData().getPage()).isEqualTo(2);
+		assertThat(response.getMetaData().getLimit()).isEqualTo(2);
+		assertThat(response.getMetaData().getCount()).isEqualTo(2);
+		assertThat(response.getMetaData().getTotalPages()).isNull();
+		assertThat(response.getMetaData().getTotalRecords()).isNull();
+		assertThat(response.getMetaData().getNextCursor()).isEqualTo(CursorUtils.toCursor("id-2"));
+		assertThat(response.getFeedbackSettings())
+			.extracting(WeightedFeedbackSetting::getId, WeightedFeedbackSetting::getMatchingPercent)
+			.containsExactly(tuple("id-2", 100), tuple("id-1", 50));
+	}
+
+	@Test
+	void getFeedbackSettingsWithoutTotalsOnLastPage() {
+		when(repositoryMock.findSlice(any(), any(), any())).thenReturn(sliceMock);
+		when(sliceMock.getContent()).thenReturn(List.of());
+
+		SearchResult response = service.getFeedbackSettingsWithoutTotals(NO_FILTERS, PERSON_ID, null, 100, 10);
+
+		assertThat(response.getMetaData().getPage()).isEqualTo(100);
+		assertThat(response.getMetaData().getCount()).isZero();
+		assertThat(response.getMetaData().getNextCursor()).isNull();
+		assertThat(response.getFeedbackSettings()).isEmpty();
+	}
+
+	@Test
+	void getFeedbackSettingsAfterInvalidCursor() {
+		final var exception = assertThrows(ThrowableProblem.class,
+				() -> service.getFeedbackSettingsAfterCursor(NO_FILTERS, PERSON_ID, null, "%%%", 2, true));
+
+		verifyNoMoreInteractions(repositoryMock);
+
+		assertThat(exception.getMessage()).isEqualTo("Bad Request: Cursor '%%%' is not valid");
+	}
+
 	@Test
 	void getFeedbackSettingsForPageLargerThanResultsMaxPage() {
 		when(repositoryMock.findAll(ArgumentMatchers.<Example<FeedbackSettingEntity>>any(), ArgumentMatchers.<Pageable>any())).thenReturn(pageMock);
 		when(pageMock.getTotalPages()).thenReturn(1);
 		when(pageMock.getTotalElements()).thenReturn(1L);
 		
-		SearchResult response = service.getFeedbackSettings(HEADERS, null, null, 100, 10);
+		SearchResult response = service.getFeedbackSettings(NO_FILTERS, null, null, 100, 10);
 		
 		verify(repositoryMock).findAll(exampleCaptor.capture(), any(Pageable.class));
 		verifyNoMoreInteractions(repositoryMock);
@@ -322,29 +770,516 @@ class FeedbackSettingsServiceTest {
 			.hasFieldOrPropertyWithValue("organizationId", null);
 	}
 
+	@Test
+	void getRankedFeedbackSettings() {
+		List<FeedbackFilter> searchFilters = List.of(FeedbackFilter.create().withKey("categories").withValues(List.of("broadband")));
+		List<FeedbackSettingEntity> entities = generateEntities();
+
+		when(repositoryMock.count(ArgumentMatchers.<Example<FeedbackSettingEntity>>any())).thenReturn(5L);
+		when(repositoryMock.findRanked(null, ORGANIZATION_ID, "[{\"key\":\"CATEGORIES\",\"values\":[\"broadband\"]}]", 1, 2, 0L))
+			.thenReturn(List.of(toScore("id-2", 0), toScore("id-3", 0)));
+		when(repositoryMock.findAllById(ArgumentMatchers.<Iterable<String>>any())).thenAnswer(invocation -> findAllById(entities, invocation.getArgument(0)));
+
+		SearchResult response = service.getRankedFeedbackSettings(searchFilters, null, ORGANIZATION_ID, 1, 2, null, null);
+
+		verify(repositoryMock).count(exampleCaptor.capture());
+		verify(repositoryMock).findRanked(null, ORGANIZATION_ID, "[{\"key\":\"CATEGORIES\",\"values\":[\"broadband\"]}]", 1, 2, 0L);
+		verify(repositoryMock).findAllById(List.of("id-2", "id-3"));
+		verifyNoMoreInteractions(repositoryMock);
+
+		assertThat(exampleCaptor.getValue().getProbe())
+			.hasFieldOrPropertyWithValue("personId", null)
+			.hasFieldOrPropertyWithValue("organizationId", ORGANIZATION_ID);
+		assertThat(response.getMetaData().getCount()).isEqualTo(2);
+		assertThat(response.getMetaData().getLimit()).isEqualTo(2);
+		assertThat(response.getMetaData().getPage()).isEqualTo(1);
+		assertThat(response.getMetaData().getTotalPages()).isEqualTo(3);
+		assertThat(response.getMetaData().getTotalRecords()).isEqualTo(5L);
+		assertThat(response.getFeedbackSettings())
+			.extracting(WeightedFeedbackSetting::getId, WeightedFeedbackSetting::getMatchingPercent)
+			.containsExactly(tuple("id-2", 100), tuple("id-3", 100));
+	}
+
+	@Test
+	void getRankedFeedbackSettingsForLastPage() {
+		List<FeedbackFilter> searchFilters = List.of(FeedbackFilter.create().withKey("categories").withValues(List.of("broadband")));
+		List<FeedbackSettingEntity> entities = generateEntities();
+
+		when(repositoryMock.count(ArgumentMatchers.<Example<FeedbackSettingEntity>>any())).thenReturn(5L);
+		when(repositoryMock.findRanked(eq(null), eq(ORGANIZATION_ID), any(), eq(1), eq(1), eq(4L))).thenReturn(List.of(toScore("id-4", 1)));
+		when(repositoryMock.findAllById(ArgumentMatchers.<Iterable<String>>any())).thenAnswer(invocation -> findAllById(entities, invocation.getArgument(0)));
+
+		SearchResult response = service.getRankedFeedbackSettings(searchFilters, null, ORGANIZATION_ID, 3, 2, null, null);
+
+		verify(repositoryMock).findAllById(List.of("id-4"));
+
+		assertThat(response.getMetaData().getCount()).isEqualTo(1);
+		assertThat(response.getMetaData().getPage()).isEqualTo(3);
+		assertThat(response.getMetaData().getTotalPages()).isEqualTo(3);
+		assertThat(response.getMetaData().getTotalRecords()).isEqualTo(5L);
+		assertThat(response.getFeedbackSettings())
+			.extracting(WeightedFeedbackSetting::getId, WeightedFeedbackSetting::getMatchingPercent)
+			.containsExactly(tuple("id-4", 50));
+	}
+
+	@Test
+	void getRankedFeedbackSettingsWithoutSearchFilters() {
+		List<FeedbackSettingEntity> entities = generateEntities();
+
+		when(repositoryMock.count(ArgumentMatchers.<Example<FeedbackSettingEntity>>any())).thenReturn(5L);
+		when(repositoryMock.findRanked(PERSON_ID, null, "[]", 0, 5, 0L)).thenReturn(List.of(toScore("id-1", 0), toScore("id-2", 0)));
+		when(repositoryMock.findAllById(ArgumentMatchers.<Iterable<String>>any())).thenAnswer(invocation -> findAllById(entities, invocation.getArgument(0)));
+
+		SearchResult response = service.getRankedFeedbackSettings(NO_FILTERS, PERSON_ID, null, 1, 10, null, null);
+
+		assertThat(response.getFeedbackSettings())
+			.extracting(WeightedFeedbackSetting::getId, WeightedFeedbackSetting::getMatchingPercent)
+			.containsExactly(tuple("id-1", 100), tuple("id-2", 100));
+	}
+
+	@Test
+	void getRankedFeedbackSettingsWithMinMatchingPercentAndTop() {
+		List<FeedbackFilter> searchFilters = List.of(FeedbackFilter.create().withKey("categories").withValues(List.of("broadband")));
+		List<FeedbackSettingEntity> entities = generateEntities();
+
+		when(repositoryMock.countRanked(null, ORGANIZATION_ID, "[{\"key\":\"CATEGORIES\",\"values\":[\"broadband\"]}]", 0)).thenReturn(4L);
+		when(repositoryMock.findRanked(null, ORGANIZATION_ID, "[{\"key\":\"CATEGORIES\",\"values\":[\"broadband\"]}]", 0, 1, 2L)).thenReturn(List.of(toScore("id-5", 0)));
+		when(repositoryMock.findAllById(ArgumentMatchers.<Iterable<String>>any())).thenAnswer(invocation -> findAllById(entities, invocation.getArgument(0)));
+
+		// Only settings matching all search filters reach 75 percent, and only the top 3 of them are ranked
+		SearchResult response = service.getRankedFeedbackSettings(searchFilters, null, ORGANIZATION_ID, 2, 2, 75, 3);
+
+		verify(repositoryMock).countRanked(null, ORGANIZATION_ID, "[{\"key\":\"CATEGORIES\",\"values\":[\"broadband\"]}]", 0);
+		verify(repositoryMock).findRanked(null, ORGANIZATION_ID, "[{\"key\":\"CATEGORIES\",\"values\":[\"broadband\"]}]", 0, 1, 2L);
+		verify(repositoryMock).findAllById(List.of("id-5"));
+		verifyNoMoreInteractions(repositoryMock);
+
+		assertThat(response.getMetaData().getCount()).isOne();
+		assertThat(response.getMetaData().getPage()).isEqualTo(2);
+		assertThat(response.getMetaData().getTotalPages()).isEqualTo(2);
+		assertThat(response.getMetaData().getTotalRecords()).isEqualTo(3L);
+		assertThat(response.getFeedbackSettings())
+			.extracting(WeightedFeedbackSetting::getId, WeightedFeedbackSetting::getMatchingPercent)
+			.containsExactly(tuple("id-5", 100));
+	}
+
+	@Test
+	void getRankedFeedbackSettingsWithMinMatchingPercentReachedByAllSettings() {
+		List<FeedbackFilter> searchFilters = List.of(FeedbackFilter.create().withKey("categories").withValues(List.of("broadband")));
+
+		when(repositoryMock.count(ArgumentMatchers.<Example<FeedbackSettingEntity>>any())).thenReturn(0L);
+
+		SearchResult response = service.getRankedFeedbackSettings(searchFilters, null, ORGANIZATION_ID, 1, 2, 50, null);
+
+		// As all settings reach 50 percent, no scoring is needed for counting them
+		verify(repositoryMock).count(ArgumentMatchers.<Example<FeedbackSettingEntity>>any());
+		verifyNoMoreInteractions(repositoryMock);
+
+		assertThat(response.getMetaData().getTotalRecords()).isZero();
+		assertThat(response.getFeedbackSettings()).isEmpty();
+	}
+
+	@Test
+	void getRankedFeedbackSettingsForPageLargerThanResultsMaxPage() {
+		when(repositoryMock.count(ArgumentMatchers.<Example<FeedbackSettingEntity>>any())).thenReturn(1L);
+
+		SearchResult response = service.getRankedFeedbackSettings(NO_FILTERS, PERSON_ID, null, 100, 10, null, null);
+
+		verify(repositoryMock).count(ArgumentMatchers.<Example<FeedbackSettingEntity>>any());
+		verifyNoMoreInteractions(repositoryMock);
+
+		assertThat(response.getMetaData().getCount()).isZero();
+		assertThat(response.getMetaData().getPage()).isEqualTo(100);
+		assertThat(response.getMetaData().getTotalPages()).isEqualTo(1);
+		assertThat(response.getMetaData().getTotalRecords()).isEqualTo(1L);
+		assertThat(response.getFeedbackSettings()).isEmpty();
+	}
+
+	@Test
+	void getRankedFeedbackSettingsWithIndex() {
+		List<FeedbackFilter> searchFilters = List.of(FeedbackFilter.create().withKey("categories").withValues(List.of("broadband")));
+		List<FeedbackSettingEntity> entities = generateEntities();
+
+		doReturn(true).when(feedbackFilterIndexSpy).isEnabled();
+		when(repositoryMock.findReferences(null, ORGANIZATION_ID)).thenReturn(entities.stream().map(FeedbackSettingsServiceTest::toReference));
+		when(repositoryMock.findAllById(ArgumentMatchers.<Iterable<String>>any())).thenAnswer(invocation -> findAllById(entities, invocation.getArgument(0)));
+
+		SearchResult response = service.getRankedFeedbackSettings(searchFilters, null, ORGANIZATION_ID, 1, 2, null, null);
+
+		verify(repositoryMock).findReferences(null, ORGANIZATION_ID);
+		verify(repositoryMock).findAllById(List.of("id-1", "id-2", "id-3", "id-4", "id-5"));
+		verify(repositoryMock).findAllById(List.of("id-2", "id-3"));
+		verifyNoMoreInteractions(repositoryMock);
+
+		assertThat(response.getMetaData().getCount()).isEqualTo(2);
+		assertThat(response.getMetaData().getLimit()).isEqualTo(2);
+		assertThat(response.getMetaData().getPage()).isEqualTo(1);
+		assertThat(response.getMetaData().getTotalPages()).isEqualTo(3);
+		assertThat(response.getMetaData().getTotalRecords()).isEqualTo(5L);
+		assertThat(response.getFeedbackSettings())
+			.extracting(WeightedFeedbackSetting::getId, WeightedFeedbackSetting::getMatchingPercent)
+			.containsExactly(tuple("id-2", 100), tuple("id-3", 100));
+	}
+
+	@Test
+	void getRankedFeedbackSettingsWithIndexForLastPageWhenAllSettingsAreIndexed() {
+		List<FeedbackFilter> searchFilters = List.of(FeedbackFilter.create().withKey("categories").withValues(List.of("broadband")));
+		List<FeedbackSettingEntity> entities = generateEntities();
+		doReturn(true).when(feedbackFilterIndexSpy).isEnabled();
+		entities.forEach(feedbackFilterIndexSpy::index);
+
+		when(repositoryMock.findReferences(null, ORGANIZATION_ID)).thenReturn(entities.stream().map(FeedbackSettingsServiceTest::toReference));
+		when(repositoryMock.findAllById(ArgumentMatchers.<Iterable<String>>any())).thenAnswer(invocation -> findAllById(entities, invocation.getArgument(0)));
+
+		SearchResult response = service.getRankedFeedbackSettings(searchFilters, null, ORGANIZATION_ID, 3, 2, null, null);
+
+		verify(repositoryMock).findReferences(null, ORGANIZATION_ID);
+		verify(repositoryMock).findAllById(List.of("id-4"));
+		verifyNoMoreInteractions(repositoryMock);
+
+		assertThat(response.getMetaData().getCount()).isEqualTo(1);
+		assertThat(response.getMetaData().getPage()).isEqualTo(3);
+		assertThat(response.getMetaData().getTotalPages()).isEqualTo(3);
+		assertThat(response.getMetaData().getTotalRecords()).isEqualTo(5L);
+		assertThat(response.getFeedbackSettings())
+			.extracting(WeightedFeedbackSetting::getId, WeightedFeedbackSetting::getMatchingPercent)
+			.containsExactly(tuple("id-4", 50));
+	}
+
+	@Test
+	void getRankedFeedbackSettingsWithIndexWithMinMatchingPercentAndTop() {
+		List<FeedbackFilter> searchFilters = List.of(FeedbackFilter.create().withKey("categories").withValues(List.of("broadband")));
+		List<FeedbackSettingEntity> entities = generateEntities();
+		doReturn(true).when(feedbackFilterIndexSpy).isEnabled();
+		entities.forEach(feedbackFilterIndexSpy::index);
+
+		when(repositoryMock.findReferences(null, ORGANIZATION_ID)).thenReturn(entities.stream().map(FeedbackSettingsServiceTest::toReference));
+		when(repositoryMock.findAllById(ArgumentMatchers.<Iterable<String>>any())).thenAnswer(invocation -> findAllById(entities, invocation.getArgument(0)));
+
+		// Only id-2, id-3 and id-5 reach 75 percent, and only the top 2 of them are ranked
+		SearchResult response = service.getRankedFeedbackSettings(searchFilters, null, ORGANIZATION_ID, 1, 10, 75, 2);
+
+		verify(repositoryMock).findReferences(null, ORGANIZATION_ID);
+		verify(repositoryMock).findAllById(List.of("id-2", "id-3"));
+		verifyNoMoreInteractions(repositoryMock);
+
+		assertThat(response.getMetaData().getCount()).isEqualTo(2);
+		assertThat(response.getMetaData().getTotalPages()).isOne();
+		assertThat(response.getMetaData().getTotalRecords()).isEqualTo(2L);
+		assertThat(response.getFeedbackSettings())
+			.extracting(WeightedFeedbackSetting::getId, WeightedFeedbackSetting::getMatchingPercent)
+			.containsExactly(tuple("id-2", 100), tuple("id-3", 100));
+	}
+
+	@Test
+	void getRankedFeedbackSettingsWithIndexForPageLargerThanResultsMaxPage() {
+		FeedbackSettingEntity entity = generateEntity("id-1", null);
+		doReturn(true).when(feedbackFilterIndexSpy).isEnabled();
+		feedbackFilterIndexSpy.index(entity);
+
+		when(repositoryMock.findReferences(PERSON_ID, null)).thenReturn(Stream.of(toReference(entity)));
+
+		SearchResult response = service.getRankedFeedbackSettings(NO_FILTERS, PERSON_ID, null, 100, 10, null, null);
+
+		verify(repositoryMock).findReferences(PERSON_ID, null);
+		verifyNoMoreInteractions(repositoryMock);
+
+		assertThat(response.getMetaData().getCount()).isZero();
+		assertThat(response.getMetaData().getPage()).isEqualTo(100);
+		assertThat(response.getMetaData().getTotalPages()).isEqualTo(1);
+		assertThat(response.getMetaData().getTotalRecords()).isEqualTo(1L);
+		assertThat(response.getFeedbackSettings()).isEmpty();
+	}
+
+	@ParameterizedTest
+	@ValueSource(booleans = { true, false })
+	void getRankedFeedbackSettingsGivesSameResultWithAndWithoutIndex(boolean inMemoryIndex) {
+		// Duplicated key is merged, hence there are two search filters and settings with one unmatched filter reach 67 percent
+		List<FeedbackFilter> searchFilters = List.of(
+			FeedbackFilter.create().withKey("categories").withValues(List.of("broadband")),
+			FeedbackFilter.create().withKey("CATEGORIES").withValues(List.of("Broadband")),
+			FeedbackFilter.create().withKey("messagetypes").withValues(List.of("information")));
+		List<FeedbackSettingEntity> entities = generateEntities();
+
+		when(repositoryMock.findAllById(ArgumentMatchers.<Iterable<String>>any())).thenAnswer(invocation -> findAllById(entities, invocation.getArgument(0)));
+		if (inMemoryIndex) {
+			doReturn(true).when(feedbackFilterIndexSpy).isEnabled();
+			when(repositoryMock.findReferences(null, ORGANIZATION_ID)).thenReturn(entities.stream().map(FeedbackSettingsServiceTest::toReference));
+		} else {
+			when(repositoryMock.countRanked(eq(null), eq(ORGANIZATION_ID), any(), eq(0))).thenReturn(3L);
+			when(repositoryMock.findRanked(eq(null), eq(ORGANIZATION_ID), any(), eq(0), eq(2), eq(0L))).thenReturn(List.of(toScore("id-2", 0), toScore("id-3", 0)));
+		}
+
+		SearchResult response = service.getRankedFeedbackSettings(searchFilters, null, ORGANIZATION_ID, 1, 2, 70, null);
+
+		assertThat(response.getMetaData().getTotalRecords()).isEqualTo(3L);
+		assertThat(response.getMetaData().getTotalPages()).isEqualTo(2);
+		assertThat(response.getFeedbackSettings())
+			.extracting(WeightedFeedbackSetting::getId, WeightedFeedbackSetting::getMatchingPercent)
+			.containsExactly(tuple("id-2", 100), tuple("id-3", 100));
+	}
+
+	@Test
+	void searchFeedbackSettings() {
+		List<String> personIds = IntStream.range(0, 150).mapToObj(i -> "personId-" + i).toList();
+		FeedbackSettingsSearchRequest request = FeedbackSettingsSearchRequest.create()
+			.withPersonIds(personIds)
+			.withOrganizationId(ORGANIZATION_ID)
+			.withFilters(List.of(FeedbackFilter.create().withKey("categories").withValues(List.of("electricity"))));
+
+		when(repositoryMock.findByPersonIds(personIds.subList(0, 100), ORGANIZATION_ID)).thenReturn(List.of(
+			generateEntity("id-1", "broadband").withPersonId("personId-1"),
+			generateEntity("id-2", "electricity").withPersonId("personId-1")));
+		when(repositoryMock.findByPersonIds(personIds.subList(100, 150), ORGANIZATION_ID)).thenReturn(List.of(
+			generateEntity("id-3", null).withPersonId("personId-0")));
+
+		List<WeightedFeedbackSetting> result = service.searchFeedbackSettings(request);
+
+		verify(repositoryMock).findByPersonIds(personIds.subList(0, 100), ORGANIZATION_ID);
+		verify(repositoryMock).findByPersonIds(personIds.subList(100, 150), ORGANIZATION_ID);
+		verifyNoMoreInteractions(repositoryMock);
+		verify(searchMetricsSpy).map(any());
+		verify(searchMetricsSpy).score(any());
+		verify(searchMetricsSpy).recordSearch(eq(request.getFilters()), any());
+
+		assertThat(result)
+			.extracting(WeightedFeedbackSetting::getId, WeightedFeedbackSetting::getMatchingPercent)
+			.containsExactly(
+				tuple("id-3", 100),
+				tuple("id-2", 100),
+				tuple("id-1", 50));
+	}
+
+	@Test
+	void searchFeedbackSettingsWithDuplicatePersonIds() {
+		FeedbackSettingsSearchRequest request = FeedbackSettingsSearchRequest.create()
+			.withPersonIds(List.of(PERSON_ID, PERSON_ID));
+
+		List<WeightedFeedbackSetting> result = service.searchFeedbackSettings(request);
+
+		verify(repositoryMock).findByPersonIds(List.of(PERSON_ID), null);
+		verifyNoMoreInteractions(repositoryMock);
+		assertThat(result).isEmpty();
+	}
+
+	@Test
+	void eraseFeedbackSettings() {
+		String personId1 = "49a974ea-9137-419b-bcb9-ad74c81a1d1f";
+		String personId2 = "49a974ea-9137-419b-bcb9-ad74c81a1d2f";
+		FeedbackSettingsErasureRequest request = FeedbackSettingsErasureRequest.create()
+			.withPersonIds(List.of(personId1, personId2, personId1));
+
+		when(repositoryMock.findIdsByPersonIds(List.of(personId1, personId2))).thenReturn(List.of("id-1", "id-2"));
+		when(repositoryMock.deleteFiltersByPersonIds(ArgumentMatchers.<Collection<byte[]>>any())).thenReturn(4);
+		when(repositoryMock.deleteChannelsByPersonIds(ArgumentMatchers.<Collection<byte[]>>any())).thenReturn(3);
+		when(repositoryMock.deleteSettingsByPersonIds(List.of(personId1, personId2))).thenReturn(2);
+		when(cacheManagerMock.getCache(FEEDBACK_SETTINGS_CACHE)).thenReturn(cacheMock);
+
+		FeedbackSettingsErasureResult result = service.eraseFeedbackSettings(request);
+
+		verify(repositoryMock).findIdsByPersonIds(List.of(personId1, personId2));
+		verify(repositoryMock).deleteFiltersByPersonIds(binaryIdsCaptor.capture());
+		verify(repositoryMock).deleteChannelsByPersonIds(binaryIdsCaptor.getValue());
+		verify(repositoryMock).deleteSettingsByPersonIds(List.of(personId1, personId2));
+		verifyNoMoreInteractions(repositoryMock);
+		verify(cacheMock).evict("id-1");
+		verify(cacheMock).evict("id-2");
+
+		assertThat(binaryIdsCaptor.getValue()).containsExactly(UuidBinaryType.toBytes(personId1), UuidBinaryType.toBytes(personId2));
+		assertThat(result.getDeletedSettings()).isEqualTo(2);
+		assertThat(result.getDeletedChannels()).isEqualTo(3);
+		assertThat(result.getDeletedFilters()).isEqualTo(4);
+	}
+
+	@Test
+	void eraseFeedbackSettingsEvictsCacheAfterCommit() {
+		String personId = "49a974ea-9137-419b-bcb9-ad74c81a1d1f";
+		FeedbackSettingsErasureRequest request = FeedbackSettingsErasureRequest.create().withPersonIds(List.of(personId));
+
+		when(repositoryMock.findIdsByPersonIds(List.of(personId))).thenReturn(List.of("id-1", "id-2"));
+		when(cacheManagerMock.getCache(FEEDBACK_SETTINGS_CACHE)).thenReturn(cacheMock);
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			service.eraseFeedbackSettings(request);
+
+			verifyNoInteractions(cacheMock);
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+			verify(cacheMock).evict("id-1");
+			verify(cacheMock).evict("id-2");
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void exportFeedbackSettings() throws Exception {
+		List<FeedbackSettingEntity> entities = IntStream.range(0, 150).mapToObj(i -> generateEntity("id-" + i, "broadband")).toList();
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		when(repositoryMock.findChunkAfter(null, PageRequest.of(0, 100))).thenReturn(entities.subList(0, 100));
+		when(repositoryMock.findChunkAfter("id-99", PageRequest.of(0, 100))).thenReturn(entities.subList(100, 150));
+
+		service.exportFeedbackSettings(outputStream);
+
+		verify(repositoryMock).findChunkAfter(null, PageRequest.of(0, 100));
+		verify(repositoryMock).findChunkAfter("id-99", PageRequest.of(0, 100));
+		verify(entityManagerMock, times(2)).clear();
+		verifyNoMoreInteractions(repositoryMock);
+
+		List<String> lines = outputStream.toString(UTF_8).lines().toList();
+		assertThat(lines).hasSize(150);
+		assertThat(objectMapperSpy.readValue(lines.get(149), FeedbackSetting.class)).isEqualTo(toFeedbackSetting(entities.get(149)));
+	}
+
+	@Test
+	void exportFeedbackSettingsWhenEmpty() throws Exception {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		when(repositoryMock.findChunkAfter(null, PageRequest.of(0, 100))).thenReturn(emptyList());
+
+		service.exportFeedbackSettings(outputStream);
+
+		verify(repositoryMock).findChunkAfter(null, PageRequest.of(0, 100));
+		verifyNoMoreInteractions(repositoryMock);
+
+		verify(entityManagerMock, never()).clear();
+		assertThat(outputStream.toByteArray()).isEmpty();
+	}
+
 	@Test
 	void deleteFeedbackSettings() {
-		when(repositoryMock.existsById(FEEDBACK_SETTINGS_ID)).thenReturn(true);
+		when(repositoryMock.deleteSettingById(FEEDBACK_SETTINGS_ID)).thenReturn(1);
+		when(cacheManagerMock.getCache(FEEDBACK_SETTINGS_CACHE)).thenReturn(cacheMock);
 		service.deleteFeedbackSetting(FEEDBACK_SETTINGS_ID);
 		
-		verify(repositoryMock).existsById(FEEDBACK_SETTINGS_ID);
-		verify(repositoryMock).deleteById(FEEDBACK_SETTINGS_ID);
+		verify(repositoryMock).deleteFiltersBySettingId(FEEDBACK_SETTINGS_ID);
+		verify(repositoryMock).deleteChannelsBySettingId(FEEDBACK_SETTINGS_ID);
+		verify(repositoryMock).deleteSettingById(FEEDBACK_SETTINGS_ID);
+		verify(cacheMock).evict(FEEDBACK_SETTINGS_ID);
 		
 		verifyNoMoreInteractions(repositoryMock);
 	}
 
+	@Test
+	void deleteFeedbackSettingsEvictsCacheAfterCommit() {
+		when(repositoryMock.deleteSettingById(FEEDBACK_SETTINGS_ID)).thenReturn(1);
+		when(cacheManagerMock.getCache(FEEDBACK_SETTINGS_CACHE)).thenReturn(cacheMock);
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			service.deleteFeedbackSetting(FEEDBACK_SETTINGS_ID);
+
+			verifyNoInteractions(cacheMock);
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+			verify(cacheMock).evict(FEEDBACK_SETTINGS_ID);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
 	@Test
 	void deleteFeedbackSettingsForNonExistingId() {
 		final var exception = assertThrows(ThrowableProblem.class, 
 				() -> service.deleteFeedbackSetting(FEEDBACK_SETTINGS_ID));
 
-		verify(repositoryMock).existsById(FEEDBACK_SETTINGS_ID);
+		verify(repositoryMock).deleteFiltersBySettingId(FEEDBACK_SETTINGS_ID);
+		verify(repositoryMock).deleteChannelsBySettingId(FEEDBACK_SETTINGS_ID);
+		verify(repositoryMock).deleteSettingById(FEEDBACK_SETTINGS_ID);
 		verifyNoMoreInteractions(repositoryMock);
 
 		assertThat(exception.getMessage()).isEqualTo("Not Found: No settings matching id 'settingsId' were found");
-		
 	}
 	
+	private List<FeedbackSettingEntity> generateEntities() {
+		return List.of(
+			generateEntity("id-1", "electricity"),
+			generateEntity("id-2", "broadband"),
+			generateEntity("id-3", null),
+			generateEntity("id-4", "electricity"),
+			generateEntity("id-5", "broadband"));
+	}
+
+	private static List<FeedbackSettingEntity> findAllById(List<FeedbackSettingEntity> entities, Iterable<String> ids) {
+		List<String> idList = new ArrayList<>();
+		ids.forEach(idList::add);
+		return entities.stream().filter(entity -> idList.contains(entity.getId())).toList();
+	}
+
+	private static DataIntegrityViolationException uniqueConstraintViolation() {
+		return new DataIntegrityViolationException("could not execute statement", new SQLIntegrityConstraintViolationException(
+			"Duplicate entry 'x' for key 'feedback_settings_person_id_organization_id_unique_constraint'"));
+	}
+
+	private static FeedbackSettingOwner toOwner(String personId, String organizationId) {
+		return new FeedbackSettingOwner() {
+			@Override
+			public String getPersonId() {
+				return personId;
+			}
+
+			@Override
+			public String getOrganizationId() {
+				return organizationId;
+			}
+		};
+	}
+
+	private static FeedbackSettingReference toReference(FeedbackSettingEntity entity) {
+		return new FeedbackSettingReference() {
+			@Override
+			public String getId() {
+				return entity.getId();
+			}
+
+			@Override
+			public OffsetDateTime getModified() {
+				return entity.getModified();
+			}
+		};
+	}
+
+	private static FeedbackSettingVersion toVersion(Long version, OffsetDateTime created, OffsetDateTime modified) {
+		return new FeedbackSettingVersion() {
+			@Override
+			public Long getVersion() {
+				return version;
+			}
+
+			@Override
+			public OffsetDateTime getCreated() {
+				return created;
+			}
+
+			@Override
+			public OffsetDateTime getModified() {
+				return modified;
+			}
+		};
+	}
+
+	private static FeedbackSettingScore toScore(String id, int unmatchedFilters) {
+		return new FeedbackSettingScore() {
+			@Override
+			public String getId() {
+				return id;
+			}
+
+			@Override
+			public int getUnmatchedFilters() {
+				return unmatchedFilters;
+			}
+		};
+	}
+
+	private FeedbackSettingEntity generateEntity(String id, String category) {
+		return FeedbackSettingEntity.create()
+			.withId(id)
+			.withOrganizationId(ORGANIZATION_ID)
+			.withFeedbackFilters(category == null ? List.of() : List.of(FeedbackFilterEmbeddable.create().withKey("CATEGORIES").withValue(category)))
+			.withFeedbackChannels(List.of());
+	}
+
 	private List<RequestedFeedbackChannel> generateChannels() {
 		return List.of(
 				RequestedFeedbackChannel.create()
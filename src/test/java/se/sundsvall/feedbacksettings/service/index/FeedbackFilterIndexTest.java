@@ -0,0 +1,142 @@
+package se.sundsvall.feedbacksettings.service.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import se.sundsvall.feedbacksettings.api.model.FeedbackFilter;
+import se.sundsvall.feedbacksettings.integration.db.model.FeedbackFilterEmbeddable;
+import se.sundsvall.feedbacksettings.integration.db.model.FeedbackSettingEntity;
+
+class FeedbackFilterIndexTest {
+
+	private static final String ID_1 = "id-1";
+	private static final String ID_2 = "id-2";
+	private static final String ID_3 = "id-3";
+	private static final String CATEGORIES = "CATEGORIES";
+	private static final String MESSAGETYPES = "MESSAGETYPES";
+	private static final OffsetDateTime MODIFIED = OffsetDateTime.now();
+
+	private FeedbackFilterIndex index;
+
+	@BeforeEach
+	void setup() {
+		index = new FeedbackFilterIndex(true);
+		index.index(FeedbackSettingEntity.create().withId(ID_1).withFeedbackFilters(List.of(
+			FeedbackFilterEmbeddable.create().withKey(CATEGORIES).withValue("broadband"),
+			FeedbackFilterEmbeddable.create().withKey(MESSAGETYPES).withValue("disturbance"))));
+		index.index(FeedbackSettingEntity.create().withId(ID_2).withModified(MODIFIED).withFeedbackFilters(List.of(
+			FeedbackFilterEmbeddable.create().withKey(CATEGORIES).withValue("electricity"),
+			FeedbackFilterEmbeddable.create().withKey(MESSAGETYPES).withValue("information"),
+			FeedbackFilterEmbeddable.create().withKey(MESSAGETYPES).withValue("disturbance"))));
+		index.index(FeedbackSettingEntity.create().withId(ID_3).withFeedbackFilters(null));
+	}
+
+	@Test
+	void countUnmatchedFiltersWithoutSearchFilters() {
+		assertThat(index.countUnmatchedFilters(List.of(ID_1, ID_2, ID_3), Collections.emptyList())).isEmpty();
+	}
+
+	@Test
+	void countUnmatchedFiltersIsCaseInsensitive() {
+		List<FeedbackFilter> searchFilters = List.of(
+			FeedbackFilter.create().withKey("categories").withValues(List.of("Broadband")),
+			FeedbackFilter.create().withKey("messagetypes").withValues(List.of("INFORMATION")));
+
+		assertThat(index.countUnmatchedFilters(List.of(ID_1, ID_2, ID_3), searchFilters))
+			.containsOnly(entry(ID_1, 1), entry(ID_2, 1));
+	}
+
+	@Test
+	void countUnmatchedFiltersWithMultipleValues() {
+		List<FeedbackFilter> searchFilters = List.of(
+			FeedbackFilter.create().withKey("categories").withValues(List.of("broadband", "electricity")));
+
+		assertThat(index.countUnmatchedFilters(List.of(ID_1, ID_2), searchFilters)).isEmpty();
+	}
+
+	@Test
+	void countUnmatchedFiltersWithEmptyValues() {
+		List<FeedbackFilter> searchFilters = List.of(
+			FeedbackFilter.create().withKey("categories").withValues(Collections.emptyList()));
+
+		assertThat(index.countUnmatchedFilters(List.of(ID_1, ID_3), searchFilters)).containsOnly(entry(ID_1, 1));
+	}
+
+	@Test
+	void countUnmatchedFiltersOnlyForSentInIds() {
+		List<FeedbackFilter> searchFilters = List.of(
+			FeedbackFilter.create().withKey("categories").withValues(List.of("water")));
+
+		assertThat(index.countUnmatchedFilters(List.of(ID_2, ID_3), searchFilters)).containsOnly(entry(ID_2, 1));
+	}
+
+	@Test
+	void countUnmatchedFiltersWithSameKeyInSeveralSearchFilters() {
+		List<FeedbackFilter> searchFilters = List.of(
+			FeedbackFilter.create().withKey("categories").withValues(List.of("broadband")),
+			FeedbackFilter.create().withKey("CATEGORIES").withValues(List.of("electricity")));
+
+		// Search filters sharing the same key are merged into one search filter
+		assertThat(index.countUnmatchedFilters(List.of(ID_1, ID_2, ID_3), searchFilters)).isEmpty();
+	}
+
+	@Test
+	void reindexReplacesPreviousFilters() {
+		index.index(FeedbackSettingEntity.create().withId(ID_1).withFeedbackFilters(List.of(
+			FeedbackFilterEmbeddable.create().withKey(CATEGORIES).withValue("electricity"))));
+
+		List<FeedbackFilter> searchFilters = List.of(
+			FeedbackFilter.create().withKey("categories").withValues(List.of("broadband")),
+			FeedbackFilter.create().withKey("messagetypes").withValues(List.of("information")));
+
+		assertThat(index.countUnmatchedFilters(List.of(ID_1), searchFilters)).containsOnly(entry(ID_1, 1));
+	}
+
+	@Test
+	void remove() {
+		index.remove(ID_2);
+		index.remove(null);
+
+		List<FeedbackFilter> searchFilters = List.of(
+			FeedbackFilter.create().withKey("categories").withValues(List.of("broadband")));
+
+		assertThat(index.isCurrent(ID_2, MODIFIED)).isFalse();
+		assertThat(index.countUnmatchedFilters(List.of(ID_2), searchFilters)).isEmpty();
+	}
+
+	@Test
+	void isCurrent() {
+		assertThat(index.isCurrent(ID_1, null)).isTrue();
+		assertThat(index.isCurrent(ID_1, MODIFIED)).isFalse();
+		assertThat(index.isCurrent(ID_2, MODIFIED)).isTrue();
+		assertThat(index.isCurrent(ID_2, MODIFIED.plusSeconds(1))).isFalse();
+		assertThat(index.isCurrent(ID_2, null)).isFalse();
+		assertThat(index.isCurrent("non-indexed-id", null)).isFalse();
+		assertThat(index.isCurrent(null, null)).isFalse();
+	}
+
+	@Test
+	void indexEntityWithoutId() {
+		index.index(FeedbackSettingEntity.create());
+		index.index(null);
+
+		assertThat(index.isCurrent(null, null)).isFalse();
+	}
+
+	@Test
+	void indexWhenDisabled() {
+		FeedbackFilterIndex disabledIndex = new FeedbackFilterIndex(false);
+		disabledIndex.index(FeedbackSettingEntity.create().withId(ID_1).withFeedbackFilters(List.of(
+			FeedbackFilterEmbeddable.create().withKey(CATEGORIES).withValue("broadband"))));
+
+		assertThat(disabledIndex.isEnabled()).isFalse();
+		assertThat(disabledIndex.isCurrent(ID_1, null)).isFalse();
+	}
+}
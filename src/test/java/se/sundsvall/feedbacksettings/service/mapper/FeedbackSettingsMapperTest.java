@@ -38,11 +38,12 @@ class FeedbackSettingsMapperTest {
 	private static final Boolean SEND_FEEDBACK = Boolean.TRUE;
 	private static final OffsetDateTime CREATED = OffsetDateTime.now().minusDays(5L);
 	private static final OffsetDateTime MODIFIED = OffsetDateTime.now().minusDays(2L);
+	private static final Long VERSION = 3L;
 	private static final String KEY = "key";
 	private static final String VALUE = "value";
 	private static final String HEADER_X_UNKNOWMN = "x-unknown-blargh";
 	private static final String HEADER_X_FILTER = "x-filter-";
-	private static final String[] IGNORED_PATHS = new String[]{"id", "feedbackFilters", "feedbackChannels", "created", "modified"};
+	private static final String[] IGNORED_PATHS = new String[]{"id", "organizationKey", "feedbackFilters", "feedbackChannels", "created", "modified", "version"};
 
 	@Test
 	void toFeedbackSettingsEntityFromCreateRequestWithAlias() {
@@ -153,6 +154,7 @@ class FeedbackSettingsMapperTest {
 				tuple(ContactMethod.EMAIL, ALIAS_FOR_EMAIL_ADDRESS, EMAIL_ADDRESS, SEND_FEEDBACK));
 		assertThat(settings.getCreated()).isEqualTo(CREATED);
 		assertThat(settings.getModified()).isEqualTo(MODIFIED);
+		assertThat(settings.getVersion()).isEqualTo(VERSION);
 	}
 
 	@Test
@@ -297,7 +299,7 @@ class FeedbackSettingsMapperTest {
 						.withKey(KEY.concat("updated"))
 						.withValues(List.of(VALUE.concat("updated")))));
 		
-		FeedbackSettingsMapper.mergeFeedbackSettings(entity, request) ;
+		assertThat(FeedbackSettingsMapper.mergeFeedbackSettings(entity, request)).isTrue();
 		
 		//Only feedback attributes in Entity should be changed (plus modified date)
 		assertThat(entity.getId()).isEqualTo(FEEDBACK_SETTING_ID); 
@@ -333,7 +335,7 @@ class FeedbackSettingsMapperTest {
 								.withSendFeedback(SEND_FEEDBACK)))
 				.withFilters(Collections.emptyList());
 		
-		FeedbackSettingsMapper.mergeFeedbackSettings(entity, request) ;
+		assertThat(FeedbackSettingsMapper.mergeFeedbackSettings(entity, request)).isTrue();
 		
 		//Only feedback attributes in Entity should be changed (plus modified date)
 		assertThat(entity.getId()).isEqualTo(FEEDBACK_SETTING_ID); 
@@ -379,7 +381,7 @@ class FeedbackSettingsMapperTest {
 								.withValues(List.of(VALUE.concat("_other")))
 						));
 		
-		FeedbackSettingsMapper.mergeFeedbackSettings(entity, request) ;
+		assertThat(FeedbackSettingsMapper.mergeFeedbackSettings(entity, request)).isTrue();
 		
 		//Only feedback attributes in Entity should be changed (plus modified date)
 		assertThat(entity.getId()).isEqualTo(FEEDBACK_SETTING_ID); 
@@ -426,7 +428,7 @@ class FeedbackSettingsMapperTest {
 								.withKey(KEY)
 								.withValues(List.of(VALUE))));
 		
-		FeedbackSettingsMapper.mergeFeedbackSettings(entity, request) ;
+		assertThat(FeedbackSettingsMapper.mergeFeedbackSettings(entity, request)).isFalse();
 		
 		//Entity should be untouched
 		assertThat(entity.getId()).isEqualTo(FEEDBACK_SETTING_ID); 
@@ -452,7 +454,7 @@ class FeedbackSettingsMapperTest {
 	@Test
 	void mergeFeedbackSettingsFromNullSettings() {
 		final var entity = generateEntity();
-		FeedbackSettingsMapper.mergeFeedbackSettings(entity, null) ;
+		assertThat(FeedbackSettingsMapper.mergeFeedbackSettings(entity, null)).isFalse();
 
 		//Entity should be untouched
 		assertThat(entity.getId()).isEqualTo(FEEDBACK_SETTING_ID); 
@@ -478,7 +480,7 @@ class FeedbackSettingsMapperTest {
 	@Test
 	void mergeFeedbackSettingsFromNullList() {
 		final var entity = generateEntity();
-		FeedbackSettingsMapper.mergeFeedbackSettings(entity, UpdateFeedbackSettingRequest.create()) ;
+		assertThat(FeedbackSettingsMapper.mergeFeedbackSettings(entity, UpdateFeedbackSettingRequest.create())).isFalse();
 
 		//Entity should be untouched
 		assertThat(entity.getId()).isEqualTo(FEEDBACK_SETTING_ID); 
@@ -567,6 +569,7 @@ class FeedbackSettingsMapperTest {
 				.withId(FEEDBACK_SETTING_ID)
 				.withCreated(CREATED)
 				.withModified(MODIFIED)
+				.withVersion(VERSION)
 				.withPersonId(PERSON_ID)
 				.withOrganizationId(ORGANIZATION_ID)
 				.withFeedbackChannels(new ArrayList<>(List.of(
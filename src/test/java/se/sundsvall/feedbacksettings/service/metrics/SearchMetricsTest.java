@@ -0,0 +1,80 @@
+package se.sundsvall.feedbacksettings.service.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static se.sundsvall.feedbacksettings.service.metrics.SearchMetrics.FILTERS_SUMMARY;
+import static se.sundsvall.feedbacksettings.service.metrics.SearchMetrics.MAPPING_TIMER;
+import static se.sundsvall.feedbacksettings.service.metrics.SearchMetrics.MATCHING_PERCENT_SUMMARY;
+import static se.sundsvall.feedbacksettings.service.metrics.SearchMetrics.RESULTS_SUMMARY;
+import static se.sundsvall.feedbacksettings.service.metrics.SearchMetrics.SCORING_TIMER;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import se.sundsvall.feedbacksettings.api.model.FeedbackFilter;
+import se.sundsvall.feedbacksettings.api.model.WeightedFeedbackSetting;
+
+class SearchMetricsTest {
+
+	private MeterRegistry meterRegistry;
+	private SearchMetrics searchMetrics;
+
+	@BeforeEach
+	void setup() {
+		meterRegistry = new SimpleMeterRegistry();
+		searchMetrics = new SearchMetrics(meterRegistry);
+	}
+
+	@Test
+	void map() {
+		List<WeightedFeedbackSetting> settings = List.of(WeightedFeedbackSetting.create());
+
+		assertThat(searchMetrics.map(() -> settings)).isSameAs(settings);
+		assertThat(meterRegistry.get(MAPPING_TIMER).timer().count()).isOne();
+	}
+
+	@Test
+	void score() {
+		AtomicBoolean scored = new AtomicBoolean();
+
+		searchMetrics.score(() -> scored.set(true));
+
+		assertThat(scored).isTrue();
+		assertThat(meterRegistry.get(SCORING_TIMER).timer().count()).isOne();
+	}
+
+	@Test
+	void scoreWithResult() {
+		List<String> scores = List.of("score");
+
+		assertThat(searchMetrics.scoreAndGet(() -> scores)).isSameAs(scores);
+		assertThat(meterRegistry.get(SCORING_TIMER).timer().count()).isOne();
+	}
+
+	@Test
+	void recordSearch() {
+		searchMetrics.recordSearch(List.of(FeedbackFilter.create(), FeedbackFilter.create()), List.of(
+			WeightedFeedbackSetting.create().withMatchingPercent(100),
+			WeightedFeedbackSetting.create().withMatchingPercent(50),
+			WeightedFeedbackSetting.create().withMatchingPercent(30)));
+
+		assertThat(meterRegistry.get(FILTERS_SUMMARY).summary().totalAmount()).isEqualTo(2);
+		assertThat(meterRegistry.get(RESULTS_SUMMARY).summary().totalAmount()).isEqualTo(3);
+		assertThat(meterRegistry.get(MATCHING_PERCENT_SUMMARY).summary().count()).isEqualTo(3);
+		assertThat(meterRegistry.get(MATCHING_PERCENT_SUMMARY).summary().totalAmount()).isEqualTo(180);
+	}
+
+	@Test
+	void recordSearchWithoutFilters() {
+		searchMetrics.recordSearch(null, List.of());
+
+		assertThat(meterRegistry.get(FILTERS_SUMMARY).summary().count()).isOne();
+		assertThat(meterRegistry.get(FILTERS_SUMMARY).summary().totalAmount()).isZero();
+		assertThat(meterRegistry.get(RESULTS_SUMMARY).summary().totalAmount()).isZero();
+		assertThat(meterRegistry.get(MATCHING_PERCENT_SUMMARY).summary().count()).isZero();
+	}
+}
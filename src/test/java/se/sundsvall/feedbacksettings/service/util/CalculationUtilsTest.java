@@ -1,5 +1,6 @@
 package se.sundsvall.feedbacksettings.service.util;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.never;
@@ -169,4 +170,24 @@ class CalculationUtilsTest {
 		
 		verify(settingMock).setMatchingPercent(67);
 	}
+
+	@Test
+	void testToMatchingPercent() {
+		assertThat(CalculationUtils.toMatchingPercent(1, 0)).isEqualTo(100);
+		assertThat(CalculationUtils.toMatchingPercent(2, 2)).isEqualTo(67);
+		assertThat(CalculationUtils.toMatchingPercent(1, 2)).isEqualTo(33);
+		assertThat(CalculationUtils.toMatchingPercent(1, 1)).isEqualTo(50);
+	}
+
+	@Test
+	void testToMaxUnmatchedFilters() {
+		assertThat(CalculationUtils.toMaxUnmatchedFilters(0, 100)).isZero();
+		assertThat(CalculationUtils.toMaxUnmatchedFilters(2, 0)).isEqualTo(2);
+		assertThat(CalculationUtils.toMaxUnmatchedFilters(2, 33)).isEqualTo(2);
+		assertThat(CalculationUtils.toMaxUnmatchedFilters(2, 34)).isEqualTo(1);
+		assertThat(CalculationUtils.toMaxUnmatchedFilters(2, 67)).isEqualTo(1);
+		assertThat(CalculationUtils.toMaxUnmatchedFilters(2, 68)).isZero();
+		assertThat(CalculationUtils.toMaxUnmatchedFilters(3, 75)).isEqualTo(1);
+		assertThat(CalculationUtils.toMaxUnmatchedFilters(3, 100)).isZero();
+	}
 }
@@ -0,0 +1,47 @@
+package se.sundsvall.feedbacksettings.service.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.zalando.problem.Status.BAD_REQUEST;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.zalando.problem.ThrowableProblem;
+
+class CursorUtilsTest {
+
+	private static final String ID = "9a24743c-5c19-4774-954e-a3ad67a734e3";
+	private static final String CURSOR = "OWEyNDc0M2MtNWMxOS00Nzc0LTk1NGUtYTNhZDY3YTczNGUz";
+
+	@Test
+	void toCursor() {
+		assertThat(CursorUtils.toCursor(ID)).isEqualTo(CURSOR);
+	}
+
+	@Test
+	void toCursorFromNull() {
+		assertThat(CursorUtils.toCursor(null)).isNull();
+	}
+
+	@Test
+	void fromCursor() {
+		assertThat(CursorUtils.fromCursor(CURSOR)).isEqualTo(ID);
+	}
+
+	@Test
+	void roundTrip() {
+		assertThat(CursorUtils.fromCursor(CursorUtils.toCursor(ID))).isEqualTo(ID);
+	}
+
+	@ParameterizedTest
+	@NullAndEmptySource
+	@ValueSource(strings = { "not+url/safe", "ICAg", "%%%", "bm90LWEtdXVpZA" })
+	void fromInvalidCursor(String cursor) {
+		assertThatThrownBy(() -> CursorUtils.fromCursor(cursor))
+			.isInstanceOf(ThrowableProblem.class)
+			.hasFieldOrPropertyWithValue("status", BAD_REQUEST)
+			.hasFieldOrPropertyWithValue("detail", "Cursor '" + cursor + "' is not valid");
+	}
+}
@@ -0,0 +1,56 @@
+package se.sundsvall.feedbacksettings.service.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class EntityTagUtilsTest {
+
+	private static final String ID = "9a24743c-5c19-4774-954e-a3ad67a734e3";
+	private static final OffsetDateTime CREATED = OffsetDateTime.parse("2022-01-10T10:00:00.000+01:00");
+	private static final OffsetDateTime MODIFIED = OffsetDateTime.parse("2022-01-11T10:00:00.001+01:00");
+	private static final Long VERSION = 2L;
+
+	@Test
+	void toEntityTag() {
+		String entityTag = EntityTagUtils.toEntityTag(ID, VERSION);
+
+		assertThat(entityTag).matches("\"[0-9a-f]{32}\"");
+		assertThat(EntityTagUtils.toEntityTag(ID, VERSION)).isEqualTo(entityTag);
+		assertThat(EntityTagUtils.toEntityTag(ID, VERSION + 1)).isNotEqualTo(entityTag);
+		assertThat(EntityTagUtils.toEntityTag("9a24743c-5c19-4774-954e-a3ad67a734e4", VERSION)).isNotEqualTo(entityTag);
+	}
+
+	@Test
+	void toLastModified() {
+		assertThat(EntityTagUtils.toLastModified(CREATED, MODIFIED)).isEqualTo(MODIFIED);
+		assertThat(EntityTagUtils.toLastModified(CREATED, null)).isEqualTo(CREATED);
+	}
+
+	@Test
+	void matchesStrong() {
+		String entityTag = EntityTagUtils.toEntityTag(ID, VERSION);
+
+		assertThat(EntityTagUtils.matchesStrong(List.of("\"outdated\"", entityTag), entityTag)).isTrue();
+		assertThat(EntityTagUtils.matchesStrong(List.of("*"), entityTag)).isTrue();
+		assertThat(EntityTagUtils.matchesStrong(List.of("W/" + entityTag), entityTag)).isFalse();
+		assertThat(EntityTagUtils.matchesStrong(List.of("\"outdated\""), entityTag)).isFalse();
+		assertThat(EntityTagUtils.matchesStrong(List.of(), entityTag)).isFalse();
+		assertThat(EntityTagUtils.matchesStrong(null, entityTag)).isFalse();
+	}
+
+	@Test
+	void matchesWeak() {
+		String entityTag = EntityTagUtils.toEntityTag(ID, VERSION);
+
+		assertThat(EntityTagUtils.matchesWeak(List.of("\"outdated\"", entityTag), entityTag)).isTrue();
+		assertThat(EntityTagUtils.matchesWeak(List.of("*"), entityTag)).isTrue();
+		assertThat(EntityTagUtils.matchesWeak(List.of("W/" + entityTag), entityTag)).isTrue();
+		assertThat(EntityTagUtils.matchesWeak(List.of("\"outdated\""), entityTag)).isFalse();
+		assertThat(EntityTagUtils.matchesWeak(List.of(), entityTag)).isFalse();
+		assertThat(EntityTagUtils.matchesWeak(null, entityTag)).isFalse();
+	}
+}
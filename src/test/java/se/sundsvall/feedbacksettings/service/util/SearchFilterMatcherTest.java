@@ -0,0 +1,96 @@
+package se.sundsvall.feedbacksettings.service.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import se.sundsvall.feedbacksettings.api.model.FeedbackFilter;
+import se.sundsvall.feedbacksettings.api.model.WeightedFeedbackSetting;
+
+class SearchFilterMatcherTest {
+
+	private static final String CATEGORIES = "CATEGORIES";
+	private static final String MESSAGETYPES = "MESSAGETYPES";
+
+	@Test
+	void compileNullOrEmptyFilters() {
+		assertThat(SearchFilterMatcher.compile(null).size()).isZero();
+		assertThat(SearchFilterMatcher.compile(Collections.emptyList()).size()).isZero();
+		assertThat(SearchFilterMatcher.compile(Arrays.asList(null, FeedbackFilter.create().withKey("categories"))).size()).isOne();
+	}
+
+	@Test
+	void compileMergesFiltersWithSameKey() {
+		SearchFilterMatcher matcher = SearchFilterMatcher.compile(List.of(
+			FeedbackFilter.create().withKey("categories").withValues(List.of("broadband")),
+			FeedbackFilter.create().withKey("Categories").withValues(List.of("electricity"))));
+
+		assertThat(matcher.size()).isOne();
+		assertThat(matcher.countMatchingFilters(List.of(FeedbackFilter.create().withKey(CATEGORIES).withValues(List.of("electricity"))))).isOne();
+	}
+
+	@Test
+	void countMatchingFiltersIsCaseInsensitive() {
+		SearchFilterMatcher matcher = SearchFilterMatcher.compile(List.of(
+			FeedbackFilter.create().withKey("categories").withValues(List.of("Broadband")),
+			FeedbackFilter.create().withKey("messagetypes").withValues(List.of("INFORMATION"))));
+
+		assertThat(matcher.countMatchingFilters(List.of(
+			FeedbackFilter.create().withKey(CATEGORIES).withValues(List.of("broadband")),
+			FeedbackFilter.create().withKey(MESSAGETYPES).withValues(List.of("disturbance"))))).isOne();
+		assertThat(matcher.countMatchingFilters(List.of(
+			FeedbackFilter.create().withKey(CATEGORIES).withValues(List.of("electricity")),
+			FeedbackFilter.create().withKey(MESSAGETYPES).withValues(List.of("Disturbance", "information"))))).isOne();
+	}
+
+	@Test
+	void countMatchingFiltersForSettingWithoutFilters() {
+		SearchFilterMatcher matcher = SearchFilterMatcher.compile(List.of(
+			FeedbackFilter.create().withKey("categories").withValues(List.of("broadband"))));
+
+		assertThat(matcher.countMatchingFilters(null)).isOne();
+		assertThat(matcher.countMatchingFilters(Collections.emptyList())).isOne();
+		assertThat(matcher.countMatchingFilters(Arrays.asList((FeedbackFilter) null))).isOne();
+	}
+
+	@Test
+	void countMatchingFiltersWithEmptyValues() {
+		SearchFilterMatcher matcher = SearchFilterMatcher.compile(List.of(
+			FeedbackFilter.create().withKey("categories").withValues(Collections.emptyList())));
+
+		List<String> settingValues = new ArrayList<>();
+		settingValues.add(null);
+
+		assertThat(matcher.countMatchingFilters(List.of(FeedbackFilter.create().withKey(CATEGORIES).withValues(List.of("broadband"))))).isZero();
+		assertThat(matcher.countMatchingFilters(List.of(FeedbackFilter.create().withKey(CATEGORIES).withValues(settingValues)))).isZero();
+		assertThat(matcher.countMatchingFilters(List.of(FeedbackFilter.create().withKey(CATEGORIES)))).isZero();
+	}
+
+	@Test
+	void calculateMatchPercentage() {
+		SearchFilterMatcher matcher = SearchFilterMatcher.compile(List.of(
+			FeedbackFilter.create().withKey("categories").withValues(List.of("broadband")),
+			FeedbackFilter.create().withKey("messagetypes").withValues(List.of("information"))));
+
+		WeightedFeedbackSetting setting = WeightedFeedbackSetting.create().withFilters(List.of(
+			FeedbackFilter.create().withKey(CATEGORIES).withValues(List.of("electricity"))));
+
+		matcher.calculateMatchPercentage(setting);
+
+		assertThat(setting.getMatchingPercent()).isEqualTo(67);
+	}
+
+	@Test
+	void calculateMatchPercentageWithoutSearchFilters() {
+		WeightedFeedbackSetting setting = WeightedFeedbackSetting.create();
+
+		SearchFilterMatcher.compile(Collections.emptyList()).calculateMatchPercentage(setting);
+
+		assertThat(setting.getMatchingPercent()).isEqualTo(100);
+	}
+}
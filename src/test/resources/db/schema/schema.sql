@@ -1,24 +1,30 @@
 
     create table feedback_channels (
-       setting_id varchar(255) not null,
+       setting_id binary(16) not null,
         alias varchar(255) not null,
         contact_method varchar(255) not null,
         destination varchar(255) not null,
-        send_feedback bit not null
+        send_feedback bit not null,
+        id binary(16) not null,
+        primary key (id)
     ) engine=InnoDB;
 
     create table feedback_filters (
-       setting_id varchar(255) not null,
+       setting_id binary(16) not null,
         `key` varchar(255) not null,
-        value varchar(255) not null
+        value varchar(255) not null,
+        id binary(16) not null,
+        primary key (id)
     ) engine=InnoDB;
 
     create table feedback_settings (
-       id varchar(255) not null,
+       id binary(16) not null,
         created datetime(6) not null,
         modified datetime(6),
-        organization_id varchar(255),
-        person_id varchar(255) not null,
+        organization_id binary(16),
+        organization_key binary(16) as (coalesce(organization_id, x'00000000000000000000000000000000')) persistent,
+        person_id binary(16) not null,
+        version bigint default 0 not null,
         primary key (id)
     ) engine=InnoDB;
 
@@ -38,7 +44,7 @@ create index feedback_settings_organization_id_index on feedback_settings (organ
 create index feedback_settings_person_id_index on feedback_settings (person_id);
 
     alter table feedback_settings 
-       add constraint feedback_settings_person_id_organization_id_unique_constraint unique (person_id, organization_id);
+       add constraint feedback_settings_person_id_organization_id_unique_constraint unique (person_id, organization_key);
 
     alter table feedback_channels 
        add constraint fk_feedback_channels_feedback_settings 